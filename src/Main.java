@@ -1,9 +1,13 @@
+import auth.GerenciadorAutenticacao;
+import persistence.CarregamentoInicial;
 import ui.TelaLogin;
 import util.GeradorDadosExemplo;
+import util.RelatorioInicializacao;
 import util.Tema;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Classe principal do sistema AutoFácil Java Edition
@@ -12,15 +16,36 @@ import java.awt.*;
 public class Main {
     
     public static void main(String[] args) {
+        RelatorioInicializacao.iniciar();
+        
         // Configurar propriedades do sistema
         configurarSistema();
         
+        // Modo de medição de CPU (-Dautofacil.medirCpu=true)
+        if (util.MedidorCpu.ativado()) {
+            util.MedidorCpu.iniciar();
+        }
+        
         // Configurar look and feel
         configurarLookAndFeel();
+        RelatorioInicializacao.etapa("Look and feel");
         
-        // Gerar dados de exemplo se necessário
+        // Carregar os arquivos de dados em paralelo, já indexados
         System.out.println("Inicializando AutoFácil Java Edition...");
+        List<CarregamentoInicial.Resultado> cargas = CarregamentoInicial.executar();
+        RelatorioInicializacao.etapa("Carga dos repositórios (paralela)");
+        for (CarregamentoInicial.Resultado carga : cargas) {
+            RelatorioInicializacao.detalhe(carga.nome + ": " +
+                (carga.erro == null ? carga.registros + " registros" : "erro"), carga.milissegundos);
+        }
+        
+        // Gerar dados de exemplo se necessário
         GeradorDadosExemplo.gerarDadosSeNecessario();
+        RelatorioInicializacao.etapa("Dados de exemplo");
+        
+        // Preparar a autenticação (usuário admin padrão) antes da tela de login
+        GerenciadorAutenticacao.getInstance();
+        RelatorioInicializacao.etapa("Autenticação");
         
         // Aplicar tema padrão
         Tema.inicializar();
@@ -28,6 +53,7 @@ public class Main {
         // Inicializar utilitários de diálogos
         util.DialogoUtil.inicializar();
         util.JOptionPaneInterceptor.instalar();
+        RelatorioInicializacao.etapa("Tema e diálogos");
         
         // Iniciar interface gráfica
         SwingUtilities.invokeLater(new Runnable() {
@@ -36,9 +62,11 @@ public class Main {
                 try {
                     // Exibir splash screen
                     mostrarSplashScreen();
+                    RelatorioInicializacao.etapa("Splash screen");
                     
                     // Iniciar tela de login
                     new TelaLogin().setVisible(true);
+                    RelatorioInicializacao.concluir("Tela de login");
                     
                     System.out.println("Sistema iniciado com sucesso!");
                     
@@ -2,9 +2,8 @@ package auth;
 
 import domain.Cliente;
 import domain.Funcionario;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Gerenciador de autenticação do sistema
@@ -13,8 +12,8 @@ import java.util.List;
 public class GerenciadorAutenticacao {
     
     private static GerenciadorAutenticacao instancia;
-    private GerenciadorArquivos<Funcionario> gerenciadorFuncionarios;
-    private GerenciadorArquivos<Cliente> gerenciadorClientes;
+    private Repositorio<Funcionario> gerenciadorFuncionarios;
+    private Repositorio<Cliente> gerenciadorClientes;
     
     private Object usuarioLogado;
     private TipoUsuario tipoUsuarioLogado;
@@ -28,8 +27,8 @@ public class GerenciadorAutenticacao {
     }
     
     private GerenciadorAutenticacao() {
-        gerenciadorFuncionarios = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
-        gerenciadorClientes = new GerenciadorArquivos<>("clientes.json", Cliente.class);
+        gerenciadorFuncionarios = Repositorio.funcionarios();
+        gerenciadorClientes = Repositorio.clientes();
         criarUsuarioAdminPadrao();
     }
     
@@ -44,11 +43,9 @@ public class GerenciadorAutenticacao {
      * Cria o usuário admin padrão se não existir
      */
     private void criarUsuarioAdminPadrao() {
-        List<Funcionario> funcionarios = gerenciadorFuncionarios.carregar();
-        
         // Verificar se já existe um admin
-        boolean adminExiste = funcionarios.stream()
-            .anyMatch(f -> "admin".equals(f.getUsuario()));
+        Funcionario existente = gerenciadorFuncionarios.buscarPor(Repositorio.INDICE_USUARIO, "admin");
+        boolean adminExiste = existente != null && "admin".equals(existente.getUsuario());
         
         if (!adminExiste) {
             Funcionario admin = new Funcionario();
@@ -61,8 +58,7 @@ public class GerenciadorAutenticacao {
             admin.setSenha("admin");
             admin.setTipo(Funcionario.TipoFuncionario.ADMIN);
             
-            funcionarios.add(admin);
-            gerenciadorFuncionarios.salvar(funcionarios);
+            gerenciadorFuncionarios.atualizar(admin);
             
             System.out.println("Usuário admin padrão criado: admin/admin");
         }
@@ -82,15 +78,15 @@ public class GerenciadorAutenticacao {
             return new ResultadoLogin(false, "Usuário e senha são obrigatórios.", null, null);
         }
         
-        // Tentar login como funcionário primeiro
-        List<Funcionario> funcionarios = gerenciadorFuncionarios.carregar();
-        for (Funcionario funcionario : funcionarios) {
+        // Tentar login como funcionário primeiro (busca pelo índice de usuário)
+        Funcionario funcionario = gerenciadorFuncionarios.buscarPor(Repositorio.INDICE_USUARIO, usuario);
+        if (funcionario != null) {
             if (funcionario.getUsuario().equals(usuario) && 
                 funcionario.getSenha().equals(senha) && 
                 funcionario.isAtivo()) {
                 
                 funcionario.setUltimoLogin(LocalDateTime.now());
-                gerenciadorFuncionarios.salvar(funcionarios);
+                gerenciadorFuncionarios.atualizar(funcionario);
                 
                 usuarioLogado = funcionario;
                 tipoUsuarioLogado = funcionario.isAdmin() ? TipoUsuario.ADMIN : TipoUsuario.FUNCIONARIO;
@@ -101,15 +97,14 @@ public class GerenciadorAutenticacao {
             }
         }
         
-        // Tentar login como cliente
-        List<Cliente> clientes = gerenciadorClientes.carregar();
-        for (Cliente cliente : clientes) {
-            if (cliente.getCpf().replaceAll("[^0-9]", "").equals(usuario.replaceAll("[^0-9]", "")) && 
-                cliente.getSenha().equals(senha) && 
+        // Tentar login como cliente (busca pelo índice de CPF)
+        Cliente cliente = gerenciadorClientes.buscarPor(Repositorio.INDICE_CPF, usuario);
+        if (cliente != null) {
+            if (cliente.getSenha().equals(senha) && 
                 cliente.isAtivo()) {
                 
                 cliente.setUltimoLogin(LocalDateTime.now());
-                gerenciadorClientes.salvar(clientes);
+                gerenciadorClientes.atualizar(cliente);
                 
                 usuarioLogado = cliente;
                 tipoUsuarioLogado = TipoUsuario.CLIENTE;
@@ -265,14 +260,14 @@ public class GerenciadorAutenticacao {
     /**
      * Retorna o gerenciador de clientes
      */
-    public GerenciadorArquivos<Cliente> getGerenciadorClientes() {
+    public Repositorio<Cliente> getGerenciadorClientes() {
         return gerenciadorClientes;
     }
     
     /**
      * Retorna o gerenciador de funcionários
      */
-    public GerenciadorArquivos<Funcionario> getGerenciadorFuncionarios() {
+    public Repositorio<Funcionario> getGerenciadorFuncionarios() {
         return gerenciadorFuncionarios;
     }
     
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.math.BigDecimal;
+import java.util.Objects;
 
 /**
  * Entidade Aluguel - Representa um aluguel de veículo
@@ -48,10 +49,27 @@ public class Aluguel {
     private StatusAluguel status;
     private String observacoes;
 
-    // Referencias para facilitar exibição
-    private Cliente cliente;
-    private Veiculo veiculo;
-    private Funcionario funcionario;
+    // Referencias para facilitar exibição: resolvidas sob demanda pelo ID
+    // e nunca persistidas (transient), para não duplicar as entidades
+    // (e as senhas dos clientes) dentro de cada aluguel
+    private transient Cliente cliente;
+    private transient Veiculo veiculo;
+    private transient Funcionario funcionario;
+
+    private static ResolvedorReferencias resolvedor;
+
+    /**
+     * Localiza as entidades referenciadas por um aluguel a partir do ID
+     */
+    public interface ResolvedorReferencias {
+        Cliente buscarCliente(String id);
+        Veiculo buscarVeiculo(String id);
+        Funcionario buscarFuncionario(String id);
+    }
+
+    public static void setResolvedorReferencias(ResolvedorReferencias novoResolvedor) {
+        resolvedor = novoResolvedor;
+    }
 
     // Construtores
     public Aluguel() {
@@ -203,27 +221,40 @@ public class Aluguel {
 
     // Referencias
     public Cliente getCliente() {
+        if ((cliente == null || !Objects.equals(cliente.getId(), clienteId)) && resolvedor != null && clienteId != null) {
+            cliente = resolvedor.buscarCliente(clienteId);
+        }
         return cliente;
     }
 
     public void setCliente(Cliente cliente) {
         this.cliente = cliente;
+        this.clienteId = cliente != null ? cliente.getId() : null;
     }
 
     public Veiculo getVeiculo() {
+        if ((veiculo == null || !Objects.equals(veiculo.getId(), veiculoId)) && resolvedor != null && veiculoId != null) {
+            veiculo = resolvedor.buscarVeiculo(veiculoId);
+        }
         return veiculo;
     }
 
     public void setVeiculo(Veiculo veiculo) {
         this.veiculo = veiculo;
+        this.veiculoId = veiculo != null ? veiculo.getId() : null;
     }
 
     public Funcionario getFuncionario() {
+        if ((funcionario == null || !Objects.equals(funcionario.getId(), funcionarioId)) &&
+            resolvedor != null && funcionarioId != null) {
+            funcionario = resolvedor.buscarFuncionario(funcionarioId);
+        }
         return funcionario;
     }
 
     public void setFuncionario(Funcionario funcionario) {
         this.funcionario = funcionario;
+        this.funcionarioId = funcionario != null ? funcionario.getId() : null;
     }
 
     // Métodos de cálculo
@@ -270,6 +301,8 @@ public class Aluguel {
 
     @Override
     public String toString() {
+        Cliente cliente = getCliente();
+        Veiculo veiculo = getVeiculo();
         return "Aluguel #" + id + " - " + 
                (cliente != null ? cliente.getNome() : clienteId) + " - " +
                (veiculo != null ? veiculo.toString() : veiculoId);
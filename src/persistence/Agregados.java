@@ -0,0 +1,112 @@
+package persistence;
+
+import domain.Aluguel;
+import domain.Veiculo;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Function;
+
+/**
+ * Totais usados pelos gráficos (frota por status/categoria, aluguéis e
+ * multas por mês; a receita por período é consultada em AnaliseReceita)
+ * Os totais são índices do próprio repositório (IndiceTotaisVeiculos e
+ * IndiceTotaisAlugueis): cada alteração soma ou subtrai só a parcela da
+ * entidade alterada, e as consultas apenas copiam os contadores, sem
+ * percorrer os dados. Os mapas devolvidos são cópias.
+ */
+public class Agregados {
+
+    private Agregados() {
+    }
+
+    private static <R> R consultarVeiculos(Function<IndiceTotaisVeiculos, R> consulta) {
+        IndiceTotaisVeiculos totais = Repositorio.totaisVeiculos();
+        Repositorio<Veiculo> repositorio = Repositorio.veiculos();
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            return consulta.apply(totais);
+        }
+    }
+
+    private static <R> R consultarAlugueis(Function<IndiceTotaisAlugueis, R> consulta) {
+        IndiceTotaisAlugueis totais = Repositorio.totaisAlugueis();
+        Repositorio<Aluguel> repositorio = Repositorio.alugueis();
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            return consulta.apply(totais);
+        }
+    }
+
+    private static <R> R consultarReceita(Function<IndiceReceita, R> consulta) {
+        IndiceReceita receita = Repositorio.indiceReceita();
+        Repositorio<Aluguel> repositorio = Repositorio.alugueis();
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            return consulta.apply(receita);
+        }
+    }
+
+    public static Map<Veiculo.Status, Integer> veiculosPorStatus() {
+        return consultarVeiculos(IndiceTotaisVeiculos::porStatus);
+    }
+
+    public static Map<Veiculo.Categoria, Integer> veiculosPorCategoria() {
+        return consultarVeiculos(IndiceTotaisVeiculos::porCategoria);
+    }
+
+    /**
+     * Quantidade de aluguéis por mês de início
+     */
+    public static NavigableMap<YearMonth, Integer> alugueisPorMes() {
+        return consultarAlugueis(IndiceTotaisAlugueis::quantidadePorMes);
+    }
+
+    /**
+     * Multas por mês de devolução
+     */
+    public static NavigableMap<YearMonth, BigDecimal> multasPorMes() {
+        return consultarAlugueis(IndiceTotaisAlugueis::multasPorMes);
+    }
+
+    /**
+     * Recalcula todos os totais a partir dos dados (comando de recuperação)
+     * Informa no console se algum contador estava divergente.
+     */
+    public static void reconstruir() {
+        long inicio = System.nanoTime();
+        Map<Veiculo.Status, Integer> statusAntes = veiculosPorStatus();
+        Map<Veiculo.Categoria, Integer> categoriasAntes = veiculosPorCategoria();
+        Repositorio.veiculos().recalcularIndices();
+        boolean veiculosDivergentes = !statusAntes.equals(veiculosPorStatus()) ||
+                                      !categoriasAntes.equals(veiculosPorCategoria());
+
+        NavigableMap<YearMonth, Integer> quantidadeAntes = alugueisPorMes();
+        // A receita dos gráficos vem de AnaliseReceita; os baldes mensais
+        // do IndiceReceita servem aqui só para detectar divergência
+        NavigableMap<YearMonth, BigDecimal> receitaAntes = consultarReceita(IndiceReceita::receitaPorMes);
+        NavigableMap<YearMonth, BigDecimal> multasAntes = multasPorMes();
+        Repositorio.alugueis().recalcularIndices();
+        boolean alugueisDivergentes = !quantidadeAntes.equals(alugueisPorMes()) ||
+                                      !mesmosValores(receitaAntes, consultarReceita(IndiceReceita::receitaPorMes)) ||
+                                      !mesmosValores(multasAntes, multasPorMes());
+
+        System.out.println("Totais recalculados em " + (System.nanoTime() - inicio) / 1_000_000 + " ms" +
+                           (veiculosDivergentes ? " (totais de veículos estavam divergentes)" : "") +
+                           (alugueisDivergentes ? " (totais de aluguéis estavam divergentes)" : ""));
+    }
+
+    // Compara por valor: a escala das somas depende da ordem das alterações
+    private static boolean mesmosValores(Map<YearMonth, BigDecimal> a, Map<YearMonth, BigDecimal> b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+        for (Map.Entry<YearMonth, BigDecimal> item : a.entrySet()) {
+            if (item.getValue().compareTo(b.get(item.getKey())) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
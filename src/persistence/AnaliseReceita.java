@@ -0,0 +1,184 @@
+package persistence;
+
+import domain.Aluguel;
+import domain.Cliente;
+import domain.Funcionario;
+import domain.Veiculo;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Receita de aluguéis em qualquer período, por dia, semana, mês ou ano,
+ * opcionalmente agrupada por categoria do veículo, funcionário ou cliente
+ * As somas vêm dos baldes do IndiceReceita (exatas, em BigDecimal); os
+ * nomes dos grupos são resolvidos só para os IDs presentes no resultado.
+ */
+public class AnaliseReceita {
+
+    public static final String TOTAL = "Total";
+    private static final String NAO_ENCONTRADO = "Não encontrado";
+
+    public enum Granularidade {
+        DIA("Dia"),
+        SEMANA("Semana"),
+        MES("Mês"),
+        ANO("Ano");
+
+        private final String descricao;
+
+        Granularidade(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        @Override
+        public String toString() {
+            return descricao;
+        }
+
+        /**
+         * Primeiro dia do período que contém a data (semanas começam na segunda-feira)
+         */
+        public LocalDate inicioDoPeriodo(LocalDate data) {
+            switch (this) {
+                case SEMANA: return data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MES: return data.withDayOfMonth(1);
+                case ANO: return data.withDayOfYear(1);
+                default: return data;
+            }
+        }
+
+        private LocalDate proximoPeriodo(LocalDate inicioPeriodo) {
+            switch (this) {
+                case SEMANA: return inicioPeriodo.plusWeeks(1);
+                case MES: return inicioPeriodo.plusMonths(1);
+                case ANO: return inicioPeriodo.plusYears(1);
+                default: return inicioPeriodo.plusDays(1);
+            }
+        }
+    }
+
+    public enum Agrupamento {
+        NENHUM("Nenhum"),
+        CATEGORIA("Categoria"),
+        FUNCIONARIO("Funcionário"),
+        CLIENTE("Cliente");
+
+        private final String descricao;
+
+        Agrupamento(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        @Override
+        public String toString() {
+            return descricao;
+        }
+    }
+
+    private AnaliseReceita() {
+    }
+
+    /**
+     * Receita de cada período entre inicio e fim (inclusive)
+     * A chave é o primeiro dia do período (o primeiro período começa em
+     * inicio); o valor traz a receita por grupo, ou só TOTAL quando não há
+     * agrupamento. Períodos sem receita aparecem com o mapa vazio.
+     */
+    public static NavigableMap<LocalDate, Map<String, BigDecimal>> consultar(LocalDate inicio, LocalDate fim,
+                                                                            Granularidade granularidade,
+                                                                            Agrupamento agrupamento) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data final anterior à inicial");
+        }
+        Function<IndiceReceita.Balde, Map<String, BigDecimal>> parcelas = parcelasDe(agrupamento);
+        NavigableMap<LocalDate, Map<String, BigDecimal>> porPeriodo = new TreeMap<>();
+
+        IndiceReceita indice = Repositorio.indiceReceita();
+        Repositorio<Aluguel> repositorio = Repositorio.alugueis();
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            LocalDate periodo = inicio;
+            while (!periodo.isAfter(fim)) {
+                LocalDate proximo = granularidade.proximoPeriodo(granularidade.inicioDoPeriodo(periodo));
+                LocalDate fimPeriodo = proximo.minusDays(1).isAfter(fim) ? fim : proximo.minusDays(1);
+                Map<String, BigDecimal> totais = new HashMap<>();
+                indice.somar(periodo, fimPeriodo, parcelas, totais);
+                porPeriodo.put(periodo, totais);
+                periodo = proximo;
+            }
+        }
+
+        // Nomes resolvidos fora do bloqueio dos aluguéis
+        Map<String, String> nomes = new HashMap<>();
+        NavigableMap<LocalDate, Map<String, BigDecimal>> resultado = new TreeMap<>();
+        for (Map.Entry<LocalDate, Map<String, BigDecimal>> periodo : porPeriodo.entrySet()) {
+            Map<String, BigDecimal> porNome = new LinkedHashMap<>();
+            for (Map.Entry<String, BigDecimal> total : periodo.getValue().entrySet()) {
+                String nome = nomes.computeIfAbsent(total.getKey(), id -> nomeDoGrupo(agrupamento, id));
+                porNome.merge(nome, total.getValue(), BigDecimal::add);
+            }
+            resultado.put(periodo.getKey(), porNome);
+        }
+        return resultado;
+    }
+
+    /**
+     * Receita total entre inicio e fim (inclusive)
+     */
+    public static BigDecimal total(LocalDate inicio, LocalDate fim) {
+        Map<String, BigDecimal> totais = new HashMap<>();
+        IndiceReceita indice = Repositorio.indiceReceita();
+        Repositorio<Aluguel> repositorio = Repositorio.alugueis();
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            indice.somar(inicio, fim, parcelasDe(Agrupamento.NENHUM), totais);
+        }
+        return totais.getOrDefault(TOTAL, BigDecimal.ZERO);
+    }
+
+    private static Function<IndiceReceita.Balde, Map<String, BigDecimal>> parcelasDe(Agrupamento agrupamento) {
+        switch (agrupamento) {
+            case CATEGORIA: return balde -> balde.porVeiculo;
+            case FUNCIONARIO: return balde -> balde.porFuncionario;
+            case CLIENTE: return balde -> balde.porCliente;
+            default: return balde -> Collections.singletonMap(TOTAL, balde.total);
+        }
+    }
+
+    private static String nomeDoGrupo(Agrupamento agrupamento, String id) {
+        switch (agrupamento) {
+            case CATEGORIA: {
+                Veiculo veiculo = Repositorio.veiculos().buscarPorId(id);
+                return veiculo != null && veiculo.getCategoria() != null ?
+                    veiculo.getCategoria().getDescricao() : NAO_ENCONTRADO;
+            }
+            case FUNCIONARIO: {
+                Funcionario funcionario = Repositorio.funcionarios().buscarPorId(id);
+                return funcionario != null ? funcionario.getNome() : NAO_ENCONTRADO;
+            }
+            case CLIENTE: {
+                Cliente cliente = Repositorio.clientes().buscarPorId(id);
+                return cliente != null ? cliente.getNome() : NAO_ENCONTRADO;
+            }
+            default:
+                return id;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package persistence;
+
+import domain.Aluguel;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de carga e gravação de cada FormatoArmazenamento
+ * Gera aluguéis sintéticos em um diretório temporário e mede tamanho do
+ * arquivo, tempo de salvar() e tempo de carregar() de cada formato.
+ *
+ * Uso: java -cp "bin;lib/*" persistence.BenchmarkFormatos [quantidade] [repeticoes]
+ */
+public class BenchmarkFormatos {
+
+    public static void main(String[] args) throws IOException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        File diretorio = Files.createTempDirectory("autofacil-bench").toFile();
+        List<Aluguel> alugueis = gerarAlugueis(quantidade);
+
+        System.out.println("Benchmark de formatos - " + quantidade + " aluguéis, " + repeticoes + " repetições");
+        System.out.println(String.format("%-25s %12s %12s %12s %10s %10s",
+            "Formato", "Tamanho(KB)", "Salvar(ms)", "Carregar(ms)", "x Salvar", "x Carregar"));
+
+        double salvarBase = 0;
+        double carregarBase = 0;
+        for (FormatoArmazenamento formato : FormatoArmazenamento.values()) {
+            GerenciadorArquivos<Aluguel> gerenciador = new GerenciadorArquivos<>(
+                diretorio.getPath(), "bench_" + formato.name().toLowerCase() + ".json", Aluguel.class, formato);
+
+            // Aquecimento do JIT
+            gerenciador.salvar(alugueis);
+            gerenciador.carregar();
+
+            long salvarNs = 0;
+            long carregarNs = 0;
+            int carregados = 0;
+            for (int i = 0; i < repeticoes; i++) {
+                long inicio = System.nanoTime();
+                gerenciador.salvar(alugueis);
+                salvarNs += System.nanoTime() - inicio;
+
+                inicio = System.nanoTime();
+                carregados = gerenciador.carregar().size();
+                carregarNs += System.nanoTime() - inicio;
+            }
+
+            double salvarMs = salvarNs / 1e6 / repeticoes;
+            double carregarMs = carregarNs / 1e6 / repeticoes;
+            if (formato == FormatoArmazenamento.JSON_FORMATADO) {
+                salvarBase = salvarMs;
+                carregarBase = carregarMs;
+            }
+
+            File arquivo = new File(diretorio, formato.nomeFisico("bench_" + formato.name().toLowerCase() + ".json"));
+            System.out.println(String.format("%-25s %12d %12.1f %12.1f %9.2fx %9.2fx%s",
+                formato.getDescricao(), arquivo.length() / 1024, salvarMs, carregarMs,
+                salvarBase / salvarMs, carregarBase / carregarMs,
+                carregados == quantidade ? "" : "  (ERRO: " + carregados + " carregados)"));
+            arquivo.delete();
+        }
+        diretorio.delete();
+    }
+
+    private static List<Aluguel> gerarAlugueis(int quantidade) {
+        List<Aluguel> alugueis = new ArrayList<>(quantidade);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < quantidade; i++) {
+            Aluguel aluguel = new Aluguel();
+            aluguel.setId(String.format("ALU-20250101000000-%06d", i));
+            aluguel.setClienteId("CLI-20250101000000-" + (i % 5000));
+            aluguel.setVeiculoId("VEI-20250101000000-" + (i % 800));
+            aluguel.setFuncionarioId("FUN-20250101000000-" + (i % 20));
+            aluguel.setValorDiaria(new BigDecimal(80 + (i % 17) * 10));
+            aluguel.setDataInicio(base.plusDays(i % 2000));
+            aluguel.setDataFimPrevista(base.plusDays(i % 2000 + 1 + i % 9));
+            aluguel.setQuilometragemInicial(10_000 + i % 50_000);
+            if (i % 3 == 0) {
+                aluguel.finalizar(aluguel.getDataFimPrevista(), aluguel.getQuilometragemInicial() + 350);
+            }
+            alugueis.add(aluguel);
+        }
+        return alugueis;
+    }
+}
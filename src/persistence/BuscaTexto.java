@@ -0,0 +1,72 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca incremental sobre o índice de texto de um Repositorio
+ * Cada tela mantém a sua instância: quando o novo termo contém o
+ * anterior (o usuário continuou digitando) e o repositório não mudou,
+ * o resultado anterior é apenas refinado, sem consultar o índice.
+ *
+ * @param <T> Tipo da entidade pesquisada
+ */
+public class BuscaTexto<T> {
+
+    private final Repositorio<T> repositorio;
+    private final IndiceTexto<T> indice;
+
+    private String ultimoTermo;
+    private List<String> ultimoResultado;
+    private long versaoUltimoResultado;
+
+    BuscaTexto(Repositorio<T> repositorio, IndiceTexto<T> indice) {
+        this.repositorio = repositorio;
+        this.indice = indice;
+    }
+
+    /**
+     * IDs das entidades cujos campos pesquisáveis contêm o termo
+     * (sem diferenciar acentos e maiúsculas), na ordem do repositório
+     */
+    public List<String> buscarIds(String termo) {
+        String normalizado = IndiceTexto.normalizar(termo.trim());
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            List<String> resultado;
+            if (podeRefinar(normalizado)) {
+                resultado = indice.refinar(ultimoResultado, normalizado);
+            } else {
+                resultado = indice.buscar(normalizado);
+            }
+            ultimoTermo = normalizado;
+            ultimoResultado = resultado;
+            versaoUltimoResultado = repositorio.getVersao();
+            return new ArrayList<>(resultado);
+        }
+    }
+
+    /**
+     * Entidades cujos campos pesquisáveis contêm o termo
+     */
+    public List<T> buscar(String termo) {
+        List<T> entidades = new ArrayList<>();
+        synchronized (repositorio) {
+            for (String id : buscarIds(termo)) {
+                T entidade = repositorio.buscarPorId(id);
+                if (entidade != null) {
+                    entidades.add(entidade);
+                }
+            }
+        }
+        return entidades;
+    }
+
+    // Termos curtos usam prefixo de palavra, que não pode ser refinado como substring
+    private boolean podeRefinar(String termo) {
+        return ultimoTermo != null &&
+               ultimoTermo.length() >= IndiceTexto.TAMANHO_TRIGRAMA &&
+               termo.contains(ultimoTermo) &&
+               versaoUltimoResultado == repositorio.getVersao();
+    }
+}
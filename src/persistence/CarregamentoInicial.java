@@ -0,0 +1,94 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Fase de carga da inicialização
+ * Lê os arquivos de clientes, veículos, funcionários e aluguéis em
+ * paralelo (no máximo uma thread por processador) e constrói os índices
+ * de cada repositório. Depois dela, autenticação, dados de exemplo e
+ * telas encontram tudo em memória.
+ */
+public class CarregamentoInicial {
+
+    /**
+     * Resultado da carga de um repositório
+     */
+    public static final class Resultado {
+        public final String nome;
+        public final int registros;
+        public final long milissegundos;
+        // null = carregado com sucesso
+        public final String erro;
+
+        Resultado(String nome, int registros, long milissegundos, String erro) {
+            this.nome = nome;
+            this.registros = registros;
+            this.milissegundos = milissegundos;
+            this.erro = erro;
+        }
+    }
+
+    private CarregamentoInicial() {
+    }
+
+    /**
+     * Carrega todos os repositórios e aguarda o término
+     * @return um resultado por repositório, na ordem de declaração
+     */
+    public static List<Resultado> executar() {
+        Map<String, Supplier<Repositorio<?>>> repositorios = new LinkedHashMap<>();
+        repositorios.put("clientes", Repositorio::clientes);
+        repositorios.put("veiculos", Repositorio::veiculos);
+        repositorios.put("funcionarios", Repositorio::funcionarios);
+        repositorios.put("alugueis", Repositorio::alugueis);
+
+        int threads = Math.min(repositorios.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "carga-inicial");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Callable<Resultado>> tarefas = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Repositorio<?>>> item : repositorios.entrySet()) {
+            tarefas.add(() -> carregar(item.getKey(), item.getValue()));
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        try {
+            List<Future<Resultado>> futuros = executor.invokeAll(tarefas);
+            List<String> nomes = new ArrayList<>(repositorios.keySet());
+            for (int i = 0; i < futuros.size(); i++) {
+                try {
+                    resultados.add(futuros.get(i).get());
+                } catch (ExecutionException e) {
+                    // Repositório não carregado agora será lido na primeira consulta
+                    System.err.println("Erro ao carregar " + nomes.get(i) + ": " + e.getCause());
+                    resultados.add(new Resultado(nomes.get(i), 0, 0, String.valueOf(e.getCause())));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+        return resultados;
+    }
+
+    private static Resultado carregar(String nome, Supplier<Repositorio<?>> fornecedor) {
+        long inicio = System.nanoTime();
+        // tamanho() força a leitura do arquivo, a reaplicação do diário e os índices
+        int registros = fornecedor.get().tamanho();
+        return new Resultado(nome, registros, (System.nanoTime() - inicio) / 1_000_000, null);
+    }
+}
@@ -0,0 +1,276 @@
+package persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificação binária campo a campo de uma entidade (formato BINARIO)
+ * O esquema (nome e tipo de cada campo) é gravado uma vez no cabeçalho
+ * do arquivo; na leitura os campos são associados por nome, então campos
+ * novos ou removidos da classe continuam compatíveis, como no JSON.
+ * Campos transient e static são ignorados, seguindo a regra do Gson.
+ *
+ * @param <T> Tipo da entidade codificada
+ */
+class CodecBinario<T> {
+
+    // O ordinal é gravado no esquema: tipos novos só entram no final
+    private enum Tipo {
+        TEXTO, INTEIRO, LONGO, DECIMAL_DUPLO, LOGICO,
+        // Tag legado mantido só para ler arquivos já gravados (tamanho dos dígitos em um byte)
+        DECIMAL_CURTO,
+        DATA, DATA_HORA, ENUMERACAO, JSON, DECIMAL
+    }
+
+    private static class Campo {
+        final String nome;
+        final Tipo tipo;
+        final Field field;
+
+        Campo(String nome, Tipo tipo, Field field) {
+            this.nome = nome;
+            this.tipo = tipo;
+            this.field = field;
+        }
+    }
+
+    /**
+     * Esquema lido do cabeçalho de um arquivo, já associado à classe atual
+     */
+    static final class Esquema {
+        private final List<Campo> campos;
+        private final boolean possuiCamposObsoletos;
+
+        private Esquema(List<Campo> campos) {
+            this.campos = campos;
+            this.possuiCamposObsoletos = campos.stream().anyMatch(c -> c.field == null);
+        }
+
+        /**
+         * Indica se o arquivo tem campos que a classe não persiste mais
+         * (ex.: referências que passaram a ser transient)
+         */
+        boolean possuiCamposObsoletos() {
+            return possuiCamposObsoletos;
+        }
+    }
+
+    private final Class<T> classe;
+    private final Constructor<T> construtor;
+    private final List<Campo> campos = new ArrayList<>();
+    private final Gson gson;
+
+    CodecBinario(Class<T> classe, Gson gson) {
+        this.classe = classe;
+        this.gson = gson;
+        try {
+            this.construtor = classe.getDeclaredConstructor();
+            this.construtor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(classe.getName() + " precisa de um construtor sem argumentos", e);
+        }
+
+        for (Class<?> atual = classe; atual != null && atual != Object.class; atual = atual.getSuperclass()) {
+            for (Field field : atual.getDeclaredFields()) {
+                int modificadores = field.getModifiers();
+                if (Modifier.isStatic(modificadores) || Modifier.isTransient(modificadores) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                campos.add(new Campo(field.getName(), tipoDe(field.getType()), field));
+            }
+        }
+    }
+
+    private static Tipo tipoDe(Class<?> tipo) {
+        if (tipo == String.class) return Tipo.TEXTO;
+        if (tipo == int.class || tipo == Integer.class) return Tipo.INTEIRO;
+        if (tipo == long.class || tipo == Long.class) return Tipo.LONGO;
+        if (tipo == double.class || tipo == Double.class) return Tipo.DECIMAL_DUPLO;
+        if (tipo == boolean.class || tipo == Boolean.class) return Tipo.LOGICO;
+        if (tipo == BigDecimal.class) return Tipo.DECIMAL;
+        if (tipo == LocalDate.class) return Tipo.DATA;
+        if (tipo == LocalDateTime.class) return Tipo.DATA_HORA;
+        if (tipo.isEnum()) return Tipo.ENUMERACAO;
+        return Tipo.JSON;
+    }
+
+    void escreverEsquema(DataOutputStream saida) throws IOException {
+        saida.writeShort(campos.size());
+        for (Campo campo : campos) {
+            saida.writeUTF(campo.nome);
+            saida.writeByte(campo.tipo.ordinal());
+        }
+    }
+
+    /**
+     * Lê o esquema gravado no arquivo e o associa aos campos atuais da classe
+     */
+    Esquema lerEsquema(DataInputStream entrada) throws IOException {
+        Map<String, Campo> atuais = new HashMap<>();
+        for (Campo campo : campos) {
+            atuais.put(campo.nome, campo);
+        }
+
+        int quantidade = entrada.readUnsignedShort();
+        List<Campo> esquema = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String nome = entrada.readUTF();
+            int ordinal = entrada.readUnsignedByte();
+            if (ordinal >= Tipo.values().length) {
+                throw new JsonSyntaxException("tipo de campo desconhecido no esquema: " + ordinal);
+            }
+            Tipo tipo = Tipo.values()[ordinal];
+            Campo atual = atuais.get(nome);
+            // Campo removido da classe ou com tipo alterado: lido e descartado
+            boolean compativel = atual != null
+                && (atual.tipo == tipo || tipo == Tipo.DECIMAL_CURTO && atual.tipo == Tipo.DECIMAL);
+            esquema.add(new Campo(nome, tipo, compativel ? atual.field : null));
+        }
+        return new Esquema(esquema);
+    }
+
+    void escrever(T entidade, DataOutputStream saida) throws IOException {
+        try {
+            for (Campo campo : campos) {
+                escreverValor(campo, campo.field.get(entidade), saida);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Lê um registro; a entrada deve conter só ele, já em memória
+     * @throws JsonSyntaxException se o registro não é válido (dados corrompidos)
+     */
+    T ler(Esquema esquema, DataInputStream entrada) throws IOException {
+        try {
+            T entidade = construtor.newInstance();
+            for (Campo campo : esquema.campos) {
+                Object valor = lerValor(campo, entrada);
+                if (campo.field != null && (valor != null || !campo.field.getType().isPrimitive())) {
+                    campo.field.set(entidade, valor);
+                }
+            }
+            return entidade;
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Erro ao instanciar " + classe.getName(), e);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            // Data fora do intervalo, dígitos de decimal vazios etc.
+            throw new JsonSyntaxException("registro binário inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private void escreverValor(Campo campo, Object valor, DataOutputStream saida) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor == null) {
+            return;
+        }
+        switch (campo.tipo) {
+            case TEXTO: escreverTexto((String) valor, saida); break;
+            case INTEIRO: saida.writeInt((Integer) valor); break;
+            case LONGO: saida.writeLong((Long) valor); break;
+            case DECIMAL_DUPLO: saida.writeDouble((Double) valor); break;
+            case LOGICO: saida.writeBoolean((Boolean) valor); break;
+            case DECIMAL: {
+                BigDecimal decimal = (BigDecimal) valor;
+                byte[] digitos = decimal.unscaledValue().toByteArray();
+                saida.writeInt(decimal.scale());
+                saida.writeInt(digitos.length);
+                saida.write(digitos);
+                break;
+            }
+            case DATA: saida.writeLong(((LocalDate) valor).toEpochDay()); break;
+            case DATA_HORA: {
+                LocalDateTime dataHora = (LocalDateTime) valor;
+                saida.writeLong(dataHora.toLocalDate().toEpochDay());
+                saida.writeLong(dataHora.toLocalTime().toNanoOfDay());
+                break;
+            }
+            case ENUMERACAO: escreverTexto(((Enum<?>) valor).name(), saida); break;
+            default: escreverTexto(gson.toJson(valor, campo.field.getGenericType()), saida);
+        }
+    }
+
+    private Object lerValor(Campo campo, DataInputStream entrada) throws IOException {
+        if (!entrada.readBoolean()) {
+            return null;
+        }
+        switch (campo.tipo) {
+            case TEXTO: return lerTexto(entrada);
+            case INTEIRO: return entrada.readInt();
+            case LONGO: return entrada.readLong();
+            case DECIMAL_DUPLO: return entrada.readDouble();
+            case LOGICO: return entrada.readBoolean();
+            case DECIMAL_CURTO:
+            case DECIMAL: {
+                int escala = entrada.readInt();
+                int tamanho = campo.tipo == Tipo.DECIMAL ? lerTamanho(entrada) : entrada.readUnsignedByte();
+                byte[] digitos = new byte[tamanho];
+                entrada.readFully(digitos);
+                return new BigDecimal(new BigInteger(digitos), escala);
+            }
+            case DATA: return LocalDate.ofEpochDay(entrada.readLong());
+            case DATA_HORA: {
+                LocalDate data = LocalDate.ofEpochDay(entrada.readLong());
+                return data.atTime(LocalTime.ofNanoOfDay(entrada.readLong()));
+            }
+            case ENUMERACAO: {
+                String nome = lerTexto(entrada);
+                return campo.field != null ? enumPorNome(campo.field.getType(), nome) : null;
+            }
+            default: {
+                String json = lerTexto(entrada);
+                return campo.field != null ? gson.fromJson(json, campo.field.getGenericType()) : null;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumPorNome(Class<?> tipo, String nome) {
+        try {
+            return Enum.valueOf((Class) tipo, nome);
+        } catch (IllegalArgumentException e) {
+            // Constante removida do enum: mesmo comportamento do Gson (null)
+            return null;
+        }
+    }
+
+    // writeUTF limita a 64 KB; textos usam tamanho int + UTF-8
+    private static void escreverTexto(String texto, DataOutputStream saida) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        byte[] bytes = new byte[lerTamanho(entrada)];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Tamanho negativo ou maior que o resto do registro só vem de dados corrompidos
+    private static int lerTamanho(DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho < 0 || tamanho > entrada.available()) {
+            throw new JsonSyntaxException("tamanho inválido no registro binário: " + tamanho);
+        }
+        return tamanho;
+    }
+}
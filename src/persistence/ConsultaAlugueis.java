@@ -0,0 +1,56 @@
+package persistence;
+
+import domain.Aluguel;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Consultas indexadas sobre o repositório de aluguéis
+ * O custo de cada consulta é proporcional ao tamanho do resultado, e
+ * não ao total de aluguéis. As listas devolvidas são cópias.
+ */
+public class ConsultaAlugueis {
+
+    private final Repositorio<Aluguel> repositorio;
+    private final IndiceAlugueis indice;
+
+    ConsultaAlugueis(Repositorio<Aluguel> repositorio, IndiceAlugueis indice) {
+        this.repositorio = repositorio;
+        this.indice = indice;
+    }
+
+    private <R> R consultar(Supplier<R> consulta) {
+        synchronized (repositorio) {
+            repositorio.garantirCarregado();
+            return consulta.get();
+        }
+    }
+
+    public List<Aluguel> porCliente(String clienteId) {
+        return consultar(() -> indice.porCliente(clienteId));
+    }
+
+    public List<Aluguel> porVeiculo(String veiculoId) {
+        return consultar(() -> indice.porVeiculo(veiculoId));
+    }
+
+    /**
+     * Indica se o veículo não tem aluguel ativo no período informado
+     * @param ignorarId aluguel desconsiderado na verificação (o que está sendo editado)
+     */
+    public boolean veiculoLivre(String veiculoId, LocalDate inicio, LocalDate fim, String ignorarId) {
+        for (Aluguel aluguel : porVeiculo(veiculoId)) {
+            // Data ausente: o período fica aberto naquele extremo
+            LocalDate inicioAluguel = aluguel.getDataInicio();
+            LocalDate fimAluguel = aluguel.getDataFimPrevista();
+            if (aluguel.getStatus() == Aluguel.StatusAluguel.ATIVO &&
+                !aluguel.getId().equals(ignorarId) &&
+                (inicioAluguel == null || !inicioAluguel.isAfter(fim)) &&
+                (fimAluguel == null || !fimAluguel.isBefore(inicio))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
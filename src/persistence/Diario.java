@@ -0,0 +1,224 @@
+package persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Diário (journal) append-only de alterações de um arquivo de entidades
+ * Cada linha registra a gravação ou a exclusão de uma única entidade,
+ * de modo que o custo de uma alteração não depende do tamanho do arquivo.
+ * A compactação (feita pelo Repositorio) incorpora o diário ao snapshot.
+ * A primeira linha identifica o snapshot sobre o qual as entradas foram
+ * anexadas. Se o snapshot foi regravado depois (e o diário não chegou a
+ * ser removido), as entradas já estão nele ou foram substituídas, e
+ * reaplicá-las traria de volta dados antigos: o diário é posto de lado
+ * (.ignorado_<data>) sem ser aplicado. Ao copiar a pasta de dados, as
+ * datas dos arquivos devem ser preservadas.
+ *
+ * @param <T> Tipo da entidade registrada
+ */
+class Diario<T> {
+    private static final String OP_GRAVAR = "GRAVAR";
+    private static final String OP_EXCLUIR = "EXCLUIR";
+    private static final String CAMPO_BASE = "base";
+
+    private final File arquivo;
+    private final Class<T> classeEntidade;
+    private final Gson gson;
+    private int entradas = 0;
+    private boolean danificado = false;
+    // Identidade do snapshot atual, gravada no início de cada diário novo
+    // (null: desconhecida, o diário é gravado sem cabeçalho)
+    private String base;
+    // O arquivo no disco é de um snapshot anterior: a próxima gravação o recomeça
+    private boolean reiniciar = false;
+
+    Diario(File arquivoSnapshot, Class<T> classeEntidade, Gson gson) {
+        this.arquivo = new File(arquivoSnapshot.getParentFile(), arquivoSnapshot.getName() + ".diario");
+        this.classeEntidade = classeEntidade;
+        this.gson = gson;
+    }
+
+    /**
+     * Reaplica o diário sobre as entidades do snapshot (indexadas por ID)
+     * Cada linha é independente: uma linha inválida (ex.: incompleta por
+     * queda durante a escrita) é ignorada e as seguintes são aplicadas.
+     * Nesse caso isDanificado() passa a indicar que o diário deve ser
+     * incorporado a um novo snapshot e descartado.
+     * @param identidadeSnapshot identidade do snapshot lido (ver
+     *        GerenciadorArquivos.identidadeArquivo), ou null se desconhecida
+     * @return número de entradas aplicadas
+     * @throws UncheckedIOException se o arquivo não pôde ser lido (o diário
+     *         não é considerado danificado: nada dele pode ser descartado)
+     */
+    int reaplicar(Map<String, T> porId, String identidadeSnapshot) {
+        entradas = 0;
+        danificado = false;
+        base = identidadeSnapshot;
+        reiniciar = false;
+        if (!arquivo.exists()) {
+            return 0;
+        }
+
+        boolean obsoleto = false;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
+            String linha;
+            boolean primeira = true;
+            while (!obsoleto && (linha = reader.readLine()) != null) {
+                if (linha.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    JsonObject entrada = JsonParser.parseString(linha).getAsJsonObject();
+                    if (primeira && entrada.has(CAMPO_BASE)) {
+                        primeira = false;
+                        String baseDiario = entrada.get(CAMPO_BASE).getAsString();
+                        obsoleto = identidadeSnapshot != null && !identidadeSnapshot.equals(baseDiario);
+                        continue;
+                    }
+                    primeira = false;
+                    String id = entrada.get("id").getAsString();
+                    if (OP_EXCLUIR.equals(entrada.get("op").getAsString())) {
+                        porId.remove(id);
+                    } else {
+                        porId.put(id, gson.fromJson(entrada.get("entidade"), classeEntidade));
+                    }
+                    entradas++;
+                } catch (JsonParseException | IllegalStateException | NullPointerException e) {
+                    primeira = false;
+                    danificado = true;
+                    System.err.println("Entrada inválida no diário " + arquivo.getName() +
+                                       " (ignorada): " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler diário " + arquivo.getName() + ": " + e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        if (obsoleto) {
+            // Só depois de fechado o leitor: no Windows não se renomeia arquivo aberto
+            porDeLado();
+            return 0;
+        }
+        return entradas;
+    }
+
+    /**
+     * Acrescenta ao final do diário a gravação (entidade != null) ou exclusão de cada ID
+     */
+    boolean anexar(Map<String, T> alteracoes) {
+        boolean novo = reiniciar || !arquivo.exists() || arquivo.length() == 0;
+        boolean completarLinha;
+        try {
+            completarLinha = !novo && terminaSemQuebraDeLinha();
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar diário " + arquivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+        // Um diário novo substitui (trunca) o que estiver no disco
+        try (FileOutputStream saida = new FileOutputStream(arquivo, !novo);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8))) {
+            if (novo) {
+                entradas = 0;
+                if (base != null) {
+                    JsonObject cabecalho = new JsonObject();
+                    cabecalho.addProperty(CAMPO_BASE, base);
+                    writer.write(cabecalho.toString());
+                    writer.write('\n');
+                }
+            } else if (completarLinha) {
+                // Linha incompleta no final (queda durante a escrita): a nova entrada não pode colar nela
+                writer.write('\n');
+            }
+            for (Map.Entry<String, T> alteracao : alteracoes.entrySet()) {
+                JsonObject entrada = new JsonObject();
+                entrada.addProperty("id", alteracao.getKey());
+                if (alteracao.getValue() == null) {
+                    entrada.addProperty("op", OP_EXCLUIR);
+                } else {
+                    entrada.addProperty("op", OP_GRAVAR);
+                    entrada.add("entidade", gson.toJsonTree(alteracao.getValue(), classeEntidade));
+                }
+                // Gson compacto: uma entrada por linha
+                writer.write(entrada.toString());
+                writer.write('\n');
+                entradas++;
+            }
+            writer.flush();
+            saida.getFD().sync();
+            reiniciar = false;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar diário " + arquivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void porDeLado() {
+        String sufixo = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        File destino = new File(arquivo.getParentFile(), arquivo.getName() + ".ignorado_" + sufixo);
+        if (arquivo.renameTo(destino)) {
+            System.err.println("Diário " + arquivo.getName() + " é de um snapshot anterior; não aplicado, movido para: " +
+                               destino.getPath());
+        } else {
+            System.err.println("Diário " + arquivo.getName() + " é de um snapshot anterior; não aplicado");
+            reiniciar = true;
+        }
+    }
+
+    private boolean terminaSemQuebraDeLinha() throws IOException {
+        if (!arquivo.exists() || arquivo.length() == 0) {
+            return false;
+        }
+        try (RandomAccessFile leitura = new RandomAccessFile(arquivo, "r")) {
+            leitura.seek(leitura.length() - 1);
+            return leitura.read() != '\n';
+        }
+    }
+
+    /**
+     * Descarta o diário depois que o snapshot passou a conter todas as entradas
+     * Se o arquivo não puder ser removido, ele é esvaziado; se nem isso for
+     * possível, é recomeçado na próxima gravação (até lá o cabeçalho não
+     * corresponde ao novo snapshot e ele não é aplicado na leitura).
+     * @param identidadeSnapshot identidade do snapshot recém-gravado, ou null
+     */
+    void limpar(String identidadeSnapshot) {
+        base = identidadeSnapshot;
+        if (arquivo.exists() && !arquivo.delete()) {
+            try {
+                new FileOutputStream(arquivo).close();
+                System.err.println("Não foi possível remover o diário " + arquivo.getName() + "; esvaziado");
+            } catch (IOException e) {
+                System.err.println("Não foi possível remover nem esvaziar o diário " + arquivo.getName() +
+                                   ": " + e.getMessage());
+                reiniciar = true;
+            }
+        }
+        entradas = 0;
+        danificado = false;
+    }
+
+    boolean existe() {
+        return arquivo.exists();
+    }
+
+    /**
+     * Indica se a última reaplicação encontrou entradas inválidas
+     */
+    boolean isDanificado() {
+        return danificado;
+    }
+
+    int getEntradas() {
+        return entradas;
+    }
+}
@@ -0,0 +1,42 @@
+package persistence;
+
+/**
+ * Formatos de armazenamento suportados pelo GerenciadorArquivos
+ * Cada arquivo de entidades escolhe o seu; arquivos gravados em outro
+ * formato (ex.: o JSON formatado original) são lidos e migrados
+ * automaticamente na próxima gravação.
+ */
+public enum FormatoArmazenamento {
+    JSON_FORMATADO("JSON formatado", ""),
+    JSON_COMPACTO("JSON compacto", ""),
+    JSON_GZIP("JSON compactado (gzip)", ".gz"),
+    BINARIO("Registros binários", ".bin");
+
+    private final String descricao;
+    private final String sufixo;
+
+    FormatoArmazenamento(String descricao, String sufixo) {
+        this.descricao = descricao;
+        this.sufixo = sufixo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Nome do arquivo em disco para o nome lógico informado (ex.: alugueis.json)
+     */
+    public String nomeFisico(String nomeArquivo) {
+        return nomeArquivo + sufixo;
+    }
+
+    public boolean isJson() {
+        return this != BINARIO;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
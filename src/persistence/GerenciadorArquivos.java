@@ -1,38 +1,74 @@
 package persistence;
 
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import java.io.*;
-import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Gerenciador genérico de arquivos JSON com Gson
+ * Gerenciador genérico de arquivos de entidades com Gson
+ * O formato em disco (JSON formatado, compacto, gzip ou binário) é
+ * escolhido por arquivo; veja FormatoArmazenamento.
  * @param <T> Tipo da entidade a ser persistida
  */
 public class GerenciadorArquivos<T> {
+    // Cabeçalho do formato binário: "AFB2"
+    private static final int ASSINATURA_BINARIO = 0x41464232;
+
     private final Gson gson;
+    private final Gson gsonCompacto;
     private final String nomeArquivo;
-    private final Type tipoLista;
-    private final String diretorioDados = "data";
+    private final Class<T> classeEntidade;
+    private final FormatoArmazenamento formato;
+    private final String diretorioDados;
+    private CodecBinario<T> codecBinario;
+    private volatile boolean camposObsoletosLidos = false;
 
     public GerenciadorArquivos(String nomeArquivo, Class<T> classeEntidade) {
+        this(nomeArquivo, classeEntidade, FormatoArmazenamento.JSON_FORMATADO);
+    }
+
+    public GerenciadorArquivos(String nomeArquivo, Class<T> classeEntidade, FormatoArmazenamento formato) {
+        this("data", nomeArquivo, classeEntidade, formato);
+    }
+
+    GerenciadorArquivos(String diretorioDados, String nomeArquivo, Class<T> classeEntidade,
+                        FormatoArmazenamento formato) {
+        this.diretorioDados = diretorioDados;
         this.nomeArquivo = nomeArquivo;
-        this.tipoLista = TypeToken.getParameterized(List.class, classeEntidade).getType();
+        this.classeEntidade = classeEntidade;
+        this.formato = formato;
         
         // Configurar Gson com adaptadores para LocalDate e LocalDateTime
-        this.gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-            .create();
+        GsonBuilder builder = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe());
+        this.gsonCompacto = builder.create();
+        this.gson = builder.setPrettyPrinting().create();
         
         criarDiretorioSeNaoExistir();
     }
@@ -49,58 +85,423 @@ public class GerenciadorArquivos<T> {
         }
     }
 
+    private File arquivoFisico(FormatoArmazenamento formatoArquivo) {
+        return new File(diretorioDados, formatoArquivo.nomeFisico(nomeArquivo));
+    }
+
+    /**
+     * Formato do arquivo que está de fato em disco: o configurado ou, se ele
+     * ainda não existe, o de um arquivo anterior a ser migrado
+     */
+    private FormatoArmazenamento formatoEmDisco() {
+        if (arquivoFisico(formato).exists()) {
+            return formato;
+        }
+        for (FormatoArmazenamento outro : FormatoArmazenamento.values()) {
+            if (arquivoFisico(outro).exists()) {
+                return outro;
+            }
+        }
+        return formato;
+    }
+
+    /**
+     * Indica se os dados em disco estão em um formato diferente do configurado
+     * ou se a última leitura encontrou campos que não são mais persistidos
+     */
+    public boolean precisaMigrar() {
+        File arquivo = arquivoFisico(formatoEmDisco());
+        return camposObsoletosLidos || (!arquivoFisico(formato).equals(arquivo) && arquivo.exists());
+    }
+
+    /**
+     * Lê todas as entidades do arquivo
+     * Um arquivo corrompido é movido para o lado e a lista volta vazia.
+     * @throws UncheckedIOException se o arquivo não pôde ser lido (erro de
+     *         E/S): ele continua no lugar, e devolver uma lista parcial
+     *         faria a próxima gravação substituí-lo só com essas entidades
+     */
     public List<T> carregar() {
+        File arquivo = arquivoFisico(formatoEmDisco());
+        
+        if (!arquivo.exists()) {
+            System.out.println("Arquivo não encontrado: " + arquivo.getPath() + ". Criando lista vazia.");
+            return new ArrayList<>();
+        }
+
+        if (arquivo.length() == 0) {
+            System.out.println("Arquivo vazio: " + arquivo.getPath() + ". Retornando lista vazia.");
+            return new ArrayList<>();
+        }
+
+        List<T> lista = new ArrayList<>();
+        if (!ler(lista::add, true)) {
+            return new ArrayList<>();
+        }
+        return lista;
+    }
+
+    /**
+     * Percorre as entidades do arquivo uma a uma, sem montar a lista em memória
+     * @return false se o arquivo não pôde ser lido por completo
+     */
+    public boolean paraCada(Consumer<? super T> consumidor) {
+        return ler(consumidor, false);
+    }
+
+    /**
+     * @param propagarErros relança os erros de E/S em vez de devolver false,
+     *        inclusive quando o arquivo corrompido não pôde ser movido
+     */
+    private boolean ler(Consumer<? super T> consumidor, boolean propagarErros) {
+        FormatoArmazenamento formatoLido = formatoEmDisco();
+        try (Stream<T> entidades = stream(formatoLido)) {
+            entidades.forEach(consumidor);
+            return true;
+        } catch (UncheckedIOException | JsonIOException e) {
+            System.err.println("Erro ao carregar arquivo " + nomeArquivo + ": " + e.getMessage());
+            if (propagarErros) {
+                throw e instanceof UncheckedIOException
+                    ? (UncheckedIOException) e
+                    : new UncheckedIOException(new IOException(e.getMessage(), e));
+            }
+            return false;
+        } catch (JsonSyntaxException e) {
+            System.err.println("Erro na sintaxe do arquivo " + nomeArquivo + ": " + e.getMessage());
+            if (!preservarArquivoCorrompido(arquivoFisico(formatoLido)) && propagarErros) {
+                throw new UncheckedIOException(new IOException(
+                    "arquivo corrompido não pôde ser preservado: " + nomeArquivo, e));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stream preguiçoso das entidades do arquivo, lido registro a registro.
+     * Deve ser fechado (try-with-resources) após o uso.
+     */
+    public Stream<T> stream() {
+        return stream(formatoEmDisco());
+    }
+
+    private Stream<T> stream(FormatoArmazenamento formatoLido) {
+        File arquivo = arquivoFisico(formatoLido);
+        if (!arquivo.exists() || arquivo.length() == 0) {
+            return Stream.empty();
+        }
+
         try {
-            File arquivo = new File(diretorioDados, nomeArquivo);
-            
-            if (!arquivo.exists()) {
-                System.out.println("Arquivo não encontrado: " + arquivo.getPath() + ". Criando lista vazia.");
-                return new ArrayList<>();
+            return formatoLido.isJson()
+                ? streamJson(arquivo, formatoLido == FormatoArmazenamento.JSON_GZIP)
+                : streamBinario(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Stream<T> streamJson(File arquivo, boolean gzip) throws IOException {
+        InputStream entrada = new FileInputStream(arquivo);
+        if (gzip) {
+            try {
+                entrada = new GZIPInputStream(entrada, 64 * 1024);
+            } catch (EOFException | ZipException e) {
+                entrada.close();
+                throw new JsonSyntaxException(e);
+            } catch (IOException e) {
+                entrada.close();
+                throw e;
             }
+        }
+        JsonReader reader = new JsonReader(new BufferedReader(
+            new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+        try {
+            // Mesma tolerância do gson.fromJson (ex.: vírgula antes do "]")
+            reader.setLenient(true);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.close();
+                return Stream.empty();
+            }
+            reader.beginArray();
+        } catch (EOFException | MalformedJsonException | ZipException e) {
+            reader.close();
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        } catch (IllegalStateException e) {
+            reader.close();
+            throw new JsonSyntaxException(e);
+        }
 
-            if (arquivo.length() == 0) {
-                System.out.println("Arquivo vazio: " + arquivo.getPath() + ". Retornando lista vazia.");
-                return new ArrayList<>();
+        Spliterator<T> leitor = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> acao) {
+                try {
+                    while (reader.hasNext()) {
+                        T entidade = gson.fromJson(reader, classeEntidade);
+                        // Elementos nulos (vírgula sobrando) são ignorados
+                        if (entidade != null) {
+                            acao.accept(entidade);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (EOFException | MalformedJsonException | ZipException | NumberFormatException e) {
+                    // Arquivo cortado (ex.: entre dois elementos) ou danificado
+                    // (NumberFormatException: escape unicode inválido): é corrupção,
+                    // não falha de leitura
+                    throw new JsonSyntaxException(e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
+        };
 
-            try (FileReader reader = new FileReader(arquivo)) {
-                List<T> lista = gson.fromJson(reader, tipoLista);
-                return lista != null ? lista : new ArrayList<>();
+        return StreamSupport.stream(leitor, false).onClose(() -> fechar(reader));
+    }
+
+    private synchronized CodecBinario<T> getCodecBinario() {
+        if (codecBinario == null) {
+            codecBinario = new CodecBinario<>(classeEntidade, gsonCompacto);
+        }
+        return codecBinario;
+    }
+
+    /**
+     * Formato binário: assinatura, esquema dos campos, quantidade de registros
+     * e, para cada registro, o tamanho em bytes seguido dos campos codificados
+     */
+    private Stream<T> streamBinario(File arquivo) throws IOException {
+        CodecBinario<T> codec = getCodecBinario();
+        DataInputStream entrada = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(arquivo), 64 * 1024));
+        CodecBinario.Esquema esquema;
+        int total;
+        try {
+            int assinatura = entrada.readInt();
+            if (assinatura != ASSINATURA_BINARIO) {
+                entrada.close();
+                throw new JsonSyntaxException("cabeçalho de arquivo binário inválido");
             }
+            esquema = codec.lerEsquema(entrada);
+            total = entrada.readInt();
+            if (total < 0) {
+                entrada.close();
+                throw new JsonSyntaxException("quantidade de registros inválida: " + total);
+            }
+            if (esquema.possuiCamposObsoletos()) {
+                camposObsoletosLidos = true;
+            }
+        } catch (EOFException | UTFDataFormatException e) {
+            entrada.close();
+            throw new JsonSyntaxException("cabeçalho de arquivo binário truncado ou inválido");
+        } catch (IOException | JsonSyntaxException e) {
+            entrada.close();
+            throw e;
+        }
+
+        Spliterator<T> leitor = new Spliterators.AbstractSpliterator<T>(
+                total, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+            private int lidos = 0;
+            private byte[] buffer = new byte[512];
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> acao) {
+                if (lidos >= total) {
+                    return false;
+                }
+                try {
+                    int tamanho = entrada.readInt();
+                    // available() de um arquivo comum são os bytes que restam nele
+                    if (tamanho < 0 || tamanho > entrada.available()) {
+                        throw new JsonSyntaxException("tamanho inválido no registro " + lidos + ": " + tamanho);
+                    }
+                    if (tamanho > buffer.length) {
+                        buffer = new byte[Math.max(tamanho, buffer.length * 2)];
+                    }
+                    entrada.readFully(buffer, 0, tamanho);
+                    lidos++;
+                    acao.accept(codec.ler(esquema,
+                        new DataInputStream(new ByteArrayInputStream(buffer, 0, tamanho))));
+                    return true;
+                } catch (EOFException e) {
+                    throw new JsonSyntaxException("arquivo binário truncado no registro " + lidos);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(leitor, false).onClose(() -> fechar(entrada));
+    }
+
+    private void fechar(Closeable recurso) {
+        try {
+            recurso.close();
         } catch (IOException e) {
-            System.err.println("Erro ao carregar arquivo " + nomeArquivo + ": " + e.getMessage());
-            return new ArrayList<>();
-        } catch (JsonSyntaxException e) {
-            System.err.println("Erro na sintaxe JSON do arquivo " + nomeArquivo + ": " + e.getMessage());
-            return new ArrayList<>();
+            System.err.println("Erro ao fechar arquivo " + nomeArquivo + ": " + e.getMessage());
         }
     }
 
+    /**
+     * Salva a lista de forma atômica: grava um arquivo temporário no mesmo
+     * diretório, força os dados para o disco e só então o move sobre o
+     * arquivo definitivo. Uma queda no meio da gravação nunca trunca o
+     * arquivo existente. Arquivos em formatos anteriores são removidos
+     * depois que a versão no formato configurado estiver gravada.
+     */
     public boolean salvar(List<T> lista) {
+        File arquivo = arquivoFisico(formato);
+        File temporario = new File(diretorioDados, arquivo.getName() + ".tmp");
+
         try {
-            File arquivo = new File(diretorioDados, nomeArquivo);
-            
-            try (FileWriter writer = new FileWriter(arquivo)) {
-                gson.toJson(lista, writer);
+            try (FileOutputStream saida = new FileOutputStream(temporario)) {
+                escrever(lista, saida);
+                saida.getFD().sync();
+            }
+
+            moverAtomicamente(temporario.toPath(), arquivo.toPath());
+            removerArquivosMigrados(arquivo);
+            camposObsoletosLidos = false;
+            return true;
+        } catch (IOException | JsonIOException e) {
+            System.err.println("Erro ao salvar arquivo " + nomeArquivo + ": " + e.getMessage());
+            temporario.delete();
+            return false;
+        }
+    }
+
+    private void escrever(List<T> lista, FileOutputStream saida) throws IOException {
+        switch (formato) {
+            case BINARIO: {
+                CodecBinario<T> codec = getCodecBinario();
+                DataOutputStream dados = new DataOutputStream(new BufferedOutputStream(saida, 64 * 1024));
+                dados.writeInt(ASSINATURA_BINARIO);
+                codec.escreverEsquema(dados);
+                dados.writeInt(lista.size());
+
+                ByteArrayOutputStream registro = new ByteArrayOutputStream(512);
+                DataOutputStream dadosRegistro = new DataOutputStream(registro);
+                for (T entidade : lista) {
+                    registro.reset();
+                    codec.escrever(entidade, dadosRegistro);
+                    dados.writeInt(registro.size());
+                    registro.writeTo(dados);
+                }
+                dados.flush();
+                break;
+            }
+            case JSON_GZIP: {
+                GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(saida, 64 * 1024), 64 * 1024);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                gsonCompacto.toJson(lista, writer);
                 writer.flush();
-                return true;
+                gzip.finish();
+                gzip.flush();
+                break;
+            }
+            default: {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+                Gson gsonEscrita = formato == FormatoArmazenamento.JSON_FORMATADO ? gson : gsonCompacto;
+                gsonEscrita.toJson(lista, writer);
+                writer.flush();
+            }
+        }
+    }
+
+    private void removerArquivosMigrados(File arquivoAtual) {
+        for (FormatoArmazenamento outro : FormatoArmazenamento.values()) {
+            File antigo = arquivoFisico(outro);
+            if (!antigo.equals(arquivoAtual) && antigo.exists()) {
+                if (antigo.delete()) {
+                    System.out.println("Arquivo migrado para " + formato + ": " + antigo.getPath());
+                } else {
+                    System.err.println("Não foi possível remover o arquivo migrado " + antigo.getPath());
+                }
             }
+        }
+    }
+
+    private static void moverAtomicamente(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Sistemas de arquivos sem rename atômico: melhor esforço
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Move um arquivo ilegível para o lado, para que o próximo salvar()
+     * não sobrescreva os dados que ainda podem ser recuperados manualmente
+     */
+    private boolean preservarArquivoCorrompido(File arquivo) {
+        try {
+            String sufixo = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            File destino = new File(diretorioDados, arquivo.getName() + ".corrompido_" + sufixo);
+            Files.move(arquivo.toPath(), destino.toPath());
+            System.err.println("Arquivo corrompido preservado em: " + destino.getPath());
+            return true;
         } catch (IOException e) {
-            System.err.println("Erro ao salvar arquivo " + nomeArquivo + ": " + e.getMessage());
+            System.err.println("Erro ao preservar arquivo corrompido: " + e.getMessage());
             return false;
         }
     }
 
     public boolean existe() {
-        File arquivo = new File(diretorioDados, nomeArquivo);
+        File arquivo = arquivoFisico(formatoEmDisco());
         return arquivo.exists() && arquivo.length() > 0;
     }
 
+    /**
+     * Data de modificação e tamanho do arquivo em disco, combinados, para
+     * perceber alterações no arquivo (0 se ele não existe)
+     */
+    long assinaturaArquivo() {
+        File arquivo = arquivoFisico(formatoEmDisco());
+        return arquivo.exists() ? arquivo.lastModified() * 31 + arquivo.length() : 0;
+    }
+
+    /**
+     * Identidade da versão do arquivo em disco: data de modificação (em ms)
+     * e tamanho, que mudam a cada salvar() e se mantêm numa cópia que
+     * preserve as datas
+     * @return "" se o arquivo não existe, null se não pôde ser consultada
+     */
+    String identidadeArquivo() {
+        File arquivo = arquivoFisico(formatoEmDisco());
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(arquivo.toPath(), BasicFileAttributes.class);
+            return atributos.lastModifiedTime().toMillis() + ":" + atributos.size();
+        } catch (NoSuchFileException e) {
+            return "";
+        } catch (IOException e) {
+            System.err.println("Erro ao consultar arquivo " + nomeArquivo + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Arquivo lógico (nome configurado, sem o sufixo do formato)
+     */
+    File getArquivo() {
+        return new File(diretorioDados, nomeArquivo);
+    }
+
+    Gson getGson() {
+        return gsonCompacto;
+    }
+
+    public FormatoArmazenamento getFormato() {
+        return formato;
+    }
+
     public void criarBackup() {
         try {
-            File arquivo = new File(diretorioDados, nomeArquivo);
+            File arquivo = arquivoFisico(formatoEmDisco());
             if (arquivo.exists()) {
-                String nomeBackup = nomeArquivo.replace(".json", "_backup.json");
+                String nomeBackup = arquivo.getName().replace(".json", "_backup.json");
                 File backup = new File(diretorioDados, nomeBackup);
                 Files.copy(arquivo.toPath(), backup.toPath());
                 System.out.println("Backup criado: " + backup.getPath());
@@ -110,35 +511,43 @@ public class GerenciadorArquivos<T> {
         }
     }
 
-    // Adaptador para LocalDate
-    private static class LocalDateAdapter implements JsonSerializer<LocalDate>, JsonDeserializer<LocalDate> {
+    // Adaptador para LocalDate (TypeAdapter de streaming: não monta JsonElement por valor)
+    private static class LocalDateAdapter extends TypeAdapter<LocalDate> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
 
         @Override
-        public JsonElement serialize(LocalDate src, Type typeOfSrc, JsonSerializationContext context) {
-            return new JsonPrimitive(src.format(formatter));
+        public void write(JsonWriter out, LocalDate valor) throws IOException {
+            out.value(valor.format(formatter));
         }
 
         @Override
-        public LocalDate deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-                throws JsonParseException {
-            return LocalDate.parse(json.getAsString(), formatter);
+        public LocalDate read(JsonReader in) throws IOException {
+            String texto = in.nextString();
+            try {
+                return LocalDate.parse(texto, formatter);
+            } catch (DateTimeParseException e) {
+                throw new JsonSyntaxException("data inválida: " + texto, e);
+            }
         }
     }
 
     // Adaptador para LocalDateTime
-    private static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+    private static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
         @Override
-        public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-            return new JsonPrimitive(src.format(formatter));
+        public void write(JsonWriter out, LocalDateTime valor) throws IOException {
+            out.value(valor.format(formatter));
         }
 
         @Override
-        public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-                throws JsonParseException {
-            return LocalDateTime.parse(json.getAsString(), formatter);
+        public LocalDateTime read(JsonReader in) throws IOException {
+            String texto = in.nextString();
+            try {
+                return LocalDateTime.parse(texto, formatter);
+            } catch (DateTimeParseException e) {
+                throw new JsonSyntaxException("data e hora inválida: " + texto, e);
+            }
         }
     }
 }
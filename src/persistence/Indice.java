@@ -0,0 +1,23 @@
+package persistence;
+
+import java.util.Map;
+
+/**
+ * Índice mantido pelo Repositorio junto com o índice por ID
+ * Como as entidades são alteradas no próprio objeto, cada índice guarda
+ * as chaves de cada ID para conseguir removê-las ao atualizar.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+interface Indice<T> {
+
+    /**
+     * Reconstrói o índice a partir das entidades indexadas por ID
+     */
+    void reconstruir(Map<String, T> porId);
+
+    /**
+     * Atualiza as chaves da entidade com o ID informado (entidade null = remoção)
+     */
+    void atualizar(String id, T entidade);
+}
@@ -0,0 +1,92 @@
+package persistence;
+
+import domain.Aluguel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índices secundários de aluguéis: por cliente e por veículo
+ * Consultas por período e totais por status/mês vêm dos agregados
+ * (IndiceReceita e IndiceTotaisAlugueis), não deste índice.
+ */
+class IndiceAlugueis implements Indice<Aluguel> {
+
+    // Chaves indexadas de cada aluguel, para remoção após alterações
+    private static final class Chaves {
+        final String clienteId;
+        final String veiculoId;
+
+        Chaves(Aluguel aluguel) {
+            this.clienteId = aluguel.getClienteId();
+            this.veiculoId = aluguel.getVeiculoId();
+        }
+    }
+
+    private final Map<String, Map<String, Aluguel>> porCliente = new HashMap<>();
+    private final Map<String, Map<String, Aluguel>> porVeiculo = new HashMap<>();
+    private final Map<String, Chaves> chavesPorId = new HashMap<>();
+
+    @Override
+    public void reconstruir(Map<String, Aluguel> porId) {
+        porCliente.clear();
+        porVeiculo.clear();
+        chavesPorId.clear();
+        for (Map.Entry<String, Aluguel> item : porId.entrySet()) {
+            adicionar(item.getKey(), item.getValue());
+        }
+    }
+
+    @Override
+    public void atualizar(String id, Aluguel aluguel) {
+        Chaves anteriores = chavesPorId.remove(id);
+        if (anteriores != null) {
+            remover(porCliente, anteriores.clienteId, id);
+            remover(porVeiculo, anteriores.veiculoId, id);
+        }
+        if (aluguel != null) {
+            adicionar(id, aluguel);
+        }
+    }
+
+    private void adicionar(String id, Aluguel aluguel) {
+        Chaves chaves = new Chaves(aluguel);
+        chavesPorId.put(id, chaves);
+        inserir(porCliente, chaves.clienteId, id, aluguel);
+        inserir(porVeiculo, chaves.veiculoId, id, aluguel);
+    }
+
+    private static <K> void inserir(Map<K, Map<String, Aluguel>> indice, K chave, String id, Aluguel aluguel) {
+        if (chave != null) {
+            indice.computeIfAbsent(chave, c -> new LinkedHashMap<>()).put(id, aluguel);
+        }
+    }
+
+    private static <K> void remover(Map<K, Map<String, Aluguel>> indice, K chave, String id) {
+        if (chave == null) {
+            return;
+        }
+        Map<String, Aluguel> grupo = indice.get(chave);
+        if (grupo != null) {
+            grupo.remove(id);
+            if (grupo.isEmpty()) {
+                indice.remove(chave);
+            }
+        }
+    }
+
+    private static List<Aluguel> copiar(Map<String, Aluguel> grupo) {
+        return grupo == null ? Collections.emptyList() : new ArrayList<>(grupo.values());
+    }
+
+    List<Aluguel> porCliente(String clienteId) {
+        return copiar(porCliente.get(clienteId));
+    }
+
+    List<Aluguel> porVeiculo(String veiculoId) {
+        return copiar(porVeiculo.get(veiculoId));
+    }
+}
@@ -0,0 +1,160 @@
+package persistence;
+
+import domain.Aluguel;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Receita dos aluguéis em baldes diários e mensais, mantidos a cada alteração
+ * A receita de um aluguel (valor total, se não cancelado) entra no dia e
+ * no mês de início. Uma consulta de período soma os baldes diários das
+ * pontas e os mensais dos meses inteiros do meio, então o custo depende
+ * do número de baldes (no máximo ~62 dias + meses), e não de aluguéis.
+ */
+class IndiceReceita implements Indice<Aluguel> {
+
+    /**
+     * Receita somada em um dia ou mês, no total e por chave de agrupamento
+     */
+    static final class Balde {
+        private int lancamentos = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        final Map<String, BigDecimal> porCliente = new HashMap<>();
+        final Map<String, BigDecimal> porFuncionario = new HashMap<>();
+        final Map<String, BigDecimal> porVeiculo = new HashMap<>();
+
+        private void somar(Lancamento lancamento, boolean subtrair) {
+            lancamentos += subtrair ? -1 : 1;
+            BigDecimal valor = subtrair ? lancamento.valor.negate() : lancamento.valor;
+            total = total.add(valor);
+            somarValor(porCliente, lancamento.clienteId, valor);
+            somarValor(porFuncionario, lancamento.funcionarioId, valor);
+            somarValor(porVeiculo, lancamento.veiculoId, valor);
+        }
+    }
+
+    // Parcela de cada aluguel, para subtraí-la após alterações
+    private static final class Lancamento {
+        final LocalDate dia;
+        final BigDecimal valor;
+        final String clienteId;
+        final String funcionarioId;
+        final String veiculoId;
+
+        Lancamento(Aluguel aluguel) {
+            this.dia = aluguel.getDataInicio();
+            this.valor = aluguel.getValorTotal();
+            this.clienteId = aluguel.getClienteId();
+            this.funcionarioId = aluguel.getFuncionarioId();
+            this.veiculoId = aluguel.getVeiculoId();
+        }
+    }
+
+    private final TreeMap<LocalDate, Balde> porDia = new TreeMap<>();
+    private final TreeMap<YearMonth, Balde> porMes = new TreeMap<>();
+    private final Map<String, Lancamento> lancamentosPorId = new HashMap<>();
+
+    @Override
+    public void reconstruir(Map<String, Aluguel> porId) {
+        porDia.clear();
+        porMes.clear();
+        lancamentosPorId.clear();
+        for (Map.Entry<String, Aluguel> item : porId.entrySet()) {
+            adicionar(item.getKey(), item.getValue());
+        }
+    }
+
+    @Override
+    public void atualizar(String id, Aluguel aluguel) {
+        Lancamento anterior = lancamentosPorId.remove(id);
+        if (anterior != null) {
+            lancar(anterior, true);
+        }
+        if (aluguel != null) {
+            adicionar(id, aluguel);
+        }
+    }
+
+    private void adicionar(String id, Aluguel aluguel) {
+        if (aluguel.getDataInicio() == null || aluguel.getValorTotal() == null ||
+            aluguel.getStatus() == Aluguel.StatusAluguel.CANCELADO) {
+            return;
+        }
+        Lancamento lancamento = new Lancamento(aluguel);
+        lancamentosPorId.put(id, lancamento);
+        lancar(lancamento, false);
+    }
+
+    private void lancar(Lancamento lancamento, boolean subtrair) {
+        lancarEm(porDia, lancamento.dia, lancamento, subtrair);
+        lancarEm(porMes, YearMonth.from(lancamento.dia), lancamento, subtrair);
+    }
+
+    private static <K> void lancarEm(Map<K, Balde> baldes, K chave, Lancamento lancamento, boolean subtrair) {
+        Balde balde = baldes.computeIfAbsent(chave, c -> new Balde());
+        balde.somar(lancamento, subtrair);
+        if (balde.lancamentos == 0) {
+            baldes.remove(chave);
+        }
+    }
+
+    private static void somarValor(Map<String, BigDecimal> totais, String chave, BigDecimal valor) {
+        if (chave == null) {
+            return;
+        }
+        BigDecimal total = totais.getOrDefault(chave, BigDecimal.ZERO).add(valor);
+        if (total.signum() == 0) {
+            totais.remove(chave);
+        } else {
+            totais.put(chave, total);
+        }
+    }
+
+    /**
+     * Receita total de cada mês com lançamentos
+     */
+    NavigableMap<YearMonth, BigDecimal> receitaPorMes() {
+        NavigableMap<YearMonth, BigDecimal> receita = new TreeMap<>();
+        for (Map.Entry<YearMonth, Balde> mes : porMes.entrySet()) {
+            if (mes.getValue().total.signum() != 0) {
+                receita.put(mes.getKey(), mes.getValue().total);
+            }
+        }
+        return receita;
+    }
+
+    /**
+     * Soma no destino as parcelas dos baldes entre inicio e fim (inclusive)
+     * @param parcelas escolhe os valores de cada balde (total ou um agrupamento)
+     */
+    void somar(LocalDate inicio, LocalDate fim, Function<Balde, Map<String, BigDecimal>> parcelas,
+               Map<String, BigDecimal> destino) {
+        YearMonth primeiroMesInteiro = inicio.getDayOfMonth() == 1 ?
+            YearMonth.from(inicio) : YearMonth.from(inicio).plusMonths(1);
+        YearMonth ultimoMesInteiro = fim.equals(YearMonth.from(fim).atEndOfMonth()) ?
+            YearMonth.from(fim) : YearMonth.from(fim).minusMonths(1);
+
+        if (primeiroMesInteiro.isAfter(ultimoMesInteiro)) {
+            acumular(porDia.subMap(inicio, true, fim, true), parcelas, destino);
+            return;
+        }
+        acumular(porDia.subMap(inicio, true, primeiroMesInteiro.atDay(1), false), parcelas, destino);
+        acumular(porMes.subMap(primeiroMesInteiro, true, ultimoMesInteiro, true), parcelas, destino);
+        acumular(porDia.subMap(ultimoMesInteiro.atEndOfMonth(), false, fim, true), parcelas, destino);
+    }
+
+    private static void acumular(NavigableMap<?, Balde> baldes, Function<Balde, Map<String, BigDecimal>> parcelas,
+                                 Map<String, BigDecimal> destino) {
+        for (Balde balde : baldes.values()) {
+            for (Map.Entry<String, BigDecimal> parcela : parcelas.apply(balde).entrySet()) {
+                destino.merge(parcela.getKey(), parcela.getValue(), BigDecimal::add);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package persistence;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de texto dos campos pesquisáveis de uma entidade
+ * O texto é normalizado (sem acentos, minúsculo). Termos com 3 ou mais
+ * caracteres são procurados como substring: a interseção das listas de
+ * trigramas dá os candidatos, confirmados no texto normalizado. Termos
+ * mais curtos são procurados como prefixo de palavra.
+ *
+ * Cada documento recebe um número sequencial e as listas de trigramas
+ * guardam esses números em arrays de int (ordenados, pois só crescem),
+ * o que mantém o índice compacto com centenas de milhares de registros.
+ * Uma alteração invalida o número antigo e cria um novo; os números
+ * inválidos são descartados quando passam da metade.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+class IndiceTexto<T> implements Indice<T> {
+    static final int TAMANHO_TRIGRAMA = 3;
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADOR_PALAVRAS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Separa os campos no texto indexado: nenhum trigrama atravessa dois campos
+    private static final char SEPARADOR_CAMPOS = '\n';
+
+    /**
+     * Lista crescente de números de documento
+     */
+    private static final class ListaNumeros {
+        int[] numeros = new int[4];
+        int tamanho = 0;
+
+        void adicionar(int numero) {
+            // O mesmo trigrama pode aparecer várias vezes no documento
+            if (tamanho > 0 && numeros[tamanho - 1] == numero) {
+                return;
+            }
+            if (tamanho == numeros.length) {
+                numeros = Arrays.copyOf(numeros, tamanho * 2);
+            }
+            numeros[tamanho++] = numero;
+        }
+
+        boolean contem(int numero) {
+            return Arrays.binarySearch(numeros, 0, tamanho, numero) >= 0;
+        }
+    }
+
+    private final List<Function<T, String>> campos;
+
+    // Dados por número de documento (id null = documento invalidado)
+    private String[] ids = new String[1024];
+    private String[] textos = new String[1024];
+    private long[] ordens = new long[1024];
+    private int total = 0;
+    private int invalidados = 0;
+
+    private final Map<String, Integer> numeroPorId = new HashMap<>();
+    private final Map<String, ListaNumeros> porTrigrama = new HashMap<>();
+    private final NavigableMap<String, ListaNumeros> porPalavra = new TreeMap<>();
+    private long proximaOrdem = 0;
+
+    IndiceTexto(List<Function<T, String>> campos) {
+        this.campos = campos;
+    }
+
+    static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    private void limpar() {
+        ids = new String[1024];
+        textos = new String[1024];
+        ordens = new long[1024];
+        total = 0;
+        invalidados = 0;
+        numeroPorId.clear();
+        porTrigrama.clear();
+        porPalavra.clear();
+    }
+
+    @Override
+    public void reconstruir(Map<String, T> porId) {
+        limpar();
+        proximaOrdem = 0;
+        for (Map.Entry<String, T> item : porId.entrySet()) {
+            adicionar(item.getKey(), textoDe(item.getValue()), proximaOrdem++);
+        }
+    }
+
+    @Override
+    public void atualizar(String id, T entidade) {
+        Integer anterior = numeroPorId.remove(id);
+        if (anterior != null) {
+            ids[anterior] = null;
+            textos[anterior] = null;
+            invalidados++;
+        }
+        if (entidade != null) {
+            // Uma entidade alterada mantém a sua posição na ordem do repositório
+            long ordem = anterior != null ? ordens[anterior] : proximaOrdem++;
+            adicionar(id, textoDe(entidade), ordem);
+        }
+        if (invalidados >= MINIMO_PARA_COMPACTAR && invalidados > total / 2) {
+            compactar();
+        }
+    }
+
+    private String textoDe(T entidade) {
+        StringBuilder texto = new StringBuilder();
+        for (Function<T, String> campo : campos) {
+            String valor = campo.apply(entidade);
+            if (valor != null) {
+                texto.append(normalizar(valor)).append(SEPARADOR_CAMPOS);
+            }
+        }
+        return texto.toString();
+    }
+
+    private void adicionar(String id, String texto, long ordem) {
+        if (total == ids.length) {
+            ids = Arrays.copyOf(ids, total * 2);
+            textos = Arrays.copyOf(textos, total * 2);
+            ordens = Arrays.copyOf(ordens, total * 2);
+        }
+        int numero = total++;
+        ids[numero] = id;
+        textos[numero] = texto;
+        ordens[numero] = ordem;
+        numeroPorId.put(id, numero);
+
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= texto.length(); i++) {
+            String trigrama = texto.substring(i, i + TAMANHO_TRIGRAMA);
+            if (trigrama.indexOf(SEPARADOR_CAMPOS) < 0) {
+                porTrigrama.computeIfAbsent(trigrama, t -> new ListaNumeros()).adicionar(numero);
+            }
+        }
+        for (String palavra : SEPARADOR_PALAVRAS.split(texto)) {
+            if (!palavra.isEmpty()) {
+                porPalavra.computeIfAbsent(palavra, p -> new ListaNumeros()).adicionar(numero);
+            }
+        }
+    }
+
+    // Renumera os documentos válidos, descartando os invalidados
+    private void compactar() {
+        String[] idsAntigos = ids;
+        String[] textosAntigos = textos;
+        long[] ordensAntigas = ordens;
+        int totalAntigo = total;
+        limpar();
+        for (int n = 0; n < totalAntigo; n++) {
+            if (idsAntigos[n] != null) {
+                adicionar(idsAntigos[n], textosAntigos[n], ordensAntigas[n]);
+            }
+        }
+    }
+
+    /**
+     * IDs que contêm o termo (já normalizado), na ordem do repositório
+     */
+    List<String> buscar(String termo) {
+        List<Integer> encontrados = new ArrayList<>();
+        if (termo.length() < TAMANHO_TRIGRAMA) {
+            BitSet vistos = new BitSet(total);
+            for (ListaNumeros lista : porPalavra.subMap(termo, true, termo + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < lista.tamanho; i++) {
+                    int numero = lista.numeros[i];
+                    if (ids[numero] != null && !vistos.get(numero)) {
+                        vistos.set(numero);
+                        encontrados.add(numero);
+                    }
+                }
+            }
+            return ordenar(encontrados);
+        }
+
+        // Interseção a partir da menor lista de trigramas
+        List<ListaNumeros> listas = new ArrayList<>();
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= termo.length(); i++) {
+            ListaNumeros lista = porTrigrama.get(termo.substring(i, i + TAMANHO_TRIGRAMA));
+            if (lista == null) {
+                return new ArrayList<>();
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(l -> l.tamanho));
+
+        ListaNumeros menor = listas.get(0);
+        for (int i = 0; i < menor.tamanho; i++) {
+            int numero = menor.numeros[i];
+            if (ids[numero] == null) {
+                continue;
+            }
+            boolean emTodas = true;
+            for (int j = 1; j < listas.size() && emTodas; j++) {
+                emTodas = listas.get(j).contem(numero);
+            }
+            if (emTodas && textos[numero].contains(termo)) {
+                encontrados.add(numero);
+            }
+        }
+        return ordenar(encontrados);
+    }
+
+    /**
+     * Filtra um resultado anterior pelo novo termo (que contém o anterior)
+     */
+    List<String> refinar(Collection<String> idsAnteriores, String termo) {
+        List<String> resultado = new ArrayList<>();
+        for (String id : idsAnteriores) {
+            Integer numero = numeroPorId.get(id);
+            if (numero != null && textos[numero].contains(termo)) {
+                resultado.add(id);
+            }
+        }
+        return resultado;
+    }
+
+    private List<String> ordenar(List<Integer> numeros) {
+        numeros.sort(Comparator.comparingLong(n -> ordens[n]));
+        List<String> resultado = new ArrayList<>(numeros.size());
+        for (int numero : numeros) {
+            resultado.add(ids[numero]);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,93 @@
+package persistence;
+
+import domain.Aluguel;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Totais mensais de aluguéis, mantidos a cada alteração
+ * A quantidade é contada no mês de início; as multas, no mês da devolução
+ * (dataFimReal), quando são calculadas. Os valores são somados em
+ * BigDecimal, sem arredondamento. A receita por mês vem dos baldes
+ * mensais do IndiceReceita.
+ */
+class IndiceTotaisAlugueis implements Indice<Aluguel> {
+
+    // Parcelas somadas por cada aluguel, para subtraí-las após alterações
+    private static final class Parcelas {
+        final YearMonth mesInicio;
+        final YearMonth mesDevolucao;
+        final BigDecimal multa;
+
+        Parcelas(Aluguel aluguel) {
+            this.mesInicio = aluguel.getDataInicio() != null ? YearMonth.from(aluguel.getDataInicio()) : null;
+            this.mesDevolucao = aluguel.getDataFimReal() != null ? YearMonth.from(aluguel.getDataFimReal()) : null;
+            this.multa = aluguel.getValorMulta();
+        }
+    }
+
+    private final NavigableMap<YearMonth, Integer> quantidadePorMes = new TreeMap<>();
+    private final NavigableMap<YearMonth, BigDecimal> multasPorMes = new TreeMap<>();
+    private final Map<String, Parcelas> parcelasPorId = new HashMap<>();
+
+    @Override
+    public void reconstruir(Map<String, Aluguel> porId) {
+        quantidadePorMes.clear();
+        multasPorMes.clear();
+        parcelasPorId.clear();
+        for (Map.Entry<String, Aluguel> item : porId.entrySet()) {
+            Parcelas parcelas = new Parcelas(item.getValue());
+            parcelasPorId.put(item.getKey(), parcelas);
+            somar(parcelas, false);
+        }
+    }
+
+    @Override
+    public void atualizar(String id, Aluguel aluguel) {
+        Parcelas anteriores = parcelasPorId.remove(id);
+        if (anteriores != null) {
+            somar(anteriores, true);
+        }
+        if (aluguel != null) {
+            Parcelas parcelas = new Parcelas(aluguel);
+            parcelasPorId.put(id, parcelas);
+            somar(parcelas, false);
+        }
+    }
+
+    private void somar(Parcelas parcelas, boolean subtrair) {
+        if (parcelas.mesInicio != null) {
+            quantidadePorMes.merge(parcelas.mesInicio, subtrair ? -1 : 1,
+                (atual, soma) -> atual + soma == 0 ? null : atual + soma);
+        }
+        if (parcelas.mesDevolucao != null) {
+            somarValor(multasPorMes, parcelas.mesDevolucao, parcelas.multa, subtrair);
+        }
+    }
+
+    private static void somarValor(Map<YearMonth, BigDecimal> totais, YearMonth mes, BigDecimal valor,
+                                   boolean subtrair) {
+        if (valor == null || valor.signum() == 0) {
+            return;
+        }
+        BigDecimal total = totais.getOrDefault(mes, BigDecimal.ZERO);
+        total = subtrair ? total.subtract(valor) : total.add(valor);
+        if (total.signum() == 0) {
+            totais.remove(mes);
+        } else {
+            totais.put(mes, total);
+        }
+    }
+
+    NavigableMap<YearMonth, Integer> quantidadePorMes() {
+        return new TreeMap<>(quantidadePorMes);
+    }
+
+    NavigableMap<YearMonth, BigDecimal> multasPorMes() {
+        return new TreeMap<>(multasPorMes);
+    }
+}
@@ -0,0 +1,71 @@
+package persistence;
+
+import domain.Veiculo;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contadores da frota por status e por categoria, mantidos a cada alteração
+ */
+class IndiceTotaisVeiculos implements Indice<Veiculo> {
+
+    // Chaves contadas de cada veículo, para descontá-las após alterações
+    private static final class Chaves {
+        final Veiculo.Status status;
+        final Veiculo.Categoria categoria;
+
+        Chaves(Veiculo veiculo) {
+            this.status = veiculo.getStatus();
+            this.categoria = veiculo.getCategoria();
+        }
+    }
+
+    private final Map<Veiculo.Status, Integer> porStatus = new EnumMap<>(Veiculo.Status.class);
+    private final Map<Veiculo.Categoria, Integer> porCategoria = new EnumMap<>(Veiculo.Categoria.class);
+    private final Map<String, Chaves> chavesPorId = new HashMap<>();
+
+    @Override
+    public void reconstruir(Map<String, Veiculo> porId) {
+        porStatus.clear();
+        porCategoria.clear();
+        chavesPorId.clear();
+        for (Map.Entry<String, Veiculo> item : porId.entrySet()) {
+            contar(item.getKey(), new Chaves(item.getValue()), 1);
+        }
+    }
+
+    @Override
+    public void atualizar(String id, Veiculo veiculo) {
+        Chaves anteriores = chavesPorId.remove(id);
+        if (anteriores != null) {
+            contar(id, anteriores, -1);
+        }
+        if (veiculo != null) {
+            contar(id, new Chaves(veiculo), 1);
+        }
+    }
+
+    private void contar(String id, Chaves chaves, int quantidade) {
+        if (quantidade > 0) {
+            chavesPorId.put(id, chaves);
+        }
+        somar(porStatus, chaves.status, quantidade);
+        somar(porCategoria, chaves.categoria, quantidade);
+    }
+
+    private static <K> void somar(Map<K, Integer> contadores, K chave, int quantidade) {
+        if (chave != null) {
+            // Contador zerado é removido: ausência equivale a zero
+            contadores.merge(chave, quantidade, (atual, soma) -> atual + soma == 0 ? null : atual + soma);
+        }
+    }
+
+    Map<Veiculo.Status, Integer> porStatus() {
+        return new EnumMap<>(porStatus);
+    }
+
+    Map<Veiculo.Categoria, Integer> porCategoria() {
+        return new EnumMap<>(porCategoria);
+    }
+}
@@ -0,0 +1,71 @@
+package persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice hash de um atributo único (CPF, placa, usuário...) de um Repositorio
+ * A chave é normalizada (ex.: só os dígitos do CPF) tanto na indexação
+ * quanto na busca.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+class IndiceUnico<T> implements Indice<T> {
+    private final String nome;
+    private final Function<T, String> atributo;
+    private final UnaryOperator<String> normalizador;
+
+    private final Map<String, T> porChave = new HashMap<>();
+    private final Map<String, String> chavePorId = new HashMap<>();
+
+    IndiceUnico(String nome, Function<T, String> atributo, UnaryOperator<String> normalizador) {
+        this.nome = nome;
+        this.atributo = atributo;
+        this.normalizador = normalizador;
+    }
+
+    private String chaveDe(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String chave = normalizador.apply(valor);
+        return chave.isEmpty() ? null : chave;
+    }
+
+    @Override
+    public void reconstruir(Map<String, T> porId) {
+        porChave.clear();
+        chavePorId.clear();
+        for (Map.Entry<String, T> item : porId.entrySet()) {
+            String chave = chaveDe(atributo.apply(item.getValue()));
+            if (chave == null) {
+                continue;
+            }
+            if (porChave.putIfAbsent(chave, item.getValue()) != null) {
+                System.err.println("Índice " + nome + ": valor duplicado '" + chave +
+                                   "' (mantido o primeiro cadastro)");
+                continue;
+            }
+            chavePorId.put(item.getKey(), chave);
+        }
+    }
+
+    @Override
+    public void atualizar(String id, T entidade) {
+        String anterior = chavePorId.remove(id);
+        if (anterior != null) {
+            porChave.remove(anterior);
+        }
+        String chave = entidade != null ? chaveDe(atributo.apply(entidade)) : null;
+        if (chave != null && porChave.putIfAbsent(chave, entidade) == null) {
+            chavePorId.put(id, chave);
+        }
+    }
+
+    T buscar(String valor) {
+        String chave = chaveDe(valor);
+        return chave != null ? porChave.get(chave) : null;
+    }
+}
@@ -0,0 +1,580 @@
+package persistence;
+
+import domain.Aluguel;
+import domain.Cliente;
+import domain.Funcionario;
+import domain.Veiculo;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositório em memória sobre o GerenciadorArquivos
+ * Mantém uma única cópia carregada e indexada por ID de cada arquivo
+ * e grava as alterações em segundo plano (write-behind).
+ *
+ * As entidades devolvidas são compartilhadas entre as telas: toda
+ * alteração deve ser seguida de salvar() para ser persistida.
+ *
+ * @param <T> Tipo da entidade gerenciada
+ */
+public class Repositorio<T> {
+
+    private static final long ATRASO_ESCRITA_MS = 250;
+    private static final long ATRASO_NOVA_TENTATIVA_MS = 5000;
+    private static final int LIMITE_ENTRADAS_DIARIO = 2000;
+    private static final long INTERVALO_COMPACTACAO_MIN = 10;
+
+    // Índices únicos disponíveis em buscarPor()
+    public static final String INDICE_CPF = "cpf";
+    public static final String INDICE_PLACA = "placa";
+    public static final String INDICE_USUARIO = "usuario";
+
+    private static final Map<String, Repositorio<?>> instancias = new HashMap<>();
+    private static ConsultaAlugueis consultaAlugueis;
+    private static IndiceTotaisVeiculos totaisVeiculos;
+    private static IndiceTotaisAlugueis totaisAlugueis;
+    private static IndiceReceita indiceReceita;
+    // Alterações em qualquer repositório (lida sem bloqueio pela interface)
+    private static final AtomicLong versaoGlobal = new AtomicLong();
+
+    private static final ScheduledExecutorService escritor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "autofacil-persistencia");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Garante que nada pendente se perca ao encerrar a aplicação
+        Runtime.getRuntime().addShutdownHook(new Thread(Repositorio::descarregarTodos));
+
+        // Referências de Aluguel resolvidas pelos índices por ID
+        Aluguel.setResolvedorReferencias(new Aluguel.ResolvedorReferencias() {
+            @Override
+            public Cliente buscarCliente(String id) {
+                return clientes().buscarPorId(id);
+            }
+
+            @Override
+            public Veiculo buscarVeiculo(String id) {
+                return veiculos().buscarPorId(id);
+            }
+
+            @Override
+            public Funcionario buscarFuncionario(String id) {
+                return funcionarios().buscarPorId(id);
+            }
+        });
+    }
+
+    private final GerenciadorArquivos<T> gerenciador;
+    private final Function<T, String> extratorId;
+    private final Diario<T> diario;
+    private final Map<String, IndiceUnico<T>> indices = new HashMap<>();
+    private final List<Indice<T>> todosIndices = new ArrayList<>();
+    private IndiceTexto<T> indiceTexto;
+
+    private List<T> itens;
+    private Map<String, T> porId;
+    private boolean escritaAgendada = false;
+    // Incrementada a cada alteração do conteúdo em memória
+    private long versao = 0;
+
+    // Alterações pendentes: substituição completa ou IDs alterados individualmente
+    private boolean substituicaoPendente = false;
+    private final Set<String> idsAlterados = new LinkedHashSet<>();
+
+    private Repositorio(String nomeArquivo, Class<T> classeEntidade, Function<T, String> extratorId,
+                        FormatoArmazenamento formato, boolean usarDiario) {
+        this.gerenciador = new GerenciadorArquivos<>(nomeArquivo, classeEntidade, formato);
+        this.extratorId = extratorId;
+        this.diario = usarDiario
+            ? new Diario<>(gerenciador.getArquivo(), classeEntidade, gerenciador.getGson())
+            : null;
+
+        if (diario != null) {
+            escritor.scheduleWithFixedDelay(this::compactarSeNecessario,
+                INTERVALO_COMPACTACAO_MIN, INTERVALO_COMPACTACAO_MIN, TimeUnit.MINUTES);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized <T> Repositorio<T> obter(String nomeArquivo, Class<T> classeEntidade,
+                                                         Function<T, String> extratorId,
+                                                         FormatoArmazenamento formato, boolean usarDiario,
+                                                         Consumer<Repositorio<T>> configurar) {
+        return (Repositorio<T>) instancias.computeIfAbsent(nomeArquivo, n -> {
+            Repositorio<T> repositorio = new Repositorio<>(n, classeEntidade, extratorId, formato, usarDiario);
+            configurar.accept(repositorio);
+            return repositorio;
+        });
+    }
+
+    public static Repositorio<Cliente> clientes() {
+        return obter("clientes.json", Cliente.class, Cliente::getId, FormatoArmazenamento.JSON_COMPACTO, false,
+            r -> {
+                r.indexar(INDICE_CPF, Cliente::getCpf, Repositorio::somenteDigitos);
+                r.indexarTexto(Arrays.asList(Cliente::getNome, Cliente::getCpf, Cliente::getEmail));
+            });
+    }
+
+    public static Repositorio<Veiculo> veiculos() {
+        return obter("veiculos.json", Veiculo.class, Veiculo::getId, FormatoArmazenamento.JSON_COMPACTO, false,
+            r -> {
+                r.indexar(INDICE_PLACA, Veiculo::getPlaca, placa -> placa.trim().toUpperCase());
+                r.indexarTexto(Arrays.asList(Veiculo::getMarca, Veiculo::getModelo, Veiculo::getPlaca, Veiculo::getCor));
+                totaisVeiculos = new IndiceTotaisVeiculos();
+                r.todosIndices.add(totaisVeiculos);
+            });
+    }
+
+    public static Repositorio<Funcionario> funcionarios() {
+        return obter("funcionarios.json", Funcionario.class, Funcionario::getId,
+            FormatoArmazenamento.JSON_COMPACTO, false,
+            r -> {
+                r.indexar(INDICE_CPF, Funcionario::getCpf, Repositorio::somenteDigitos);
+                r.indexar(INDICE_USUARIO, Funcionario::getUsuario, usuario -> usuario.trim().toLowerCase());
+                r.indexarTexto(Arrays.asList(Funcionario::getNome, Funcionario::getCpf, Funcionario::getEmail));
+            });
+    }
+
+    /**
+     * Aluguéis crescem sem limite: snapshot binário (metade do tamanho e
+     * o dobro da velocidade de carga do JSON, veja BenchmarkFormatos) e
+     * alterações individuais em um diário
+     */
+    public static Repositorio<Aluguel> alugueis() {
+        return obter("alugueis.json", Aluguel.class, Aluguel::getId, FormatoArmazenamento.BINARIO, true, r -> {
+            IndiceAlugueis indice = new IndiceAlugueis();
+            r.todosIndices.add(indice);
+            consultaAlugueis = new ConsultaAlugueis(r, indice);
+            totaisAlugueis = new IndiceTotaisAlugueis();
+            r.todosIndices.add(totaisAlugueis);
+            indiceReceita = new IndiceReceita();
+            r.todosIndices.add(indiceReceita);
+            r.indexarTexto(Arrays.asList(Aluguel::getId,
+                a -> a.getStatus() != null ? a.getStatus().getDescricao() : null));
+        });
+    }
+
+    /**
+     * Consultas de aluguéis por cliente, veículo, status e período
+     */
+    public static synchronized ConsultaAlugueis consultaAlugueis() {
+        alugueis();
+        return consultaAlugueis;
+    }
+
+    /**
+     * Contadores da frota por status e categoria (veja Agregados)
+     */
+    static synchronized IndiceTotaisVeiculos totaisVeiculos() {
+        veiculos();
+        return totaisVeiculos;
+    }
+
+    /**
+     * Totais mensais de aluguéis, receita e multas (veja Agregados)
+     */
+    static synchronized IndiceTotaisAlugueis totaisAlugueis() {
+        alugueis();
+        return totaisAlugueis;
+    }
+
+    /**
+     * Receita em baldes diários e mensais (veja AnaliseReceita)
+     */
+    static synchronized IndiceReceita indiceReceita() {
+        alugueis();
+        return indiceReceita;
+    }
+
+    private static String somenteDigitos(String texto) {
+        return texto.replaceAll("[^0-9]", "");
+    }
+
+    /**
+     * Cria o índice de texto (busca incremental) sobre os campos pesquisáveis
+     */
+    private void indexarTexto(List<Function<T, String>> campos) {
+        indiceTexto = new IndiceTexto<>(campos);
+        todosIndices.add(indiceTexto);
+    }
+
+    /**
+     * Cria um índice único sobre um atributo, mantido a cada alteração
+     */
+    private void indexar(String nome, Function<T, String> atributo, UnaryOperator<String> normalizador) {
+        IndiceUnico<T> indice = new IndiceUnico<>(nome, atributo, normalizador);
+        indices.put(nome, indice);
+        todosIndices.add(indice);
+    }
+
+    /**
+     * Grava imediatamente todas as alterações pendentes de todos os repositórios
+     */
+    public static void descarregarTodos() {
+        List<Repositorio<?>> repositorios;
+        synchronized (Repositorio.class) {
+            repositorios = new ArrayList<>(instancias.values());
+        }
+        for (Repositorio<?> repositorio : repositorios) {
+            repositorio.descarregar();
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException se o arquivo ou o diário não pôde ser lido; o
+     *         repositório continua não carregado (e sem gravar por cima do
+     *         arquivo) e a leitura é tentada de novo no próximo acesso
+     */
+    void garantirCarregado() {
+        if (itens == null) {
+            itens = gerenciador.carregar();
+            versao++;
+        versaoGlobal.incrementAndGet();
+            reindexar();
+            if (diario != null && reaplicarDiario() > 0) {
+                reconstruirLista();
+                reconstruirIndices();
+            }
+            if (diario != null && diario.isDanificado()) {
+                // Incorpora o que foi recuperado num snapshot e descarta o diário danificado
+                substituicaoPendente = true;
+                agendarEscrita();
+            }
+            if (gerenciador.precisaMigrar()) {
+                // Regrava no formato configurado; o arquivo antigo é removido depois
+                substituicaoPendente = true;
+                agendarEscrita();
+            }
+        }
+    }
+
+    private int reaplicarDiario() {
+        try {
+            return diario.reaplicar(porId, gerenciador.identidadeArquivo());
+        } catch (UncheckedIOException e) {
+            // Sem o diário os dados estão incompletos: continua não carregado
+            itens = null;
+            porId = null;
+            throw e;
+        }
+    }
+
+    private void reconstruirLista() {
+        List<T> semId = new ArrayList<>();
+        for (T item : itens) {
+            if (extratorId.apply(item) == null) {
+                semId.add(item);
+            }
+        }
+        itens = new ArrayList<>(porId.values());
+        itens.addAll(semId);
+    }
+
+    private void reindexar() {
+        porId = new LinkedHashMap<>();
+        for (T item : itens) {
+            String id = extratorId.apply(item);
+            if (id != null) {
+                porId.put(id, item);
+            }
+        }
+        reconstruirIndices();
+    }
+
+    private void reconstruirIndices() {
+        for (Indice<T> indice : todosIndices) {
+            indice.reconstruir(porId);
+        }
+    }
+
+    /**
+     * Retorna uma cópia da lista de entidades (a lista pode ser alterada livremente)
+     */
+    public synchronized List<T> carregar() {
+        garantirCarregado();
+        return new ArrayList<>(itens);
+    }
+
+    /**
+     * Percorre todas as entidades sem copiá-las para uma nova lista.
+     * Se o repositório ainda não foi carregado, lê direto do arquivo em
+     * streaming e não mantém nada em memória.
+     */
+    public void paraCada(Consumer<? super T> consumidor) {
+        List<T> instantaneo = null;
+        synchronized (this) {
+            // Com diário pendente o arquivo sozinho não está atualizado
+            if (itens != null || (diario != null && diario.existe())) {
+                garantirCarregado();
+                instantaneo = new ArrayList<>(itens);
+            }
+        }
+        if (instantaneo == null) {
+            gerenciador.paraCada(consumidor);
+        } else {
+            instantaneo.forEach(consumidor);
+        }
+    }
+
+    public synchronized T buscarPorId(String id) {
+        if (id == null) {
+            return null;
+        }
+        garantirCarregado();
+        return porId.get(id);
+    }
+
+    /**
+     * Nova busca incremental sobre o índice de texto (uma por campo de busca)
+     */
+    public BuscaTexto<T> novaBusca() {
+        if (indiceTexto == null) {
+            throw new IllegalStateException("Repositório sem índice de texto: " + gerenciador.getArquivo().getName());
+        }
+        return new BuscaTexto<>(this, indiceTexto);
+    }
+
+    /**
+     * Reconstrói todos os índices e totais a partir das entidades em memória
+     * (recuperação caso algum contador tenha divergido dos dados)
+     */
+    public synchronized void recalcularIndices() {
+        garantirCarregado();
+        versao++;
+        versaoGlobal.incrementAndGet();
+        reindexar();
+    }
+
+    synchronized long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Muda a cada alteração de qualquer repositório; leitura sem bloqueio,
+     * para caches da interface que combinam dados de várias entidades
+     */
+    public static long getVersaoGlobal() {
+        return versaoGlobal.get();
+    }
+
+    /**
+     * Versão dos dados, para caches de resultados calculados sobre eles
+     * Com o repositório carregado é a versão em memória, que muda a cada
+     * alteração. Sem carga os dados são lidos do arquivo, então o valor
+     * (negativo) vem da data de modificação e do tamanho dele.
+     */
+    public synchronized long getVersaoDados() {
+        return itens != null ? versao : -1 - gerenciador.assinaturaArquivo();
+    }
+
+    /**
+     * Busca pelo valor de um atributo único (ex.: INDICE_CPF), em tempo constante.
+     * O valor é normalizado como no índice (CPF com ou sem máscara, placa
+     * ou usuário sem diferenciar maiúsculas).
+     */
+    public synchronized T buscarPor(String nomeIndice, String valor) {
+        IndiceUnico<T> indice = indices.get(nomeIndice);
+        if (indice == null) {
+            throw new IllegalArgumentException("Índice inexistente: " + nomeIndice);
+        }
+        garantirCarregado();
+        return indice.buscar(valor);
+    }
+
+    public synchronized int tamanho() {
+        garantirCarregado();
+        return itens.size();
+    }
+
+    /**
+     * Quantidade de entidades sem forçar a carga (-1 se ainda não carregado)
+     */
+    public synchronized int tamanhoConhecido() {
+        return itens != null ? itens.size() : -1;
+    }
+
+    /**
+     * Substitui todo o conteúdo do repositório e agenda a gravação
+     */
+    public synchronized boolean salvar(List<T> lista) {
+        itens = new ArrayList<>(lista);
+        versao++;
+        versaoGlobal.incrementAndGet();
+        reindexar();
+        substituicaoPendente = true;
+        idsAlterados.clear();
+        agendarEscrita();
+        return true;
+    }
+
+    /**
+     * Insere ou atualiza uma única entidade (pelo ID) e agenda a gravação
+     */
+    public synchronized void atualizar(T entidade) {
+        garantirCarregado();
+        versao++;
+        versaoGlobal.incrementAndGet();
+        String id = extratorId.apply(entidade);
+        T anterior = id != null ? porId.get(id) : null;
+        if (anterior == null) {
+            itens.add(entidade);
+        } else if (anterior != entidade) {
+            itens.set(indiceDe(anterior), entidade);
+        }
+        if (id != null) {
+            porId.put(id, entidade);
+            idsAlterados.add(id);
+            for (Indice<T> indice : todosIndices) {
+                indice.atualizar(id, entidade);
+            }
+        } else {
+            substituicaoPendente = true;
+        }
+        agendarEscrita();
+    }
+
+    /**
+     * Remove a entidade com o ID informado e agenda a gravação
+     */
+    public synchronized boolean remover(String id) {
+        garantirCarregado();
+        T removido = porId.remove(id);
+        if (removido == null) {
+            return false;
+        }
+        itens.remove(indiceDe(removido));
+        versao++;
+        versaoGlobal.incrementAndGet();
+        idsAlterados.add(id);
+        for (Indice<T> indice : todosIndices) {
+            indice.atualizar(id, null);
+        }
+        agendarEscrita();
+        return true;
+    }
+
+    // Busca por identidade: equals() das entidades nem sempre usa o ID
+    private int indiceDe(T entidade) {
+        for (int i = 0; i < itens.size(); i++) {
+            if (itens.get(i) == entidade) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void agendarEscrita() {
+        agendarEscrita(ATRASO_ESCRITA_MS);
+    }
+
+    private void agendarEscrita(long atrasoMs) {
+        if (!escritaAgendada) {
+            escritaAgendada = true;
+            escritor.schedule(this::descarregar, atrasoMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Grava no disco as alterações pendentes deste repositório
+     */
+    public void descarregar() {
+        // O instantâneo é tirado dentro do lock do arquivo para que
+        // gravações concorrentes nunca terminem fora de ordem
+        synchronized (gerenciador) {
+            List<T> instantaneo = null;
+            Map<String, T> alteracoes = new LinkedHashMap<>();
+            synchronized (this) {
+                if (!escritaAgendada) {
+                    return;
+                }
+                escritaAgendada = false;
+                if (diario == null || substituicaoPendente) {
+                    instantaneo = new ArrayList<>(itens);
+                } else {
+                    for (String id : idsAlterados) {
+                        alteracoes.put(id, porId.get(id));
+                    }
+                }
+                substituicaoPendente = false;
+                idsAlterados.clear();
+            }
+
+            boolean gravou;
+            if (instantaneo != null) {
+                gravou = gravarSnapshot(instantaneo);
+            } else {
+                gravou = diario.anexar(alteracoes);
+                if (gravou && diario.getEntradas() >= LIMITE_ENTRADAS_DIARIO) {
+                    compactar();
+                }
+            }
+
+            if (!gravou) {
+                // O arquivo no disco continua íntegro (gravação atômica);
+                // as alterações voltam para a fila e são tentadas de novo
+                synchronized (this) {
+                    if (instantaneo != null) {
+                        substituicaoPendente = true;
+                    } else {
+                        idsAlterados.addAll(alteracoes.keySet());
+                    }
+                    agendarEscrita(ATRASO_NOVA_TENTATIVA_MS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Incorpora o diário ao snapshot e o descarta
+     */
+    public void compactar() {
+        synchronized (gerenciador) {
+            List<T> instantaneo;
+            synchronized (this) {
+                if (itens == null) {
+                    return;
+                }
+                instantaneo = new ArrayList<>(itens);
+            }
+            gravarSnapshot(instantaneo);
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (diario.getEntradas() > 0) {
+            descarregar();
+            compactar();
+        }
+    }
+
+    private boolean gravarSnapshot(List<T> instantaneo) {
+        // O diário só é descartado se o snapshot foi gravado por completo.
+        // Se ele ficar no disco (queda antes da remoção, ou remoção que
+        // falhou), o cabeçalho com a identidade do snapshot anterior faz a
+        // próxima carga ignorá-lo: reaplicá-lo sobre este snapshot traria
+        // de volta entidades removidas ou versões antigas
+        if (!gerenciador.salvar(instantaneo)) {
+            return false;
+        }
+        if (diario != null) {
+            diario.limpar(gerenciador.identidadeArquivo());
+        }
+        return true;
+    }
+}
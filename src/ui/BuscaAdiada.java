@@ -0,0 +1,64 @@
+package ui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.ActionListener;
+
+/**
+ * Dispara a busca de um campo de texto só depois de uma pausa na digitação
+ * Cada alteração do texto (digitação, colar, apagar) reinicia a espera,
+ * então uma palavra digitada rapidamente gera uma única busca. Enter
+ * busca na hora.
+ */
+public class BuscaAdiada implements DocumentListener {
+
+    public static final int ESPERA_MS = 250;
+
+    private final JTextField campo;
+    private final Timer temporizador;
+    private final ActionListener buscarAoConfirmar;
+
+    private BuscaAdiada(JTextField campo, Runnable buscar) {
+        this.campo = campo;
+        temporizador = new Timer(ESPERA_MS, e -> buscar.run());
+        temporizador.setRepeats(false);
+        buscarAoConfirmar = e -> {
+            temporizador.stop();
+            buscar.run();
+        };
+        campo.getDocument().addDocumentListener(this);
+        campo.addActionListener(buscarAoConfirmar);
+    }
+
+    /**
+     * Liga a busca (executada na EDT) às alterações do campo
+     */
+    public static BuscaAdiada instalar(JTextField campo, Runnable buscar) {
+        return new BuscaAdiada(campo, buscar);
+    }
+
+    /**
+     * Descarta uma busca pendente e desliga o campo
+     */
+    public void desinstalar() {
+        temporizador.stop();
+        campo.getDocument().removeDocumentListener(this);
+        campo.removeActionListener(buscarAoConfirmar);
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        temporizador.restart();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        temporizador.restart();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Alteração de atributos, não de texto
+    }
+}
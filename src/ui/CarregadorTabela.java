@@ -0,0 +1,135 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.Cursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Carrega as entidades de uma tabela fora da Event Dispatch Thread
+ * A leitura dos repositórios e a filtragem rodam em segundo plano; as
+ * entidades chegam à tabela em lotes (um evento por lote) e um rótulo
+ * mostra o estado do carregamento.
+ * Numa busca as linhas atuais continuam visíveis e o resultado completo
+ * substitui o conteúdo do modelo de uma só vez; um novo carregamento ou
+ * busca cancela o anterior, cujo resultado é descartado.
+ *
+ * @param <T> Tipo da entidade exibida na tabela
+ */
+public class CarregadorTabela<T> extends SwingWorker<Integer, T> {
+
+    /**
+     * Produz as entidades da tabela (executado fora da EDT)
+     */
+    public interface FonteEntidades<T> {
+        void produzir(Consumer<T> destino);
+    }
+
+    private final JTable tabela;
+    private final ModeloTabelaEntidades<T> modelo;
+    private final JLabel rotuloStatus;
+    private final FonteEntidades<T> fonte;
+    // Busca: resultado acumulado e trocado no modelo ao final (null = carga em lotes)
+    private final List<T> resultado;
+
+    private CarregadorTabela(JTable tabela, ModeloTabelaEntidades<T> modelo, JLabel rotuloStatus,
+                             FonteEntidades<T> fonte, boolean substituir) {
+        this.tabela = tabela;
+        this.modelo = modelo;
+        this.rotuloStatus = rotuloStatus;
+        this.fonte = fonte;
+        this.resultado = substituir ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Cancela o carregamento anterior (se houver) e inicia um novo
+     * @return o carregador iniciado, a ser passado na próxima chamada
+     */
+    public static <T> CarregadorTabela<T> iniciar(CarregadorTabela<T> anterior, JTable tabela,
+                                                  ModeloTabelaEntidades<T> modelo, JLabel rotuloStatus,
+                                                  FonteEntidades<T> fonte) {
+        if (anterior != null) {
+            anterior.cancel(true);
+        }
+        modelo.limpar();
+        rotuloStatus.setText("Carregando...");
+        tabela.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        CarregadorTabela<T> carregador = new CarregadorTabela<>(tabela, modelo, rotuloStatus, fonte, false);
+        carregador.execute();
+        return carregador;
+    }
+
+    /**
+     * Cancela o carregamento anterior (se houver) e inicia uma busca, que
+     * mantém as linhas atuais até o resultado ficar pronto
+     * @return o carregador iniciado, a ser passado na próxima chamada
+     */
+    public static <T> CarregadorTabela<T> buscar(CarregadorTabela<T> anterior, JTable tabela,
+                                                 ModeloTabelaEntidades<T> modelo, JLabel rotuloStatus,
+                                                 FonteEntidades<T> fonte) {
+        if (anterior != null) {
+            anterior.cancel(true);
+        }
+        rotuloStatus.setText("Buscando...");
+
+        CarregadorTabela<T> carregador = new CarregadorTabela<>(tabela, modelo, rotuloStatus, fonte, true);
+        carregador.execute();
+        return carregador;
+    }
+
+    /**
+     * Cancela o carregamento, se houver (ao descartar a tela)
+     */
+    public static void cancelar(CarregadorTabela<?> carregador) {
+        if (carregador != null) {
+            carregador.cancel(true);
+        }
+    }
+
+    @Override
+    protected Integer doInBackground() {
+        int[] total = {0};
+        fonte.produzir(entidade -> {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            if (resultado != null) {
+                resultado.add(entidade);
+            } else {
+                publish(entidade);
+            }
+            total[0]++;
+        });
+        return total[0];
+    }
+
+    @Override
+    protected void process(List<T> lote) {
+        // Entidades de um carregamento cancelado não entram na tabela
+        if (!isCancelled()) {
+            modelo.adicionar(lote);
+        }
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+        tabela.setCursor(Cursor.getDefaultCursor());
+        try {
+            int total = get();
+            if (resultado != null) {
+                modelo.substituir(resultado);
+            }
+            rotuloStatus.setText(total + (total == 1 ? " registro" : " registros"));
+        } catch (InterruptedException | ExecutionException e) {
+            rotuloStatus.setText("Erro ao carregar");
+            System.err.println("Erro ao carregar tabela: " + e.getMessage());
+        }
+    }
+}
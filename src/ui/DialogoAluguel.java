@@ -4,7 +4,7 @@ import domain.Aluguel;
 import domain.Cliente;
 import domain.Funcionario;
 import domain.Veiculo;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import util.GeradorID;
 import util.Tema;
 import auth.GerenciadorAutenticacao;
@@ -35,17 +35,17 @@ public class DialogoAluguel extends JDialog {
     
     private Aluguel aluguel;
     private boolean confirmado = false;
-    private GerenciadorArquivos<Aluguel> gerenciadorAlugueis;
-    private GerenciadorArquivos<Cliente> gerenciadorClientes;
-    private GerenciadorArquivos<Veiculo> gerenciadorVeiculos;
+    private Repositorio<Aluguel> gerenciadorAlugueis;
+    private Repositorio<Cliente> gerenciadorClientes;
+    private Repositorio<Veiculo> gerenciadorVeiculos;
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public DialogoAluguel(JFrame parent, Aluguel aluguel) {
         super(parent, aluguel == null ? "Novo Aluguel" : "Editar Aluguel", true);
         this.aluguel = aluguel;
-        this.gerenciadorAlugueis = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-        this.gerenciadorClientes = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-        this.gerenciadorVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        this.gerenciadorAlugueis = Repositorio.alugueis();
+        this.gerenciadorClientes = Repositorio.clientes();
+        this.gerenciadorVeiculos = Repositorio.veiculos();
         
         inicializarComponentes();
         configurarLayouts();
@@ -273,13 +273,7 @@ public class DialogoAluguel extends JDialog {
         try {
             if (aluguel != null) {
                 // Buscar e selecionar cliente
-                List<Cliente> clientes = gerenciadorClientes.carregar();
-                
-                // Usar filter e findFirst com segurança
-                Cliente cliente = clientes.stream()
-                    .filter(c -> c.getId() != null && c.getId().equals(aluguel.getClienteId()))
-                    .findFirst()
-                    .orElse(null);
+                Cliente cliente = gerenciadorClientes.buscarPorId(aluguel.getClienteId());
                     
                 if (cliente != null) {
                     // Verificar se o cliente existe no combobox antes de selecioná-lo
@@ -293,13 +287,7 @@ public class DialogoAluguel extends JDialog {
                 }
                 
                 // Buscar e selecionar veículo
-                List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-                
-                // Usar filter e findFirst com segurança
-                Veiculo veiculo = veiculos.stream()
-                    .filter(v -> v.getId() != null && v.getId().equals(aluguel.getVeiculoId()))
-                    .findFirst()
-                    .orElse(null);
+                Veiculo veiculo = gerenciadorVeiculos.buscarPorId(aluguel.getVeiculoId());
                     
                 if (veiculo != null) {
                     // Verificar se o veículo existe no combobox antes de selecioná-lo
@@ -365,11 +353,16 @@ public class DialogoAluguel extends JDialog {
             int quilometragemInicial = Integer.parseInt(campoQuilometragemInicial.getText().trim());
             String observacoes = campoObservacoes.getText().trim();
 
-            List<Aluguel> alugueis = gerenciadorAlugueis.carregar();
-            List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-
             if (aluguel == null) {
-                // Novo aluguel
+                // Novo aluguel: o veículo não pode ter outro aluguel ativo no período
+                if (!Repositorio.consultaAlugueis().veiculoLivre(veiculo.getId(), dataInicio, dataFim, null)) {
+                    JOptionPane.showMessageDialog(this,
+                        "Este veículo já possui um aluguel ativo no período informado.",
+                        "Veículo indisponível",
+                        JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                
                 String id = GeradorID.gerarIDAluguel();
                 
                 // Obter funcionário para o aluguel
@@ -379,7 +372,7 @@ public class DialogoAluguel extends JDialog {
                 if (auth.isCliente()) {
                     // Se for cliente logado, atribuir a um funcionário padrão
                     // Buscamos o primeiro funcionário ADMIN como responsável
-                    List<Funcionario> funcionarios = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class).carregar();
+                    List<Funcionario> funcionarios = Repositorio.funcionarios().carregar();
                     funcionarioId = funcionarios.stream()
                         .filter(f -> f.getTipo() == Funcionario.TipoFuncionario.ADMIN && f.isAtivo())
                         .map(Funcionario::getId)
@@ -424,19 +417,14 @@ public class DialogoAluguel extends JDialog {
                 long dias = ChronoUnit.DAYS.between(dataInicio, dataFim) + 1;
                 aluguel.setValorTotal(veiculo.getValorDiaria().multiply(BigDecimal.valueOf(dias)));
                 
-                alugueis.add(aluguel);
+                gerenciadorAlugueis.atualizar(aluguel);
                 
                 // Marcar veículo como alugado
-                boolean veiculoAtualizado = false;
-                for (Veiculo v : veiculos) {
-                    if (v.getId() != null && v.getId().equals(veiculo.getId())) {
-                        v.setStatus(Veiculo.Status.ALUGADO);
-                        veiculoAtualizado = true;
-                        break;
-                    }
-                }
-                
-                if (!veiculoAtualizado) {
+                Veiculo veiculoCadastrado = gerenciadorVeiculos.buscarPorId(veiculo.getId());
+                if (veiculoCadastrado != null) {
+                    veiculoCadastrado.setStatus(Veiculo.Status.ALUGADO);
+                    gerenciadorVeiculos.atualizar(veiculoCadastrado);
+                } else {
                     JOptionPane.showMessageDialog(this,
                         "Aviso: Não foi possível atualizar o status do veículo.",
                         "Aviso",
@@ -462,44 +450,26 @@ public class DialogoAluguel extends JDialog {
                 long dias = ChronoUnit.DAYS.between(dataInicio, dataFim) + 1;
                 aluguel.setValorTotal(veiculo.getValorDiaria().multiply(BigDecimal.valueOf(dias)));
                 
-                // Verificar se o aluguel existe na lista antes de salvar
-                boolean aluguelEncontrado = false;
-                for (int i = 0; i < alugueis.size(); i++) {
-                    if (alugueis.get(i).getId().equals(aluguel.getId())) {
-                        alugueis.set(i, aluguel);
-                        aluguelEncontrado = true;
-                        break;
-                    }
-                }
-                
-                if (!aluguelEncontrado) {
+                // Verificar se o aluguel existe antes de salvar
+                if (gerenciadorAlugueis.buscarPorId(aluguel.getId()) == null) {
                     JOptionPane.showMessageDialog(this,
                         "Aviso: O aluguel que está sendo editado não foi encontrado na base de dados.",
                         "Aviso",
                         JOptionPane.WARNING_MESSAGE);
-                    alugueis.add(aluguel);
                 }
+                
+                // Salvar alterações (apenas o aluguel editado)
+                gerenciadorAlugueis.atualizar(aluguel);
             }
 
-            // Salvar alterações
-            boolean salvouAlugueis = gerenciadorAlugueis.salvar(alugueis);
-            boolean salvouVeiculos = gerenciadorVeiculos.salvar(veiculos);
+            confirmado = true;
             
-            if (salvouAlugueis && salvouVeiculos) {
-                confirmado = true;
+            JOptionPane.showMessageDialog(this,
+                "Aluguel salvo com sucesso!",
+                "Sucesso",
+                JOptionPane.INFORMATION_MESSAGE);
                 
-                JOptionPane.showMessageDialog(this,
-                    "Aluguel salvo com sucesso!",
-                    "Sucesso",
-                    JOptionPane.INFORMATION_MESSAGE);
-                    
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                    "Aviso: Pode ter ocorrido um erro ao salvar os dados.",
-                    "Aviso",
-                    JOptionPane.WARNING_MESSAGE);
-            }
+            dispose();
 
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
@@ -647,14 +617,8 @@ public class DialogoAluguel extends JDialog {
         }
         
         try {
-            // Carrega a lista de clientes
-            List<Cliente> clientes = gerenciadorClientes.carregar();
-            
             // Encontra o cliente pelo ID
-            Cliente clienteLogado = clientes.stream()
-                .filter(c -> c.getId().equals(clienteId))
-                .findFirst()
-                .orElse(null);
+            Cliente clienteLogado = gerenciadorClientes.buscarPorId(clienteId);
                 
             if (clienteLogado == null) {
                 JOptionPane.showMessageDialog(this,
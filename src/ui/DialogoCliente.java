@@ -1,7 +1,7 @@
 package ui;
 
 import domain.Cliente;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import util.*;
 import util.CorrecaoTema;
 
@@ -10,7 +10,6 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Diálogo para cadastro/edição de clientes
@@ -238,13 +237,9 @@ public class DialogoCliente extends JDialog {
         setLocationRelativeTo(getParent());
         
         // Carregar ícone
-        try {
-            ImageIcon icone = new ImageIcon("icons/cliente.png");
-            if (icone.getIconWidth() > 0) {
-                setIconImage(icone.getImage());
-            }
-        } catch (Exception e) {
-            // Ignorar se não conseguir carregar o ícone
+        Image icone = Icones.imagem("cliente.png");
+        if (icone != null) {
+            setIconImage(icone);
         }
         
         // Focar no primeiro campo
@@ -326,12 +321,9 @@ public class DialogoCliente extends JDialog {
         } else {
             // Verificar se CPF já existe (exceto para o próprio cliente)
             try {
-                GerenciadorArquivos<Cliente> gerenciador = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-                List<Cliente> clientes = gerenciador.carregar();
-                
-                boolean cpfExiste = clientes.stream()
-                    .anyMatch(c -> c.getCpf().replaceAll("[^0-9]", "").equals(cpf.replaceAll("[^0-9]", "")) && 
-                             (cliente == null || !c.getId().equals(cliente.getId())));
+                Cliente existente = Repositorio.clientes().buscarPor(Repositorio.INDICE_CPF, cpf);
+                boolean cpfExiste = existente != null &&
+                    (cliente == null || !existente.getId().equals(cliente.getId()));
                 
                 if (cpfExiste) {
                     erros.append("- CPF já cadastrado\n");
@@ -1,7 +1,7 @@
 package ui;
 
 import domain.Funcionario;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import util.GeradorID;
 import util.Mascaras;
 import util.Tema;
@@ -11,7 +11,6 @@ import javax.swing.*;
 import javax.swing.text.MaskFormatter;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Diálogo para cadastro e edição de funcionários
@@ -32,12 +31,12 @@ public class DialogoFuncionario extends JDialog {
     
     private Funcionario funcionario;
     private boolean confirmado = false;
-    private GerenciadorArquivos<Funcionario> gerenciador;
+    private Repositorio<Funcionario> gerenciador;
 
     public DialogoFuncionario(JFrame parent, Funcionario funcionario) {
         super(parent, funcionario == null ? "Novo Funcionário" : "Editar Funcionário", true);
         this.funcionario = funcionario;
-        this.gerenciador = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
+        this.gerenciador = Repositorio.funcionarios();
         
         inicializarComponentes();
         configurarLayouts();
@@ -278,13 +277,7 @@ public class DialogoFuncionario extends JDialog {
         }
         
         // Verifica se o CPF já existe (exceto para o próprio funcionário)
-        List<Funcionario> funcionarios = gerenciador.carregar();
-        boolean cpfExiste = funcionarios.stream()
-            .anyMatch(f -> {
-                String cpfFunc = Mascaras.removerMascara(f.getCpf());
-                return cpfFunc.equals(cpf) && 
-                       (funcionario == null || !f.getId().equals(funcionario.getId()));
-            });
+        boolean cpfExiste = outroFuncionarioCom(Repositorio.INDICE_CPF, cpf);
         
         if (cpfExiste) {
             campoCpf.setBackground(new Color(255, 230, 230));
@@ -328,11 +321,7 @@ public class DialogoFuncionario extends JDialog {
         }
         
         // Verificar se o usuário já existe (exceto para o próprio funcionário)
-        List<Funcionario> funcionarios = gerenciador.carregar();
-        boolean usuarioExiste = funcionarios.stream()
-            .anyMatch(f -> f.getUsuario() != null && 
-                     f.getUsuario().equalsIgnoreCase(usuario) && 
-                     (funcionario == null || !f.getId().equals(funcionario.getId())));
+        boolean usuarioExiste = outroFuncionarioCom(Repositorio.INDICE_USUARIO, usuario);
         
         if (usuarioExiste) {
             campoUsuario.setBackground(new Color(255, 230, 230));
@@ -342,6 +331,14 @@ public class DialogoFuncionario extends JDialog {
         campoUsuario.setBackground(Color.WHITE);
     }
     
+    /**
+     * Verifica pelo índice único se outro funcionário já usa o valor informado
+     */
+    private boolean outroFuncionarioCom(String indice, String valor) {
+        Funcionario existente = gerenciador.buscarPor(indice, valor);
+        return existente != null && (funcionario == null || !existente.getId().equals(funcionario.getId()));
+    }
+    
     private void validarCampoSenha() {
         String senha = new String(campoSenha.getPassword());
         
@@ -425,8 +422,6 @@ public class DialogoFuncionario extends JDialog {
             Funcionario.TipoFuncionario tipo = (Funcionario.TipoFuncionario) comboTipo.getSelectedItem();
             boolean ativo = checkAtivo.isSelected();
 
-            List<Funcionario> funcionarios = gerenciador.carregar();
-
             if (funcionario == null) {
                 // Novo funcionário
                 String id = GeradorID.gerarIDFuncionario();
@@ -436,7 +431,6 @@ public class DialogoFuncionario extends JDialog {
                 funcionario.setUsuario(usuario);
                 funcionario.setSenha(senha);
                 funcionario.setAtivo(ativo);
-                funcionarios.add(funcionario);
             } else {
                 // Editar funcionário existente
                 funcionario.setNome(nome);
@@ -455,7 +449,7 @@ public class DialogoFuncionario extends JDialog {
                 }
             }
 
-            gerenciador.salvar(funcionarios);
+            gerenciador.atualizar(funcionario);
             confirmado = true;
             
             JOptionPane.showMessageDialog(this,
@@ -487,13 +481,7 @@ public class DialogoFuncionario extends JDialog {
             erros.append("- CPF inválido\n");
         } else {
             // Verificar se CPF já existe (exceto para o próprio funcionário)
-            List<Funcionario> funcionarios = gerenciador.carregar();
-            boolean cpfExiste = funcionarios.stream()
-                .anyMatch(f -> {
-                    String cpfFunc = Mascaras.removerMascara(f.getCpf());
-                    return cpfFunc.equals(cpf) && 
-                           (funcionario == null || !f.getId().equals(funcionario.getId()));
-                });
+            boolean cpfExiste = outroFuncionarioCom(Repositorio.INDICE_CPF, cpf);
             
             if (cpfExiste) {
                 erros.append("- CPF já cadastrado\n");
@@ -519,11 +507,7 @@ public class DialogoFuncionario extends JDialog {
             erros.append("- Usuário deve conter apenas letras, números, pontos, traços e sublinhados\n");
         } else {
             // Verificar se o usuário já existe (exceto para o próprio funcionário)
-            List<Funcionario> funcionariosCheck = gerenciador.carregar();
-            boolean usuarioExiste = funcionariosCheck.stream()
-                .anyMatch(f -> f.getUsuario() != null && 
-                         f.getUsuario().equalsIgnoreCase(usuario) && 
-                         (funcionario == null || !f.getId().equals(funcionario.getId())));
+            boolean usuarioExiste = outroFuncionarioCom(Repositorio.INDICE_USUARIO, usuario);
             
             if (usuarioExiste) {
                 erros.append("- Nome de usuário já existe\n");
@@ -1,7 +1,7 @@
 package ui;
 
 import domain.Veiculo;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import util.*;
 
 import javax.swing.*;
@@ -10,7 +10,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Diálogo para cadastro e edição de veículos
@@ -31,12 +30,12 @@ public class DialogoVeiculo extends JDialog {
 
     private Veiculo veiculo;
     private boolean confirmado = false;
-    private GerenciadorArquivos<Veiculo> gerenciador;
+    private Repositorio<Veiculo> gerenciador;
 
     public DialogoVeiculo(JFrame pai, Veiculo veiculo) {
         super(pai, veiculo == null ? "Novo Veículo" : "Editar Veículo", true);
         this.veiculo = veiculo;
-        this.gerenciador = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        this.gerenciador = Repositorio.veiculos();
         
         inicializarComponentes();
         configurarJanela();
@@ -215,8 +214,6 @@ public class DialogoVeiculo extends JDialog {
                 return;
             }
 
-            List<Veiculo> veiculos = gerenciador.carregar();
-
             if (veiculo == null) {
                 // Novo veículo
                 veiculo = new Veiculo();
@@ -226,8 +223,8 @@ public class DialogoVeiculo extends JDialog {
 
             // Verificar se a placa já existe (exceto para o veículo atual)
             String placaDigitada = campoPlaca.getText().trim();
-            boolean placaExiste = veiculos.stream()
-                .anyMatch(v -> v.getPlaca().equals(placaDigitada) && !v.getId().equals(veiculo.getId()));
+            Veiculo existente = gerenciador.buscarPor(Repositorio.INDICE_PLACA, placaDigitada);
+            boolean placaExiste = existente != null && !existente.getId().equals(veiculo.getId());
 
             if (placaExiste) {
                 JOptionPane.showMessageDialog(this,
@@ -251,19 +248,7 @@ public class DialogoVeiculo extends JDialog {
             veiculo.setObservacoes(campoObservacoes.getText().trim());
 
             // Salvar
-            if (veiculos.stream().noneMatch(v -> v.getId().equals(veiculo.getId()))) {
-                veiculos.add(veiculo);
-            } else {
-                // Atualizar veículo existente
-                for (int i = 0; i < veiculos.size(); i++) {
-                    if (veiculos.get(i).getId().equals(veiculo.getId())) {
-                        veiculos.set(i, veiculo);
-                        break;
-                    }
-                }
-            }
-
-            gerenciador.salvar(veiculos);
+            gerenciador.atualizar(veiculo);
 
             JOptionPane.showMessageDialog(this,
                 "Veículo salvo com sucesso!",
@@ -0,0 +1,116 @@
+package ui;
+
+import persistence.Repositorio;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Modelo de tabela somente leitura apoiado diretamente nas entidades
+ * As linhas guardam apenas a referência da entidade; os valores das
+ * colunas (datas, valores, descrições) só são formatados quando a JTable
+ * pede a célula, ou seja, para as linhas visíveis, e ficam em cache até
+ * a próxima alteração em qualquer repositório (a entidade pode ter sido
+ * editada no lugar, ou uma coluna pode mostrar dados de outra entidade).
+ * adicionar() dispara um único evento de inserção para o lote todo;
+ * substituir() troca todas as linhas de uma vez (resultado de uma busca).
+ *
+ * @param <T> Tipo da entidade exibida em cada linha
+ */
+public class ModeloTabelaEntidades<T> extends AbstractTableModel {
+
+    private final List<String> nomesColunas = new ArrayList<>();
+    private final List<Function<? super T, ?>> valoresColunas = new ArrayList<>();
+
+    private final List<T> entidades = new ArrayList<>();
+    // Valores formatados por linha; null até a linha ser exibida
+    private final List<Object[]> formatadas = new ArrayList<>();
+    // Repositorio.getVersaoGlobal() quando os valores em cache foram formatados
+    private long versaoFormatadas = Repositorio.getVersaoGlobal();
+
+    /**
+     * Acrescenta uma coluna cujo valor é calculado a partir da entidade
+     */
+    public ModeloTabelaEntidades<T> coluna(String nome, Function<? super T, ?> valor) {
+        nomesColunas.add(nome);
+        valoresColunas.add(valor);
+        return this;
+    }
+
+    public void limpar() {
+        if (!entidades.isEmpty()) {
+            int ultima = entidades.size() - 1;
+            entidades.clear();
+            formatadas.clear();
+            fireTableRowsDeleted(0, ultima);
+        }
+    }
+
+    public void adicionar(List<? extends T> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        int primeira = entidades.size();
+        entidades.addAll(lote);
+        for (int i = 0; i < lote.size(); i++) {
+            formatadas.add(null);
+        }
+        fireTableRowsInserted(primeira, entidades.size() - 1);
+    }
+
+    public void substituir(List<? extends T> novas) {
+        entidades.clear();
+        formatadas.clear();
+        entidades.addAll(novas);
+        for (int i = 0; i < novas.size(); i++) {
+            formatadas.add(null);
+        }
+        fireTableDataChanged();
+    }
+
+    public T getEntidade(int linha) {
+        return entidades.get(linha);
+    }
+
+    @Override
+    public int getRowCount() {
+        return entidades.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return nomesColunas.size();
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return nomesColunas.get(coluna);
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        long versao = Repositorio.getVersaoGlobal();
+        if (versao != versaoFormatadas) {
+            Collections.fill(formatadas, null);
+            versaoFormatadas = versao;
+        }
+        Object[] valores = formatadas.get(linha);
+        if (valores == null) {
+            T entidade = entidades.get(linha);
+            valores = new Object[valoresColunas.size()];
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = valoresColunas.get(i).apply(entidade);
+            }
+            formatadas.set(linha, valores);
+        }
+        return valores[coluna];
+    }
+
+    @Override
+    public boolean isCellEditable(int linha, int coluna) {
+        return false;
+    }
+}
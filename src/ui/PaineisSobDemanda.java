@@ -0,0 +1,175 @@
+package ui;
+
+import util.MedidorCpu;
+
+import javax.swing.*;
+import java.awt.CardLayout;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Painéis de conteúdo de um CardLayout criados sob demanda
+ * Cada painel é construído na primeira navegação até ele. Após cada
+ * navegação, quando a interface fica ociosa, o próximo painel provável
+ * (o destino mais frequente a partir do atual, ou o próximo ainda não
+ * criado na ordem do menu) é pré-construído. Painéis que ficam sem uso
+ * por INATIVIDADE_MS são descartados e recriados se voltarem a ser usados.
+ * Com a medição ligada (-Dautofacil.medirCpu=true) a criação e o descarte
+ * de cada painel são informados no console.
+ */
+public class PaineisSobDemanda {
+
+    /**
+     * Painel que precisa soltar recursos (carregamentos, timers, ouvintes)
+     * ao ser descartado
+     */
+    public interface Liberavel {
+        void liberar();
+    }
+
+    public static final int ATRASO_PRE_CARGA_MS = 700;
+    public static final long INATIVIDADE_MS = 10 * 60 * 1000;
+    private static final int INTERVALO_LIBERACAO_MS = 60 * 1000;
+
+    private final JPanel container;
+    private final CardLayout cardLayout;
+
+    // Fábricas na ordem do menu
+    private final Map<String, Supplier<JPanel>> fabricas = new LinkedHashMap<>();
+    private final Map<String, JPanel> criados = new HashMap<>();
+    private final Map<String, Long> ultimoUso = new HashMap<>();
+    // Navegações observadas: origem -> (destino -> quantidade)
+    private final Map<String, Map<String, Integer>> transicoes = new HashMap<>();
+
+    private final Timer timerPreCarga;
+    private final Timer timerLiberacao;
+    private String atual;
+
+    public PaineisSobDemanda(JPanel container, CardLayout cardLayout) {
+        this.container = container;
+        this.cardLayout = cardLayout;
+
+        timerPreCarga = new Timer(ATRASO_PRE_CARGA_MS, e -> preCarregarProximo());
+        timerPreCarga.setRepeats(false);
+        timerLiberacao = new Timer(INTERVALO_LIBERACAO_MS, e -> liberarInativos());
+        timerLiberacao.start();
+    }
+
+    /**
+     * Painel sempre presente (criado na hora, nunca descartado)
+     */
+    public void adicionarFixo(String nome, JPanel painel) {
+        container.add(painel, nome);
+        criados.put(nome, painel);
+    }
+
+    /**
+     * Registra a fábrica de um painel criado sob demanda
+     */
+    public void registrar(String nome, Supplier<JPanel> fabrica) {
+        fabricas.put(nome, fabrica);
+    }
+
+    public void mostrar(String nome) {
+        if (!criados.containsKey(nome) && !fabricas.containsKey(nome)) {
+            return;
+        }
+        obter(nome);
+        if (atual != null && !atual.equals(nome)) {
+            transicoes.computeIfAbsent(atual, n -> new HashMap<>()).merge(nome, 1, Integer::sum);
+        }
+        atual = nome;
+        ultimoUso.put(nome, System.currentTimeMillis());
+        cardLayout.show(container, nome);
+
+        // Pré-carga só depois que a interface ficar ociosa
+        timerPreCarga.restart();
+    }
+
+    private JPanel obter(String nome) {
+        JPanel painel = criados.get(nome);
+        if (painel == null) {
+            long inicio = System.nanoTime();
+            painel = fabricas.get(nome).get();
+            container.add(painel, nome);
+            criados.put(nome, painel);
+            ultimoUso.put(nome, System.currentTimeMillis());
+            if (MedidorCpu.ativado()) {
+                System.out.println("Painel '" + nome + "' criado em " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+            }
+        }
+        return painel;
+    }
+
+    /**
+     * Próximo painel provável a partir do atual que ainda não foi criado
+     */
+    private String preverProximo() {
+        Map<String, Integer> destinos = transicoes.get(atual);
+        if (destinos != null) {
+            String provavel = null;
+            int maior = 0;
+            for (Map.Entry<String, Integer> destino : destinos.entrySet()) {
+                if (destino.getValue() > maior && !criados.containsKey(destino.getKey())) {
+                    provavel = destino.getKey();
+                    maior = destino.getValue();
+                }
+            }
+            if (provavel != null) {
+                return provavel;
+            }
+        }
+        for (String nome : fabricas.keySet()) {
+            if (!criados.containsKey(nome)) {
+                return nome;
+            }
+        }
+        return null;
+    }
+
+    private void preCarregarProximo() {
+        String proximo = preverProximo();
+        if (proximo != null) {
+            obter(proximo);
+        }
+    }
+
+    private void liberarInativos() {
+        long limite = System.currentTimeMillis() - INATIVIDADE_MS;
+        Iterator<Map.Entry<String, JPanel>> iterador = criados.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<String, JPanel> item = iterador.next();
+            String nome = item.getKey();
+            Long uso = ultimoUso.get(nome);
+            if (fabricas.containsKey(nome) && !nome.equals(atual) && uso != null && uso < limite) {
+                liberar(item.getValue());
+                container.remove(item.getValue());
+                iterador.remove();
+                ultimoUso.remove(nome);
+                if (MedidorCpu.ativado()) {
+                    System.out.println("Painel '" + nome + "' liberado por inatividade");
+                }
+            }
+        }
+    }
+
+    private static void liberar(JPanel painel) {
+        if (painel instanceof Liberavel) {
+            ((Liberavel) painel).liberar();
+        }
+    }
+
+    /**
+     * Para os timers e libera os painéis criados (ao fechar a janela)
+     */
+    public void encerrar() {
+        timerPreCarga.stop();
+        timerLiberacao.stop();
+        for (JPanel painel : criados.values()) {
+            liberar(painel);
+        }
+    }
+}
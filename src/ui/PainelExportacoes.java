@@ -0,0 +1,153 @@
+package ui;
+
+import util.ServicoExportacao;
+import util.ServicoExportacao.Tarefa;
+import util.Tema;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.io.File;
+import java.util.function.Consumer;
+
+/**
+ * Lista das exportações em PDF (fila, andamento e as últimas encerradas)
+ * Atualizada pelos avisos do ServicoExportacao enquanto o painel está
+ * exibido; permite cancelar uma exportação e abrir o arquivo gerado.
+ */
+public class PainelExportacoes extends JPanel {
+
+    private final ModeloTabelaEntidades<Tarefa> modelo;
+    private final JTable tabela;
+    private final JButton btnCancelar;
+    private final JButton btnAbrir;
+    private final Consumer<Tarefa> ouvinte = tarefa -> atualizar();
+
+    /**
+     * Barra de progresso da coluna "Progresso" (linhas gravadas / total)
+     */
+    private static final class RenderizadorProgresso implements TableCellRenderer {
+        private final JProgressBar barra = new JProgressBar(0, 100);
+
+        RenderizadorProgresso() {
+            barra.setStringPainted(true);
+            barra.setBorderPainted(false);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable tabela, Object valor, boolean selecionado,
+                                                       boolean foco, int linha, int coluna) {
+            Tarefa tarefa = (Tarefa) valor;
+            int escritas = tarefa.getLinhasEscritas();
+            int total = tarefa.getTotal();
+            if (total > 0) {
+                barra.setValue((int) (100L * escritas / total));
+                barra.setString(String.format("%,d de %,d linhas", escritas, total));
+            } else {
+                barra.setValue(tarefa.getEstado() == ServicoExportacao.Estado.CONCLUIDA ? 100 : 0);
+                barra.setString(String.format("%,d linhas", escritas));
+            }
+            return barra;
+        }
+    }
+
+    public PainelExportacoes() {
+        super(new BorderLayout(5, 5));
+        Tema.configurarPainel(this);
+        setBorder(BorderFactory.createTitledBorder("Exportações"));
+
+        modelo = new ModeloTabelaEntidades<Tarefa>()
+            .coluna("Relatório", tarefa -> tarefa.getTipo().getDescricao())
+            .coluna("Situação", tarefa -> tarefa.getEstado().getDescricao())
+            .coluna("Progresso", tarefa -> tarefa)
+            .coluna("Arquivo", tarefa -> tarefa.getCaminhoArquivo() != null ? tarefa.getCaminhoArquivo() : "-");
+
+        tabela = new JTable(modelo);
+        tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tabela.getTableHeader().setReorderingAllowed(false);
+        tabela.getColumnModel().getColumn(0).setPreferredWidth(100); // Relatório
+        tabela.getColumnModel().getColumn(1).setPreferredWidth(90);  // Situação
+        tabela.getColumnModel().getColumn(2).setPreferredWidth(200); // Progresso
+        tabela.getColumnModel().getColumn(3).setPreferredWidth(250); // Arquivo
+        tabela.getColumnModel().getColumn(2).setCellRenderer(new RenderizadorProgresso());
+        tabela.getSelectionModel().addListSelectionListener(e -> atualizarBotoes());
+
+        JScrollPane scroll = new JScrollPane(tabela);
+        scroll.setPreferredSize(new Dimension(400, 110));
+        add(scroll, BorderLayout.CENTER);
+
+        btnCancelar = new JButton("Cancelar");
+        btnCancelar.addActionListener(e -> {
+            Tarefa tarefa = getSelecionada();
+            if (tarefa != null) {
+                tarefa.cancelar();
+            }
+        });
+        Tema.configurarBotaoCancelamento(btnCancelar);
+
+        btnAbrir = new JButton("Abrir");
+        btnAbrir.addActionListener(e -> abrirArquivo(getSelecionada()));
+        Tema.configurarBotao(btnAbrir);
+
+        JPanel painelBotoes = new JPanel(new GridLayout(2, 1, 5, 5));
+        Tema.configurarPainel(painelBotoes);
+        painelBotoes.add(btnCancelar);
+        painelBotoes.add(btnAbrir);
+        JPanel painelLateral = new JPanel(new BorderLayout());
+        Tema.configurarPainel(painelLateral);
+        painelLateral.add(painelBotoes, BorderLayout.NORTH);
+        add(painelLateral, BorderLayout.EAST);
+
+        atualizarBotoes();
+    }
+
+    // Os avisos só são recebidos enquanto o painel está na tela
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        ServicoExportacao.adicionarOuvinte(ouvinte);
+        atualizar();
+    }
+
+    @Override
+    public void removeNotify() {
+        ServicoExportacao.removerOuvinte(ouvinte);
+        super.removeNotify();
+    }
+
+    private void atualizar() {
+        Tarefa selecionada = getSelecionada();
+        modelo.substituir(ServicoExportacao.getTarefas());
+        for (int i = 0; i < modelo.getRowCount(); i++) {
+            if (modelo.getEntidade(i) == selecionada) {
+                tabela.setRowSelectionInterval(i, i);
+            }
+        }
+        atualizarBotoes();
+    }
+
+    private Tarefa getSelecionada() {
+        int linha = tabela.getSelectedRow();
+        return linha >= 0 ? modelo.getEntidade(linha) : null;
+    }
+
+    private void atualizarBotoes() {
+        Tarefa tarefa = getSelecionada();
+        btnCancelar.setEnabled(tarefa != null && !tarefa.getEstado().isEncerrado());
+        btnAbrir.setEnabled(tarefa != null && tarefa.getEstado() == ServicoExportacao.Estado.CONCLUIDA);
+    }
+
+    /**
+     * Abre o PDF no visualizador do sistema (ignora se não for possível)
+     */
+    static void abrirArquivo(Tarefa tarefa) {
+        if (tarefa == null || tarefa.getCaminhoArquivo() == null) {
+            return;
+        }
+        try {
+            Desktop.getDesktop().open(new File(tarefa.getCaminhoArquivo()));
+        } catch (Exception ex) {
+            // Ignorar se não conseguir abrir
+        }
+    }
+}
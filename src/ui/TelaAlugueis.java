@@ -3,32 +3,43 @@ package ui;
 import domain.Aluguel;
 import domain.Cliente;
 import domain.Veiculo;
-import persistence.GerenciadorArquivos;
+import persistence.BuscaTexto;
+import persistence.ConsultaAlugueis;
+import persistence.Repositorio;
 import util.Tema;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Tela para gerenciamento de aluguéis
  */
-public class TelaAlugueis extends JPanel {
+public class TelaAlugueis extends JPanel implements PaineisSobDemanda.Liberavel {
 
     private JTable tabelaAlugueis;
-    private DefaultTableModel modeloTabela;
-    private GerenciadorArquivos<Aluguel> gerenciador;
-    private GerenciadorArquivos<Cliente> gerenciadorClientes;
-    private GerenciadorArquivos<Veiculo> gerenciadorVeiculos;
+    private ModeloTabelaEntidades<Aluguel> modeloTabela;
+    private CarregadorTabela<Aluguel> carregador;
+    private BuscaAdiada buscaAdiada;
+    private JLabel rotuloStatus;
+    private Repositorio<Aluguel> gerenciador;
+    private Repositorio<Cliente> gerenciadorClientes;
+    private Repositorio<Veiculo> gerenciadorVeiculos;
+    private BuscaTexto<Aluguel> buscaAlugueis;
+    private BuscaTexto<Cliente> buscaClientes;
+    private BuscaTexto<Veiculo> buscaVeiculos;
     private JTextField campoBusca;
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public TelaAlugueis() {
-        this.gerenciador = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-        this.gerenciadorClientes = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-        this.gerenciadorVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        this.gerenciador = Repositorio.alugueis();
+        this.gerenciadorClientes = Repositorio.clientes();
+        this.gerenciadorVeiculos = Repositorio.veiculos();
+        this.buscaAlugueis = gerenciador.novaBusca();
+        this.buscaClientes = gerenciadorClientes.novaBusca();
+        this.buscaVeiculos = gerenciadorVeiculos.novaBusca();
         inicializarComponentes();
         carregarAlugueis();
         aplicarTema();
@@ -66,11 +77,8 @@ public class TelaAlugueis extends JPanel {
         painelBusca.add(new JLabel("Buscar:"));
         
         campoBusca = new JTextField(20);
-        campoBusca.addKeyListener(new java.awt.event.KeyAdapter() {
-            public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarAlugueis();
-            }
-        });
+        // Busca após uma pausa na digitação, fora da EDT
+        buscaAdiada = BuscaAdiada.instalar(campoBusca, this::filtrarAlugueis);
         painelBusca.add(campoBusca);
 
         painel.add(painelBusca, BorderLayout.EAST);
@@ -79,17 +87,26 @@ public class TelaAlugueis extends JPanel {
     }
 
     private void criarTabela() {
-        String[] colunas = {
-            "ID", "Cliente", "Veículo", "Data Início", "Data Fim",
-            "Valor Diário", "Valor Total", "Status"
-        };
-
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Valores formatados sob demanda, só para as linhas exibidas;
+        // cliente e veículo são buscados pelo índice de ID nesse momento
+        modeloTabela = new ModeloTabelaEntidades<Aluguel>()
+            .coluna("ID", Aluguel::getId)
+            .coluna("Cliente", aluguel -> {
+                Cliente cliente = gerenciadorClientes.buscarPorId(aluguel.getClienteId());
+                return cliente != null ? cliente.getNome() : "Cliente não encontrado";
+            })
+            .coluna("Veículo", aluguel -> {
+                Veiculo veiculo = gerenciadorVeiculos.buscarPorId(aluguel.getVeiculoId());
+                return veiculo != null ?
+                    veiculo.getMarca() + " " + veiculo.getModelo() + " (" + veiculo.getPlaca() + ")" :
+                    "Veículo não encontrado";
+            })
+            .coluna("Data Início", aluguel -> aluguel.getDataInicio().format(FORMATO_DATA))
+            .coluna("Data Fim", aluguel -> aluguel.getDataFimReal() != null ?
+                aluguel.getDataFimReal().format(FORMATO_DATA) : aluguel.getDataFimPrevista().format(FORMATO_DATA))
+            .coluna("Valor Diário", aluguel -> String.format("R$ %.2f", aluguel.getValorDiaria()))
+            .coluna("Valor Total", aluguel -> String.format("R$ %.2f", aluguel.getValorTotal()))
+            .coluna("Status", aluguel -> aluguel.getStatus().getDescricao());
 
         tabelaAlugueis = new JTable(modeloTabela);
         tabelaAlugueis.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -136,6 +153,10 @@ public class TelaAlugueis extends JPanel {
         Tema.configurarBotaoCancelamento(btnCancelar);
         Tema.configurarBotao(btnAtualizar);
 
+        // Estado do carregamento da tabela
+        rotuloStatus = new JLabel(" ");
+        painel.add(rotuloStatus);
+
         painel.add(btnNovo);
         painel.add(btnEditar);
         painel.add(btnFinalizar);
@@ -145,101 +166,46 @@ public class TelaAlugueis extends JPanel {
         return painel;
     }
 
+    /**
+     * Cancela o carregamento em andamento e a busca pendente (tela descartada)
+     */
+    @Override
+    public void liberar() {
+        CarregadorTabela.cancelar(carregador);
+        carregador = null;
+        buscaAdiada.desinstalar();
+    }
+
     private void carregarAlugueis() {
-        modeloTabela.setRowCount(0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        List<Cliente> clientes = gerenciadorClientes.carregar();
-        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-
-        for (Aluguel aluguel : alugueis) {
-            // Buscar cliente
-            String nomeCliente = clientes.stream()
-                .filter(c -> c.getId().equals(aluguel.getClienteId()))
-                .map(Cliente::getNome)
-                .findFirst()
-                .orElse("Cliente não encontrado");
-
-            // Buscar veículo
-            String descricaoVeiculo = veiculos.stream()
-                .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                .map(v -> v.getMarca() + " " + v.getModelo() + " (" + v.getPlaca() + ")")
-                .findFirst()
-                .orElse("Veículo não encontrado");
-
-            Object[] linha = {
-                aluguel.getId(),
-                nomeCliente,
-                descricaoVeiculo,
-                aluguel.getDataInicio().format(FORMATO_DATA),
-                aluguel.getDataFimReal() != null ? aluguel.getDataFimReal().format(FORMATO_DATA) : 
-                    aluguel.getDataFimPrevista().format(FORMATO_DATA),
-                String.format("R$ %.2f", aluguel.getValorDiaria()),
-                String.format("R$ %.2f", aluguel.getValorTotal()),
-                aluguel.getStatus().getDescricao()
-            };
-            modeloTabela.addRow(linha);
-        }
+        carregador = CarregadorTabela.iniciar(carregador, tabelaAlugueis, modeloTabela, rotuloStatus,
+            destino -> gerenciador.carregar().forEach(destino));
     }
 
     private void filtrarAlugueis() {
-        String termo = campoBusca.getText().toLowerCase().trim();
+        String termo = campoBusca.getText().trim();
         
         if (termo.isEmpty()) {
             carregarAlugueis();
             return;
         }
 
-        modeloTabela.setRowCount(0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        List<Cliente> clientes = gerenciadorClientes.carregar();
-        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-
-        for (Aluguel aluguel : alugueis) {
-            // Buscar cliente
-            Cliente cliente = clientes.stream()
-                .filter(c -> c.getId().equals(aluguel.getClienteId()))
-                .findFirst()
-                .orElse(null);
-
-            // Buscar veículo
-            Veiculo veiculo = veiculos.stream()
-                .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                .findFirst()
-                .orElse(null);
-
-            boolean incluir = aluguel.getId().toLowerCase().contains(termo) ||
-                             aluguel.getStatus().getDescricao().toLowerCase().contains(termo);
-
-            if (cliente != null) {
-                incluir = incluir || cliente.getNome().toLowerCase().contains(termo);
+        carregador = CarregadorTabela.buscar(carregador, tabelaAlugueis, modeloTabela, rotuloStatus, destino -> {
+            // Código/status do aluguel, ou cliente/veículo encontrados nos seus índices de texto
+            Set<String> encontrados = new HashSet<>(buscaAlugueis.buscarIds(termo));
+            ConsultaAlugueis consulta = Repositorio.consultaAlugueis();
+            for (String id : buscaClientes.buscarIds(termo)) {
+                consulta.porCliente(id).forEach(aluguel -> encontrados.add(aluguel.getId()));
             }
-
-            if (veiculo != null) {
-                incluir = incluir || veiculo.getMarca().toLowerCase().contains(termo) ||
-                         veiculo.getModelo().toLowerCase().contains(termo) ||
-                         veiculo.getPlaca().toLowerCase().contains(termo);
+            for (String id : buscaVeiculos.buscarIds(termo)) {
+                consulta.porVeiculo(id).forEach(aluguel -> encontrados.add(aluguel.getId()));
             }
 
-            if (incluir) {
-                String nomeCliente = cliente != null ? cliente.getNome() : "Cliente não encontrado";
-                String descricaoVeiculo = veiculo != null ? 
-                    veiculo.getMarca() + " " + veiculo.getModelo() + " (" + veiculo.getPlaca() + ")" :
-                    "Veículo não encontrado";
-
-                Object[] linha = {
-                    aluguel.getId(),
-                    nomeCliente,
-                    descricaoVeiculo,
-                    aluguel.getDataInicio().format(FORMATO_DATA),
-                    aluguel.getDataFimReal() != null ? aluguel.getDataFimReal().format(FORMATO_DATA) : 
-                        aluguel.getDataFimPrevista().format(FORMATO_DATA),
-                    String.format("R$ %.2f", aluguel.getValorDiaria()),
-                    String.format("R$ %.2f", aluguel.getValorTotal()),
-                    aluguel.getStatus().getDescricao()
-                };
-                modeloTabela.addRow(linha);
+            for (Aluguel aluguel : gerenciador.carregar()) {
+                if (encontrados.contains(aluguel.getId())) {
+                    destino.accept(aluguel);
+                }
             }
-        }
+        });
     }
 
     private void abrirDialogoAluguel(Aluguel aluguel) {
@@ -262,13 +228,8 @@ public class TelaAlugueis extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        
-        Aluguel aluguel = alugueis.stream()
-            .filter(a -> a.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Aluguel aluguel = gerenciador.buscarPorId(id);
 
         if (aluguel != null) {
             if (aluguel.getStatus() == Aluguel.StatusAluguel.FINALIZADO ||
@@ -294,13 +255,8 @@ public class TelaAlugueis extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        
-        Aluguel aluguel = alugueis.stream()
-            .filter(a -> a.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Aluguel aluguel = gerenciador.buscarPorId(id);
 
         if (aluguel != null) {
             if (aluguel.getStatus() != Aluguel.StatusAluguel.ATIVO) {
@@ -330,14 +286,9 @@ public class TelaAlugueis extends JPanel {
                         aluguel.finalizar(java.time.LocalDate.now(), kmFinal);
                         
                         // Liberar veículo
-                        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-                        veiculos.stream()
-                            .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                            .findFirst()
-                            .ifPresent(v -> v.setStatus(Veiculo.Status.DISPONIVEL));
-                        gerenciadorVeiculos.salvar(veiculos);
+                        liberarVeiculo(aluguel.getVeiculoId());
                         
-                        gerenciador.salvar(alugueis);
+                        gerenciador.atualizar(aluguel);
                         carregarAlugueis();
 
                         JOptionPane.showMessageDialog(this,
@@ -366,13 +317,8 @@ public class TelaAlugueis extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        
-        Aluguel aluguel = alugueis.stream()
-            .filter(a -> a.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Aluguel aluguel = gerenciador.buscarPorId(id);
 
         if (aluguel != null) {
             if (aluguel.getStatus() == Aluguel.StatusAluguel.FINALIZADO ||
@@ -394,14 +340,9 @@ public class TelaAlugueis extends JPanel {
                 aluguel.setStatus(Aluguel.StatusAluguel.CANCELADO);
                 
                 // Liberar veículo
-                List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-                veiculos.stream()
-                    .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                    .findFirst()
-                    .ifPresent(v -> v.setStatus(Veiculo.Status.DISPONIVEL));
-                gerenciadorVeiculos.salvar(veiculos);
+                liberarVeiculo(aluguel.getVeiculoId());
                 
-                gerenciador.salvar(alugueis);
+                gerenciador.atualizar(aluguel);
                 carregarAlugueis();
 
                 JOptionPane.showMessageDialog(this,
@@ -412,6 +353,17 @@ public class TelaAlugueis extends JPanel {
         }
     }
 
+    private void liberarVeiculo(String veiculoId) {
+        // Só libera se o veículo não tiver outro aluguel ativo
+        boolean outroAtivo = Repositorio.consultaAlugueis().porVeiculo(veiculoId).stream()
+            .anyMatch(a -> a.getStatus() == Aluguel.StatusAluguel.ATIVO);
+        Veiculo veiculo = gerenciadorVeiculos.buscarPorId(veiculoId);
+        if (veiculo != null && !outroAtivo) {
+            veiculo.setStatus(Veiculo.Status.DISPONIVEL);
+            gerenciadorVeiculos.atualizar(veiculo);
+        }
+    }
+
     private void aplicarTema() {
         Tema.configurarPainel(this);
     }
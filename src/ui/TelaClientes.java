@@ -1,27 +1,31 @@
 package ui;
 
 import domain.Cliente;
-import persistence.GerenciadorArquivos;
+import persistence.BuscaTexto;
+import persistence.Repositorio;
 import util.*;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Tela de gestão de clientes
  */
-public class TelaClientes extends JPanel {
+public class TelaClientes extends JPanel implements PaineisSobDemanda.Liberavel {
     
-    private GerenciadorArquivos<Cliente> gerenciadorClientes;
+    private Repositorio<Cliente> gerenciadorClientes;
     
     private JTable tabelaClientes;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaEntidades<Cliente> modeloTabela;
+    private CarregadorTabela<Cliente> carregador;
+    private BuscaAdiada buscaAdiada;
+    private BuscaTexto<Cliente> busca;
+    private JLabel rotuloStatus;
     private JTextField campoBusca;
     
     public TelaClientes() {
-        gerenciadorClientes = new GerenciadorArquivos<>("clientes.json", Cliente.class);
+        gerenciadorClientes = Repositorio.clientes();
+        busca = gerenciadorClientes.novaBusca();
         
         inicializarComponentes();
         carregarClientes();
@@ -60,11 +64,8 @@ public class TelaClientes extends JPanel {
         painelBusca.add(new JLabel("Buscar:"));
         
         campoBusca = new JTextField(20);
-        campoBusca.addKeyListener(new java.awt.event.KeyAdapter() {
-            public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarClientes();
-            }
-        });
+        // Busca após uma pausa na digitação, fora da EDT
+        buscaAdiada = BuscaAdiada.instalar(campoBusca, this::filtrarClientes);
         painelBusca.add(campoBusca);
 
         painel.add(painelBusca, BorderLayout.EAST);
@@ -73,17 +74,16 @@ public class TelaClientes extends JPanel {
     }
     
     private void criarTabela() {
-        String[] colunas = {
-            "ID", "Nome", "CPF", "Email", "Telefone", 
-            "CEP", "Endereço", "Status"
-        };
-
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Valores formatados sob demanda, só para as linhas exibidas
+        modeloTabela = new ModeloTabelaEntidades<Cliente>()
+            .coluna("ID", Cliente::getId)
+            .coluna("Nome", Cliente::getNome)
+            .coluna("CPF", Cliente::getCpf)
+            .coluna("Email", Cliente::getEmail)
+            .coluna("Telefone", Cliente::getTelefone)
+            .coluna("CEP", Cliente::getCep)
+            .coluna("Endereço", Cliente::getEndereco)
+            .coluna("Status", cliente -> cliente.isAtivo() ? "Ativo" : "Inativo");
 
         tabelaClientes = new JTable(modeloTabela);
         tabelaClientes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -128,6 +128,10 @@ public class TelaClientes extends JPanel {
         btnAtualizar.addActionListener(e -> carregarClientes());
         util.CorrecaoTema.aplicarCorrecaoExtremaNimbus(btnAtualizar, Tema.VERDE, Color.WHITE);
 
+        // Estado do carregamento da tabela
+        rotuloStatus = new JLabel(" ");
+        painel.add(rotuloStatus);
+
         painel.add(btnNovo);
         painel.add(btnEditar);
         painel.add(btnExcluir);
@@ -136,54 +140,32 @@ public class TelaClientes extends JPanel {
         return painel;
     }
     
-    private void carregarClientes() {
-        modeloTabela.setRowCount(0);
-        List<Cliente> clientes = gerenciadorClientes.carregar();
+    /**
+     * Cancela o carregamento em andamento e a busca pendente (tela descartada)
+     */
+    @Override
+    public void liberar() {
+        CarregadorTabela.cancelar(carregador);
+        carregador = null;
+        buscaAdiada.desinstalar();
+    }
 
-        for (Cliente cliente : clientes) {
-            Object[] linha = {
-                cliente.getId(),
-                cliente.getNome(),
-                cliente.getCpf(),
-                cliente.getEmail(),
-                cliente.getTelefone(),
-                cliente.getCep(),
-                cliente.getEndereco(),
-                cliente.isAtivo() ? "Ativo" : "Inativo"
-            };
-            modeloTabela.addRow(linha);
-        }
+    private void carregarClientes() {
+        carregador = CarregadorTabela.iniciar(carregador, tabelaClientes, modeloTabela, rotuloStatus,
+            destino -> gerenciadorClientes.carregar().forEach(destino));
     }
     
     private void filtrarClientes() {
-        String termo = campoBusca.getText().toLowerCase().trim();
+        String termo = campoBusca.getText().trim();
         
         if (termo.isEmpty()) {
             carregarClientes();
             return;
         }
 
-        modeloTabela.setRowCount(0);
-        List<Cliente> clientes = gerenciadorClientes.carregar();
-
-        for (Cliente cliente : clientes) {
-            if (cliente.getNome().toLowerCase().contains(termo) ||
-                cliente.getCpf().contains(termo) ||
-                cliente.getEmail().toLowerCase().contains(termo)) {
-                
-                Object[] linha = {
-                    cliente.getId(),
-                    cliente.getNome(),
-                    cliente.getCpf(),
-                    cliente.getEmail(),
-                    cliente.getTelefone(),
-                    cliente.getCep(),
-                    cliente.getEndereco(),
-                    cliente.isAtivo() ? "Ativo" : "Inativo"
-                };
-                modeloTabela.addRow(linha);
-            }
-        }
+        // Busca pelo índice de texto (sem diferenciar acentos)
+        carregador = CarregadorTabela.buscar(carregador, tabelaClientes, modeloTabela, rotuloStatus,
+            destino -> busca.buscar(termo).forEach(destino));
     }
     
     private void abrirDialogoCliente(Cliente cliente) {
@@ -211,13 +193,8 @@ public class TelaClientes extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Cliente> clientes = gerenciadorClientes.carregar();
-        
-        Cliente cliente = clientes.stream()
-            .filter(c -> c.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Cliente cliente = gerenciadorClientes.buscarPorId(id);
 
         if (cliente != null) {
             abrirDialogoCliente(cliente);
@@ -242,23 +219,18 @@ public class TelaClientes extends JPanel {
             JOptionPane.QUESTION_MESSAGE);
 
         if (confirmacao == JOptionPane.YES_OPTION) {
-            String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-            List<Cliente> clientes = gerenciadorClientes.carregar();
-            
+            String id = modeloTabela.getEntidade(linhaSelecionada).getId();
             // Opção 1: Remover permanentemente
-            clientes.removeIf(c -> c.getId().equals(id));
+            gerenciadorClientes.remover(id);
             
             // Opção 2: Marcar como inativo (se preferir)
             /*
-            for (Cliente cliente : clientes) {
-                if (cliente.getId().equals(id)) {
-                    cliente.setAtivo(false);
-                    break;
-                }
+            Cliente cliente = gerenciadorClientes.buscarPorId(id);
+            if (cliente != null) {
+                cliente.setAtivo(false);
+                gerenciadorClientes.atualizar(cliente);
             }
             */
-            
-            gerenciadorClientes.salvar(clientes);
             carregarClientes();
 
             JOptionPane.showMessageDialog(this,
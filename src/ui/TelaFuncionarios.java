@@ -1,29 +1,33 @@
 package ui;
 
 import domain.Funcionario;
-import persistence.GerenciadorArquivos;
+import persistence.BuscaTexto;
+import persistence.Repositorio;
 import util.Tema;
 import util.Validador;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Tela para gerenciamento de funcionários
  */
-public class TelaFuncionarios extends JPanel {
+public class TelaFuncionarios extends JPanel implements PaineisSobDemanda.Liberavel {
 
     private JTable tabelaFuncionarios;
-    private DefaultTableModel modeloTabela;
-    private GerenciadorArquivos<Funcionario> gerenciador;
+    private ModeloTabelaEntidades<Funcionario> modeloTabela;
+    private CarregadorTabela<Funcionario> carregador;
+    private BuscaAdiada buscaAdiada;
+    private BuscaTexto<Funcionario> busca;
+    private JLabel rotuloStatus;
+    private Repositorio<Funcionario> gerenciador;
     private JTextField campoBusca;
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public TelaFuncionarios() {
-        this.gerenciador = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
+        this.gerenciador = Repositorio.funcionarios();
+        this.busca = gerenciador.novaBusca();
         inicializarComponentes();
         carregarFuncionarios();
         aplicarTema();
@@ -61,11 +65,8 @@ public class TelaFuncionarios extends JPanel {
         painelBusca.add(new JLabel("Buscar:"));
         
         campoBusca = new JTextField(20);
-        campoBusca.addKeyListener(new java.awt.event.KeyAdapter() {
-            public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarFuncionarios();
-            }
-        });
+        // Busca após uma pausa na digitação, fora da EDT
+        buscaAdiada = BuscaAdiada.instalar(campoBusca, this::filtrarFuncionarios);
         painelBusca.add(campoBusca);
 
         painel.add(painelBusca, BorderLayout.EAST);
@@ -74,17 +75,16 @@ public class TelaFuncionarios extends JPanel {
     }
 
     private void criarTabela() {
-        String[] colunas = {
-            "ID", "Nome", "CPF", "E-mail", "Telefone", 
-            "Tipo", "Status", "Data Cadastro"
-        };
-
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Valores formatados sob demanda, só para as linhas exibidas
+        modeloTabela = new ModeloTabelaEntidades<Funcionario>()
+            .coluna("ID", Funcionario::getId)
+            .coluna("Nome", Funcionario::getNome)
+            .coluna("CPF", Funcionario::getCpf)
+            .coluna("E-mail", Funcionario::getEmail)
+            .coluna("Telefone", Funcionario::getTelefone)
+            .coluna("Tipo", funcionario -> funcionario.getTipo().getDescricao())
+            .coluna("Status", funcionario -> funcionario.isAtivo() ? "Ativo" : "Inativo")
+            .coluna("Data Cadastro", funcionario -> funcionario.getDataCadastro().format(FORMATO_DATA));
 
         tabelaFuncionarios = new JTable(modeloTabela);
         tabelaFuncionarios.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -126,6 +126,10 @@ public class TelaFuncionarios extends JPanel {
         Tema.configurarBotaoCancelamento(btnExcluir);
         Tema.configurarBotao(btnAtualizar);
 
+        // Estado do carregamento da tabela
+        rotuloStatus = new JLabel(" ");
+        painel.add(rotuloStatus);
+
         painel.add(btnNovo);
         painel.add(btnEditar);
         painel.add(btnExcluir);
@@ -134,54 +138,32 @@ public class TelaFuncionarios extends JPanel {
         return painel;
     }
 
+    /**
+     * Cancela o carregamento em andamento e a busca pendente (tela descartada)
+     */
+    @Override
+    public void liberar() {
+        CarregadorTabela.cancelar(carregador);
+        carregador = null;
+        buscaAdiada.desinstalar();
+    }
+
     private void carregarFuncionarios() {
-        modeloTabela.setRowCount(0);
-        List<Funcionario> funcionarios = gerenciador.carregar();
-
-        for (Funcionario funcionario : funcionarios) {
-            Object[] linha = {
-                funcionario.getId(),
-                funcionario.getNome(),
-                funcionario.getCpf(),
-                funcionario.getEmail(),
-                funcionario.getTelefone(),
-                funcionario.getTipo().getDescricao(),
-                funcionario.isAtivo() ? "Ativo" : "Inativo",
-                funcionario.getDataCadastro().format(FORMATO_DATA)
-            };
-            modeloTabela.addRow(linha);
-        }
+        carregador = CarregadorTabela.iniciar(carregador, tabelaFuncionarios, modeloTabela, rotuloStatus,
+            destino -> gerenciador.carregar().forEach(destino));
     }
 
     private void filtrarFuncionarios() {
-        String termo = campoBusca.getText().toLowerCase().trim();
+        String termo = campoBusca.getText().trim();
         
         if (termo.isEmpty()) {
             carregarFuncionarios();
             return;
         }
 
-        modeloTabela.setRowCount(0);
-        List<Funcionario> funcionarios = gerenciador.carregar();
-
-        for (Funcionario funcionario : funcionarios) {
-            if (funcionario.getNome().toLowerCase().contains(termo) ||
-                funcionario.getCpf().contains(termo) ||
-                funcionario.getEmail().toLowerCase().contains(termo)) {
-                
-                Object[] linha = {
-                    funcionario.getId(),
-                    funcionario.getNome(),
-                    funcionario.getCpf(),
-                    funcionario.getEmail(),
-                    funcionario.getTelefone(),
-                    funcionario.getTipo().getDescricao(),
-                    funcionario.isAtivo() ? "Ativo" : "Inativo",
-                    funcionario.getDataCadastro().format(FORMATO_DATA)
-                };
-                modeloTabela.addRow(linha);
-            }
-        }
+        // Busca pelo índice de texto (sem diferenciar acentos)
+        carregador = CarregadorTabela.buscar(carregador, tabelaFuncionarios, modeloTabela, rotuloStatus,
+            destino -> busca.buscar(termo).forEach(destino));
     }
 
     private void abrirDialogoFuncionario(Funcionario funcionario) {
@@ -204,13 +186,8 @@ public class TelaFuncionarios extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Funcionario> funcionarios = gerenciador.carregar();
-        
-        Funcionario funcionario = funcionarios.stream()
-            .filter(f -> f.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Funcionario funcionario = gerenciador.buscarPorId(id);
 
         if (funcionario != null) {
             abrirDialogoFuncionario(funcionario);
@@ -228,7 +205,7 @@ public class TelaFuncionarios extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
         
         // Verificar se é o admin (não pode ser excluído)
         if (id.equals("ADMIN-001")) {
@@ -246,10 +223,7 @@ public class TelaFuncionarios extends JPanel {
             JOptionPane.QUESTION_MESSAGE);
 
         if (confirmacao == JOptionPane.YES_OPTION) {
-            List<Funcionario> funcionarios = gerenciador.carregar();
-            
-            funcionarios.removeIf(f -> f.getId().equals(id));
-            gerenciador.salvar(funcionarios);
+            gerenciador.remover(id);
             carregarFuncionarios();
 
             JOptionPane.showMessageDialog(this,
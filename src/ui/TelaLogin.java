@@ -5,6 +5,7 @@ import domain.Cliente;
 import util.GeradorID;
 import util.Tema;
 import util.CorrecaoTema;
+import util.Icones;
 import util.CampoTextoPersonalizado;
 import util.CampoSenhaPersonalizado;
 import javax.swing.*;
@@ -333,13 +334,9 @@ public class TelaLogin extends JFrame {
         setLocationRelativeTo(null);
         
         // Icone da janela (se disponivel)
-        try {
-            ImageIcon icone = new ImageIcon("icons/autofacil.png");
-            if (icone.getIconWidth() > 0) {
-                setIconImage(icone.getImage());
-            }
-        } catch (Exception e) {
-            // Ignorar se não conseguir carregar o ícone
+        Image icone = Icones.imagem("autofacil.png");
+        if (icone != null) {
+            setIconImage(icone);
         }
         
         // Focar no campo usuário
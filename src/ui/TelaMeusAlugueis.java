@@ -2,35 +2,45 @@ package ui;
 
 import domain.Aluguel;
 import domain.Veiculo;
-import persistence.GerenciadorArquivos;
+import persistence.BuscaTexto;
+import persistence.ConsultaAlugueis;
+import persistence.Repositorio;
 import auth.GerenciadorAutenticacao;
 import util.Tema;
 import util.CorrecaoTema;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Tela para visualização de aluguéis do cliente logado
  */
-public class TelaMeusAlugueis extends JPanel {
+public class TelaMeusAlugueis extends JPanel implements PaineisSobDemanda.Liberavel {
 
     private JTable tabelaAlugueis;
-    private DefaultTableModel modeloTabela;
-    private GerenciadorArquivos<Aluguel> gerenciador;
-    private GerenciadorArquivos<Veiculo> gerenciadorVeiculos;
+    private ModeloTabelaEntidades<Aluguel> modeloTabela;
+    private CarregadorTabela<Aluguel> carregador;
+    private BuscaAdiada buscaAdiada;
+    private JLabel rotuloStatus;
+    private Repositorio<Aluguel> gerenciador;
+    private ConsultaAlugueis consultaAlugueis;
+    private Repositorio<Veiculo> gerenciadorVeiculos;
+    private BuscaTexto<Aluguel> buscaAlugueis;
+    private BuscaTexto<Veiculo> buscaVeiculos;
     private GerenciadorAutenticacao gerenciadorAuth;
     private JTextField campoBusca;
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private String clienteId;
 
     public TelaMeusAlugueis() {
-        this.gerenciador = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-        this.gerenciadorVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        this.gerenciador = Repositorio.alugueis();
+        this.consultaAlugueis = Repositorio.consultaAlugueis();
+        this.gerenciadorVeiculos = Repositorio.veiculos();
+        this.buscaAlugueis = gerenciador.novaBusca();
+        this.buscaVeiculos = gerenciadorVeiculos.novaBusca();
         this.gerenciadorAuth = GerenciadorAutenticacao.getInstance();
         
         // Obter ID do cliente logado
@@ -73,11 +83,8 @@ public class TelaMeusAlugueis extends JPanel {
         painelBusca.add(new JLabel("Buscar:"));
         
         campoBusca = new JTextField(20);
-        campoBusca.addKeyListener(new java.awt.event.KeyAdapter() {
-            public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarAlugueis();
-            }
-        });
+        // Busca após uma pausa na digitação, fora da EDT
+        buscaAdiada = BuscaAdiada.instalar(campoBusca, this::filtrarAlugueis);
         painelBusca.add(campoBusca);
 
         painel.add(painelBusca, BorderLayout.EAST);
@@ -86,17 +93,21 @@ public class TelaMeusAlugueis extends JPanel {
     }
 
     private void criarTabela() {
-        String[] colunas = {
-            "ID", "Veículo", "Data Início", "Data Fim",
-            "Valor Diário", "Valor Total", "Status"
-        };
-
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Valores formatados sob demanda, só para as linhas exibidas
+        modeloTabela = new ModeloTabelaEntidades<Aluguel>()
+            .coluna("ID", Aluguel::getId)
+            .coluna("Veículo", aluguel -> {
+                Veiculo veiculo = gerenciadorVeiculos.buscarPorId(aluguel.getVeiculoId());
+                return veiculo != null ?
+                    veiculo.getMarca() + " " + veiculo.getModelo() + " (" + veiculo.getPlaca() + ")" :
+                    "Veículo não encontrado";
+            })
+            .coluna("Data Início", aluguel -> aluguel.getDataInicio().format(FORMATO_DATA))
+            .coluna("Data Fim", aluguel -> aluguel.getDataFimReal() != null ?
+                aluguel.getDataFimReal().format(FORMATO_DATA) : aluguel.getDataFimPrevista().format(FORMATO_DATA))
+            .coluna("Valor Diário", aluguel -> String.format("R$ %.2f", aluguel.getValorDiaria()))
+            .coluna("Valor Total", aluguel -> String.format("R$ %.2f", aluguel.getValorTotal()))
+            .coluna("Status", aluguel -> aluguel.getStatus().getDescricao());
 
         tabelaAlugueis = new JTable(modeloTabela);
         tabelaAlugueis.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -134,6 +145,10 @@ public class TelaMeusAlugueis extends JPanel {
         btnAtualizar.addActionListener(e -> carregarAlugueis());
         CorrecaoTema.aplicarCorrecaoExtremaNimbus(btnAtualizar, Tema.VERDE, Color.WHITE);
 
+        // Estado do carregamento da tabela
+        rotuloStatus = new JLabel(" ");
+        painel.add(rotuloStatus);
+
         painel.add(btnNovoAluguel);
         painel.add(btnDetalhes);
         painel.add(btnAtualizar);
@@ -141,89 +156,43 @@ public class TelaMeusAlugueis extends JPanel {
         return painel;
     }
     
+    /**
+     * Cancela o carregamento em andamento e a busca pendente (tela descartada)
+     */
+    @Override
+    public void liberar() {
+        CarregadorTabela.cancelar(carregador);
+        carregador = null;
+        buscaAdiada.desinstalar();
+    }
+
     private void carregarAlugueis() {
-        modeloTabela.setRowCount(0);
-        List<Aluguel> todosAlugueis = gerenciador.carregar();
-        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-        
-        // Filtrar apenas os aluguéis do cliente logado
-        List<Aluguel> meusAlugueis = todosAlugueis.stream()
-                .filter(a -> a.getClienteId().equals(clienteId))
-                .collect(Collectors.toList());
-
-        for (Aluguel aluguel : meusAlugueis) {
-            // Buscar veículo
-            String descricaoVeiculo = veiculos.stream()
-                .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                .map(v -> v.getMarca() + " " + v.getModelo() + " (" + v.getPlaca() + ")")
-                .findFirst()
-                .orElse("Veículo não encontrado");
-
-            Object[] linha = {
-                aluguel.getId(),
-                descricaoVeiculo,
-                aluguel.getDataInicio().format(FORMATO_DATA),
-                aluguel.getDataFimReal() != null ? aluguel.getDataFimReal().format(FORMATO_DATA) : 
-                    aluguel.getDataFimPrevista().format(FORMATO_DATA),
-                String.format("R$ %.2f", aluguel.getValorDiaria()),
-                String.format("R$ %.2f", aluguel.getValorTotal()),
-                aluguel.getStatus().getDescricao()
-            };
-            modeloTabela.addRow(linha);
-        }
+        // Apenas os aluguéis do cliente logado (índice por cliente)
+        carregador = CarregadorTabela.iniciar(carregador, tabelaAlugueis, modeloTabela, rotuloStatus,
+            destino -> consultaAlugueis.porCliente(clienteId).forEach(destino));
     }
 
     private void filtrarAlugueis() {
-        String termo = campoBusca.getText().toLowerCase().trim();
+        String termo = campoBusca.getText().trim();
         
         if (termo.isEmpty()) {
             carregarAlugueis();
             return;
         }
 
-        modeloTabela.setRowCount(0);
-        List<Aluguel> todosAlugueis = gerenciador.carregar();
-        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-
-        // Filtrar apenas os aluguéis do cliente logado
-        List<Aluguel> meusAlugueis = todosAlugueis.stream()
-                .filter(a -> a.getClienteId().equals(clienteId))
-                .collect(Collectors.toList());
-
-        for (Aluguel aluguel : meusAlugueis) {
-            // Buscar veículo
-            Veiculo veiculo = veiculos.stream()
-                .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                .findFirst()
-                .orElse(null);
-
-            boolean incluir = aluguel.getId().toLowerCase().contains(termo) ||
-                             aluguel.getStatus().getDescricao().toLowerCase().contains(termo);
-
-            if (veiculo != null) {
-                incluir = incluir || veiculo.getMarca().toLowerCase().contains(termo) ||
-                         veiculo.getModelo().toLowerCase().contains(termo) ||
-                         veiculo.getPlaca().toLowerCase().contains(termo);
+        carregador = CarregadorTabela.buscar(carregador, tabelaAlugueis, modeloTabela, rotuloStatus, destino -> {
+            // Código/status do aluguel, ou veículo encontrado no índice de texto
+            Set<String> encontrados = new HashSet<>(buscaAlugueis.buscarIds(termo));
+            for (String id : buscaVeiculos.buscarIds(termo)) {
+                consultaAlugueis.porVeiculo(id).forEach(aluguel -> encontrados.add(aluguel.getId()));
             }
 
-            if (incluir) {
-                String descricaoVeiculo = veiculo != null ? 
-                    veiculo.getMarca() + " " + veiculo.getModelo() + " (" + veiculo.getPlaca() + ")" :
-                    "Veículo não encontrado";
-
-                Object[] linha = {
-                    aluguel.getId(),
-                    descricaoVeiculo,
-                    aluguel.getDataInicio().format(FORMATO_DATA),
-                    aluguel.getDataFimReal() != null ? aluguel.getDataFimReal().format(FORMATO_DATA) : 
-                        aluguel.getDataFimPrevista().format(FORMATO_DATA),
-                    String.format("R$ %.2f", aluguel.getValorDiaria()),
-                    String.format("R$ %.2f", aluguel.getValorTotal()),
-                    aluguel.getStatus().getDescricao()
-                };
-                modeloTabela.addRow(linha);
+            for (Aluguel aluguel : consultaAlugueis.porCliente(clienteId)) {
+                if (encontrados.contains(aluguel.getId())) {
+                    destino.accept(aluguel);
+                }
             }
-        }
+        });
     }
 
     private void verDetalhesAluguelSelecionado() {
@@ -237,13 +206,8 @@ public class TelaMeusAlugueis extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Aluguel> alugueis = gerenciador.carregar();
-        
-        Aluguel aluguel = alugueis.stream()
-            .filter(a -> a.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Aluguel aluguel = gerenciador.buscarPorId(id);
 
         if (aluguel != null) {
             mostrarDetalhesAluguel(aluguel);
@@ -252,11 +216,7 @@ public class TelaMeusAlugueis extends JPanel {
     
     private void mostrarDetalhesAluguel(Aluguel aluguel) {
         // Buscar informações do veículo
-        List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-        Veiculo veiculo = veiculos.stream()
-            .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-            .findFirst()
-            .orElse(null);
+        Veiculo veiculo = gerenciadorVeiculos.buscarPorId(aluguel.getVeiculoId());
         
         // Criar mensagem com detalhes
         StringBuilder detalhes = new StringBuilder();
@@ -4,9 +4,11 @@ import auth.GerenciadorAutenticacao;
 import util.Tema;
 import util.CorrecaoTema;
 import util.GeradorDadosExemplo;
+import util.Icones;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.function.Consumer;
 
 /**
@@ -22,24 +24,31 @@ public class TelaPrincipal extends JFrame {
     private JButton botaoLogout;
     private CardLayout cardLayout;
     
-    // Painéis das telas
-    private JPanel painelInicio;
-    private JPanel painelClientes;
-    private JPanel painelVeiculos;
-    private JPanel painelFuncionarios;
-    private JPanel painelAlugueis;
-    private JPanel painelMeusAlugueis;
-    private JPanel painelRelatorios;
+    // Painéis das telas (criados na primeira navegação)
+    private PaineisSobDemanda paineis;
     
     // Estado da sidebar
     private boolean sidebarExpandida = false; // Inicia fechada
+    // Último estado pedido (pode diferir do atual durante uma animação)
+    private boolean sidebarPedida = false;
     private final int LARGURA_SIDEBAR_EXPANDIDA = 250;
     private final int LARGURA_SIDEBAR_RECOLHIDA = 60;
+    private static final int TAMANHO_ICONE_SIDEBAR = 20;
     
     // Animação para expansão/recolhimento
     private Timer timerAnimacao;
     private final int DURACAO_ANIMACAO = 180; // Duração ligeiramente maior para suavidade
     private final int PASSOS_ANIMACAO = 18;   // Mais passos para uma animação mais suave
+    // Relatório de quadros de cada animação no console (-Dautofacil.medirAnimacao=true)
+    public static final String PROPRIEDADE_MEDIR_ANIMACAO = "autofacil.medirAnimacao";
+    
+    // Camada com a imagem da sidebar durante a animação
+    private final CamadaSidebar camadaSidebar = new CamadaSidebar();
+    private BufferedImage imagemSidebar;
+    
+    // Hover da sidebar por eventos de mouse
+    private Timer timerRecolher;
+    private final int ATRASO_RECOLHER = 250;
     
     public TelaPrincipal() {
         gerenciadorAuth = GerenciadorAutenticacao.getInstance();
@@ -197,18 +206,13 @@ public class TelaPrincipal extends JFrame {
         Color corTexto = Color.WHITE;
         
         // Carregar ícone antes de aplicar correção para que ele seja usado corretamente
-        try {
-            ImageIcon icone = new ImageIcon("icons/" + nomeIcone);
-            if (icone.getIconWidth() > 0) {
-                // Redimensionar ícone se necessário
-                Image img = icone.getImage().getScaledInstance(20, 20, Image.SCALE_SMOOTH);
-                botao.setIcon(new ImageIcon(img));
-                
-                // Guardar o ícone nas propriedades do botão para uso posterior
-                botao.putClientProperty("icone", new ImageIcon(img));
-            }
-        } catch (Exception e) {
-            // Ignorar se não conseguir carregar o ícone
+        // (decodificado e redimensionado uma única vez, compartilhado entre logins)
+        ImageIcon icone = Icones.obter(nomeIcone, TAMANHO_ICONE_SIDEBAR);
+        if (icone != null) {
+            botao.setIcon(icone);
+            
+            // Guardar o ícone nas propriedades do botão para uso posterior
+            botao.putClientProperty("icone", icone);
         }
         
         // Aplicar solução extrema com UI personalizada
@@ -271,7 +275,7 @@ public class TelaPrincipal extends JFrame {
                 });
                 
                 // Expandir a sidebar ao passar o mouse sobre qualquer botão
-                if (!sidebarExpandida) {
+                if (!sidebarPedida) {
                     SwingUtilities.invokeLater(() -> expandirSidebar());
                 }
             }
@@ -298,37 +302,32 @@ public class TelaPrincipal extends JFrame {
     }
     
     private void criarPaineisConteudo() {
+        paineis = new PaineisSobDemanda(painelConteudo, cardLayout);
+        
         // Painel de início
-        painelInicio = criarPainelInicio();
-        painelConteudo.add(painelInicio, "inicio");
+        paineis.adicionarFixo("inicio", criarPainelInicio());
         
         // Telas principais para funcionários
         if (gerenciadorAuth.isFuncionario()) {
-            painelClientes = new TelaClientes();
-            painelConteudo.add(painelClientes, "clientes");
-            
-            painelVeiculos = new TelaVeiculos();
-            painelConteudo.add(painelVeiculos, "veiculos");
-            
-            painelAlugueis = new TelaAlugueis();
-            painelConteudo.add(painelAlugueis, "alugueis");
+            paineis.registrar("clientes", TelaClientes::new);
+            paineis.registrar("veiculos", TelaVeiculos::new);
+            paineis.registrar("alugueis", TelaAlugueis::new);
             
             // Tela de relatórios
-            painelRelatorios = criarPainelRelatorios();
-            painelConteudo.add(painelRelatorios, "relatorios");
+            paineis.registrar("relatorios", this::criarPainelRelatorios);
         }
         
         // Tela específica para clientes
         if (gerenciadorAuth.isCliente()) {
-            painelMeusAlugueis = new TelaMeusAlugueis();
-            painelConteudo.add(painelMeusAlugueis, "meus_alugueis");
+            paineis.registrar("meus_alugueis", TelaMeusAlugueis::new);
         }
         
         // Tela específica para administradores
         if (gerenciadorAuth.isAdmin()) {
-            painelFuncionarios = new TelaFuncionarios();
-            painelConteudo.add(painelFuncionarios, "funcionarios");
+            paineis.registrar("funcionarios", TelaFuncionarios::new);
         }
+        
+        paineis.mostrar("inicio");
     }
     
     private JPanel criarPainelInicio() {
@@ -410,6 +409,9 @@ public class TelaPrincipal extends JFrame {
         // Barra superior
         JPanel barraSuperior = criarBarraSuperior();
         add(barraSuperior, BorderLayout.NORTH);
+        
+        // Camada da animação da sidebar, acima do conteúdo
+        getLayeredPane().add(camadaSidebar, JLayeredPane.PALETTE_LAYER);
     }
     
     private JPanel criarBarraSuperior() {
@@ -462,95 +464,80 @@ public class TelaPrincipal extends JFrame {
     }
     
     private void configurarEventos() {
-        // Declarando uma variável de membro para o timer global
-        final Timer[] timerGlobal = new Timer[1];
-        
-        // Timer global para verificar o estado do mouse na sidebar
-        timerGlobal[0] = new Timer(30, new ActionListener() { // Verificação mais frequente (30ms)
-            // Variáveis para controle de estado
-            private boolean mouseEstavaForaDaSidebar = true;
-            private boolean mouseEstavaEmTransicao = false;
-            private long ultimaVerificacao = 0;
-            
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                long tempoAtual = System.currentTimeMillis();
-                
-                // Limitar a frequência de verificação para evitar sobrecarga
-                if (tempoAtual - ultimaVerificacao < 15) { // Evita verificações excessivamente frequentes
-                    return;
-                }
-                ultimaVerificacao = tempoAtual;
-                
-                // Obter a posição atual do mouse
-                Point mousePos = MouseInfo.getPointerInfo().getLocation();
-                
-                // Converter para coordenadas da janela
-                SwingUtilities.convertPointFromScreen(mousePos, TelaPrincipal.this);
-                
-                // Verificar se a posição do mouse está na área da sidebar
-                boolean mouseNaSidebar = mousePos.x >= 0 && 
-                                        mousePos.x <= (sidebarExpandida ? LARGURA_SIDEBAR_EXPANDIDA : LARGURA_SIDEBAR_RECOLHIDA + 10) && 
-                                        mousePos.y >= 0 && 
-                                        mousePos.y <= getHeight();
-                                        
-                // Implementação com histerese para evitar oscilações
-                if (mouseNaSidebar && mouseEstavaForaDaSidebar && !mouseEstavaEmTransicao) {
-                    // Mouse entrou na área da sidebar - expandir
-                    mouseEstavaEmTransicao = true;
-                    expandirSidebar();
-                    // Programar reset do estado de transição após a animação
-                    new Timer(DURACAO_ANIMACAO + 50, evt -> {
-                        mouseEstavaEmTransicao = false;
-                        mouseEstavaForaDaSidebar = false;
-                        ((Timer)evt.getSource()).stop();
-                    }).start();
-                }
-                else if (!mouseNaSidebar && !mouseEstavaForaDaSidebar && !mouseEstavaEmTransicao) {
-                    // Mouse saiu da área da sidebar - recolher
-                    mouseEstavaEmTransicao = true;
-                    recolherSidebar();
-                    // Programar reset do estado de transição após a animação
-                    new Timer(DURACAO_ANIMACAO + 50, evt -> {
-                        mouseEstavaEmTransicao = false;
-                        mouseEstavaForaDaSidebar = true;
-                        ((Timer)evt.getSource()).stop();
-                    }).start();
-                }
+        // Recolhimento adiado: uma saída rápida e volta não fecha a sidebar
+        timerRecolher = new Timer(ATRASO_RECOLHER, e -> recolherSidebar());
+        timerRecolher.setRepeats(false);
+        
+        // Posição do mouse vinda dos próprios eventos (nenhum processamento em repouso)
+        final AWTEventListener ouvinteMouse = evento -> {
+            if (evento instanceof MouseEvent) {
+                verificarMouseSidebar((MouseEvent) evento);
             }
-        });
+        };
+        Toolkit.getDefaultToolkit().addAWTEventListener(ouvinteMouse,
+            AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK);
         
-        // Iniciar o timer
-        timerGlobal[0].start();
-        
-        // Adicionar um WindowListener para parar o timer quando a janela for fechada
+        // Adicionar um WindowListener para liberar os recursos quando a janela for fechada
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                // Parar o timer global
-                if (timerGlobal[0] != null) {
-                    timerGlobal[0].stop();
-                }
-                
                 // Parar o timer de animação se existir
                 if (timerAnimacao != null) {
                     timerAnimacao.stop();
                 }
+                
+                paineis.encerrar();
+            }
+            
+            @Override
+            public void windowClosed(WindowEvent e) {
+                // O ouvinte é global: precisa ser removido também no logout (dispose)
+                Toolkit.getDefaultToolkit().removeAWTEventListener(ouvinteMouse);
+                timerRecolher.stop();
             }
         });
     }
     
+    /**
+     * Expande ou recolhe a sidebar conforme a posição do mouse na janela
+     * Histerese: expande ao chegar perto da faixa recolhida e só recolhe
+     * quando o mouse passa da largura expandida (ou sai da janela).
+     */
+    private void verificarMouseSidebar(MouseEvent evento) {
+        Component origem = evento.getComponent();
+        if (origem == null || (origem != this && SwingUtilities.getWindowAncestor(origem) != this)) {
+            return;
+        }
+        
+        Point ponto = SwingUtilities.convertPoint(origem, evento.getPoint(), getRootPane());
+        boolean naJanela = ponto.x >= 0 && ponto.y >= 0 &&
+                           ponto.x < getRootPane().getWidth() && ponto.y < getRootPane().getHeight();
+        
+        if (naJanela && ponto.x <= LARGURA_SIDEBAR_RECOLHIDA + 10) {
+            timerRecolher.stop();
+            if (!sidebarPedida) {
+                expandirSidebar();
+            }
+        } else if (!naJanela || ponto.x > LARGURA_SIDEBAR_EXPANDIDA) {
+            // Também durante a expansão: o pedido é aplicado quando ela terminar
+            if (sidebarPedida && !timerRecolher.isRunning()) {
+                timerRecolher.start();
+            }
+        } else {
+            // Dentro da sidebar expandida
+            timerRecolher.stop();
+        }
+    }
+    
     private void configurarJanela() {
         setTitle("AutoFácil - Java Edition");
         setSize(1024, 768);
         setMinimumSize(new Dimension(800, 600));
         setLocationRelativeTo(null);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        try {
-            ImageIcon icone = new ImageIcon("icons/autofacil.png");
-            setIconImage(icone.getImage());
-        } catch (Exception e) {
-            System.err.println("Erro ao carregar ícone da aplicação: " + e.getMessage());
+        Image iconeAplicacao = Icones.imagem("autofacil.png");
+        if (iconeAplicacao != null) {
+            setIconImage(iconeAplicacao);
         }
         
         // Inicializar sidebar como fechada, ocultando textos dos botões
@@ -561,178 +548,239 @@ public class TelaPrincipal extends JFrame {
     }
     
     private void mostrarTela(String tela) {
-        cardLayout.show(painelConteudo, tela);
+        paineis.mostrar(tela);
     }
     
     private void expandirSidebar() {
-        if (sidebarExpandida) return;
-        
-        // Parar qualquer animação em andamento
+        if (sidebarPedida) return;
+        animarSidebar(true);
+    }
+    
+    private void recolherSidebar() {
+        if (!sidebarPedida) return;
+        animarSidebar(false);
+    }
+    
+    /**
+     * Anima a sidebar desenhando uma imagem dela em uma camada sobre o
+     * conteúdo: cada quadro só move a borda da camada, sem layout. O
+     * layout real muda uma única vez: no fim da expansão ou no início do
+     * recolhimento (a camada cobre a faixa enquanto isso).
+     */
+    private void animarSidebar(boolean expandir) {
+        // Uma animação por vez; um pedido feito durante ela é aplicado no fim
+        sidebarPedida = expandir;
         if (timerAnimacao != null && timerAnimacao.isRunning()) {
-            timerAnimacao.stop();
+            return;
+        }
+        if (expandir == sidebarExpandida) {
+            return;
         }
         
-        final int larguraInicial = painelSidebar.getWidth();
-        final int larguraFinal = LARGURA_SIDEBAR_EXPANDIDA;
-        final double totalVariacao = larguraFinal - larguraInicial;
-        final int atraso = DURACAO_ANIMACAO / PASSOS_ANIMACAO;
+        final int altura = painelSidebar.getHeight();
+        final int larguraInicial = expandir ? LARGURA_SIDEBAR_RECOLHIDA : LARGURA_SIDEBAR_EXPANDIDA;
+        final int larguraFinal = expandir ? LARGURA_SIDEBAR_EXPANDIDA : LARGURA_SIDEBAR_RECOLHIDA;
+        if (altura <= 0 || !isShowing()) {
+            // Janela ainda não exibida: aplicar direto
+            concluirAnimacaoSidebar(expandir);
+            return;
+        }
         
-        // Garantir que todos os componentes da sidebar estejam visíveis no início da animação
-        // Usar o EDT (Event Dispatch Thread) para evitar problemas de concorrência
-        SwingUtilities.invokeLater(() -> atualizarVisibilidadeTextosBotoes(true));
+        // Imagem da sidebar expandida (com textos), refeita só quando a altura muda
+        if (imagemSidebar == null || imagemSidebar.getHeight() != altura) {
+            imagemSidebar = renderizarSidebarExpandida(altura);
+        }
+        final BufferedImage imagem = imagemSidebar;
+        Point origem = SwingUtilities.convertPoint(painelSidebar.getParent(), painelSidebar.getLocation(),
+                                                   getLayeredPane());
+        camadaSidebar.iniciar(imagem, origem, larguraInicial, altura);
+        
+        if (!expandir) {
+            // O conteúdo ocupa o espaço já no início; a camada cobre a faixa
+            atualizarVisibilidadeTextosBotoes(false);
+            painelSidebar.setPreferredSize(new Dimension(larguraFinal, altura));
+            painelSidebar.revalidate();
+        }
         
-        final long tempoInicio = System.currentTimeMillis();
+        final long tempoInicio = System.nanoTime();
+        final long[] ultimoQuadro = {tempoInicio};
+        final long[] maiorIntervalo = {0};
+        final int[] quadros = {0};
         
-        timerAnimacao = new Timer(atraso, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                long tempoDecorrido = System.currentTimeMillis() - tempoInicio;
-                
-                // Calcular progresso usando uma função de suavização
-                double progresso = Math.min(1.0, (double)tempoDecorrido / DURACAO_ANIMACAO);
-                
-                // Função de suavização cúbica (easeInOutCubic) para uma animação mais natural
-                double progressoSuavizado;
-                if (progresso < 0.5) {
-                    progressoSuavizado = 4 * progresso * progresso * progresso;
-                } else {
-                    double f = ((2 * progresso) - 2);
-                    progressoSuavizado = 0.5 * (f * f * f + 2);
-                }
-                
-                // Calcular nova largura baseada no progresso
-                final int novaLargura = larguraInicial + (int)(totalVariacao * progressoSuavizado);
-                
-                if (progresso >= 1.0) {
-                    sidebarExpandida = true;
-                    timerAnimacao.stop();
-                    
-                    // Definir a largura final após a animação
-                    SwingUtilities.invokeLater(() -> {
-                        painelSidebar.setPreferredSize(new Dimension(larguraFinal, getHeight()));
-                        painelSidebar.revalidate();
-                        painelSidebar.repaint();
-                    });
-                } else {
-                    // Atualizar a UI de forma segura
-                    SwingUtilities.invokeLater(() -> {
-                        painelSidebar.setPreferredSize(new Dimension(novaLargura, getHeight()));
-                        painelSidebar.revalidate();
-                        painelSidebar.repaint();
-                    });
+        timerAnimacao = new Timer(DURACAO_ANIMACAO / PASSOS_ANIMACAO, e -> {
+            long agora = System.nanoTime();
+            maiorIntervalo[0] = Math.max(maiorIntervalo[0], agora - ultimoQuadro[0]);
+            ultimoQuadro[0] = agora;
+            quadros[0]++;
+            
+            // Calcular progresso usando uma função de suavização
+            double progresso = Math.min(1.0, (agora - tempoInicio) / 1_000_000.0 / DURACAO_ANIMACAO);
+            
+            // Função de suavização cúbica (easeInOutCubic) para uma animação mais natural
+            double progressoSuavizado;
+            if (progresso < 0.5) {
+                progressoSuavizado = 4 * progresso * progresso * progresso;
+            } else {
+                double f = ((2 * progresso) - 2);
+                progressoSuavizado = 0.5 * (f * f * f + 2);
+            }
+            
+            camadaSidebar.setLargura(larguraInicial + (int) ((larguraFinal - larguraInicial) * progressoSuavizado));
+            
+            if (progresso >= 1.0) {
+                timerAnimacao.stop();
+                concluirAnimacaoSidebar(expandir);
+                if (Boolean.getBoolean(PROPRIEDADE_MEDIR_ANIMACAO)) {
+                    long totalMs = (agora - tempoInicio) / 1_000_000;
+                    System.out.println(String.format(
+                        "Animação da sidebar: %d quadros em %d ms (média %.1f ms, maior intervalo %.1f ms, maior desenho %.2f ms)",
+                        quadros[0], totalMs, (double) totalMs / quadros[0], maiorIntervalo[0] / 1_000_000.0,
+                        camadaSidebar.getMaiorDesenhoNanos() / 1_000_000.0));
                 }
             }
         });
-        
         timerAnimacao.start();
     }
     
-    private void recolherSidebar() {
-        if (!sidebarExpandida) return;
+    private void concluirAnimacaoSidebar(boolean expandir) {
+        sidebarExpandida = expandir;
+        if (expandir) {
+            atualizarVisibilidadeTextosBotoes(true);
+            painelSidebar.setPreferredSize(new Dimension(LARGURA_SIDEBAR_EXPANDIDA, getHeight()));
+            painelSidebar.revalidate();
+        }
+        camadaSidebar.encerrar();
         
-        // Parar qualquer animação em andamento
-        if (timerAnimacao != null && timerAnimacao.isRunning()) {
-            timerAnimacao.stop();
+        // O mouse mudou de ideia durante a animação (ex.: saiu da sidebar ao expandir)
+        if (sidebarPedida != expandir) {
+            SwingUtilities.invokeLater(() -> animarSidebar(sidebarPedida));
         }
+    }
+    
+    /**
+     * Desenha a sidebar, como fica expandida, em uma imagem compatível com a tela
+     */
+    private BufferedImage renderizarSidebarExpandida(int altura) {
+        Dimension tamanhoAtual = painelSidebar.getSize();
+        boolean textosVisiveis = sidebarExpandida;
+        
+        atualizarVisibilidadeTextosBotoes(true);
+        painelSidebar.setSize(LARGURA_SIDEBAR_EXPANDIDA, altura);
+        painelSidebar.invalidate();
+        painelSidebar.validate();
+        
+        // A imagem é reutilizada: botões desenhados sem o destaque de hover
+        java.util.Map<JButton, Color[]> coresHover = new java.util.HashMap<>();
+        percorrerComponentesRecursivamente(painelSidebar, component -> {
+            if (component instanceof JButton && component.getBackground() != Tema.AZUL_ESCURO) {
+                JButton botao = (JButton) component;
+                coresHover.put(botao, new Color[] {botao.getBackground(), botao.getForeground()});
+                botao.setBackground(Tema.AZUL_ESCURO);
+                botao.setForeground(Color.WHITE);
+            }
+        });
         
-        final int larguraInicial = painelSidebar.getWidth();
-        final int larguraFinal = LARGURA_SIDEBAR_RECOLHIDA;
-        final double totalVariacao = larguraInicial - larguraFinal;
-        final int atraso = DURACAO_ANIMACAO / PASSOS_ANIMACAO;
+        BufferedImage imagem = getGraphicsConfiguration()
+            .createCompatibleImage(LARGURA_SIDEBAR_EXPANDIDA, altura);
+        Graphics2D g2d = imagem.createGraphics();
+        painelSidebar.paint(g2d);
+        g2d.dispose();
         
-        // Ocultar textos imediatamente para uma transição mais suave
-        atualizarVisibilidadeTextosBotoes(false);
+        coresHover.forEach((botao, cores) -> {
+            botao.setBackground(cores[0]);
+            botao.setForeground(cores[1]);
+        });
         
-        final long tempoInicio = System.currentTimeMillis();
+        // Voltar ao estado atual (o layout real muda só no fim ou no início da animação)
+        atualizarVisibilidadeTextosBotoes(textosVisiveis);
+        painelSidebar.setSize(tamanhoAtual);
+        painelSidebar.invalidate();
+        painelSidebar.validate();
+        return imagem;
+    }
+    
+    /**
+     * Camada (no JLayeredPane) que exibe a imagem da sidebar durante a animação
+     */
+    private static class CamadaSidebar extends JComponent {
+        private BufferedImage imagem;
+        private long maiorDesenhoNanos;
         
-        timerAnimacao = new Timer(atraso, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                long tempoDecorrido = System.currentTimeMillis() - tempoInicio;
-                
-                // Calcular progresso usando uma função de suavização
-                double progresso = Math.min(1.0, (double)tempoDecorrido / DURACAO_ANIMACAO);
-                
-                // Função de suavização cúbica (easeInOutCubic) para uma animação mais natural
-                double progressoSuavizado;
-                if (progresso < 0.5) {
-                    progressoSuavizado = 4 * progresso * progresso * progresso;
-                } else {
-                    double f = ((2 * progresso) - 2);
-                    progressoSuavizado = 0.5 * (f * f * f + 2);
-                }
-                
-                // Calcular nova largura baseada no progresso
-                final int novaLargura = larguraInicial - (int)(totalVariacao * progressoSuavizado);
-                
-                if (progresso >= 1.0) {
-                    sidebarExpandida = false;
-                    timerAnimacao.stop();
-                    
-                    // Definir a largura final após a animação
-                    SwingUtilities.invokeLater(() -> {
-                        painelSidebar.setPreferredSize(new Dimension(larguraFinal, getHeight()));
-                        painelSidebar.revalidate();
-                        painelSidebar.repaint();
-                    });
-                } else {
-                    // Atualizar a UI de forma segura
-                    SwingUtilities.invokeLater(() -> {
-                        painelSidebar.setPreferredSize(new Dimension(novaLargura, getHeight()));
-                        painelSidebar.revalidate();
-                        painelSidebar.repaint();
-                    });
-                }
-            }
-        });
+        CamadaSidebar() {
+            setOpaque(true);
+            setVisible(false);
+        }
         
-        timerAnimacao.start();
+        void iniciar(BufferedImage imagem, Point origem, int largura, int altura) {
+            this.imagem = imagem;
+            this.maiorDesenhoNanos = 0;
+            setBounds(origem.x, origem.y, largura, altura);
+            setVisible(true);
+        }
+        
+        void setLargura(int largura) {
+            // Só a faixa que mudou é repintada; nenhum layout é refeito
+            setBounds(getX(), getY(), largura, getHeight());
+        }
+        
+        void encerrar() {
+            setVisible(false);
+            imagem = null;
+        }
+        
+        long getMaiorDesenhoNanos() {
+            return maiorDesenhoNanos;
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (imagem != null) {
+                long inicio = System.nanoTime();
+                g.drawImage(imagem, 0, 0, null);
+                maiorDesenhoNanos = Math.max(maiorDesenhoNanos, System.nanoTime() - inicio);
+            }
+        }
     }
     
     /**
      * Atualiza a visibilidade dos textos nos botões da sidebar
      */
     private void atualizarVisibilidadeTextosBotoes(boolean mostrarTexto) {
-        // Usar SwingUtilities.invokeLater para garantir que as alterações de UI ocorram na EDT
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    // Percorrer todos os componentes da sidebar para atualizar a visibilidade do texto
-                    percorrerComponentesRecursivamente(painelSidebar, component -> {
-                        if (component instanceof JButton) {
-                            JButton botao = (JButton) component;
-                            if (!mostrarTexto) {
-                                // Só salvar o texto se ainda não tiver sido salvo
-                                if (botao.getClientProperty("textoOriginal") == null && 
-                                    botao.getText() != null && !botao.getText().isEmpty()) {
-                                    botao.putClientProperty("textoOriginal", botao.getText());
-                                    botao.setText("");
-                                }
-                            } else {
-                                Object textoOriginal = botao.getClientProperty("textoOriginal");
-                                if (textoOriginal != null) {
-                                    botao.setText(textoOriginal.toString());
-                                }
-                            }
-                            
-                            // Atualizar layout imediatamente para evitar atrasos visuais
-                            botao.invalidate();
-                            botao.revalidate();
-                            botao.repaint();
+        // Chamado sempre na EDT; síncrono para a imagem da animação já sair com os textos
+        try {
+            // Percorrer todos os componentes da sidebar para atualizar a visibilidade do texto
+            percorrerComponentesRecursivamente(painelSidebar, component -> {
+                if (component instanceof JButton) {
+                    JButton botao = (JButton) component;
+                    if (!mostrarTexto) {
+                        // Só salvar o texto se ainda não tiver sido salvo
+                        if (botao.getClientProperty("textoOriginal") == null && 
+                            botao.getText() != null && !botao.getText().isEmpty()) {
+                            botao.putClientProperty("textoOriginal", botao.getText());
+                            botao.setText("");
                         }
-                    });
+                    } else {
+                        Object textoOriginal = botao.getClientProperty("textoOriginal");
+                        if (textoOriginal != null) {
+                            botao.setText(textoOriginal.toString());
+                        }
+                    }
                     
-                    // Forçar a atualização imediata da UI para maior fluidez
-                    painelSidebar.invalidate();
-                    painelSidebar.revalidate();
-                    painelSidebar.repaint();
-                } catch (Exception e) {
-                    // Proteger contra possíveis exceções durante a atualização da UI
-                    System.err.println("Erro ao atualizar textos dos botões: " + e.getMessage());
+                    // Atualizar layout imediatamente para evitar atrasos visuais
+                    botao.invalidate();
+                    botao.revalidate();
+                    botao.repaint();
                 }
-            }
-        });
+            });
+            
+            // Forçar a atualização imediata da UI para maior fluidez
+            painelSidebar.invalidate();
+            painelSidebar.revalidate();
+            painelSidebar.repaint();
+        } catch (Exception e) {
+            // Proteger contra possíveis exceções durante a atualização da UI
+            System.err.println("Erro ao atualizar textos dos botões: " + e.getMessage());
+        }
     }
     
     /**
@@ -783,6 +831,7 @@ public class TelaPrincipal extends JFrame {
         
         if (opcao == JOptionPane.YES_OPTION) {
             gerenciadorAuth.logout();
+            paineis.encerrar();
             dispose();
             SwingUtilities.invokeLater(() -> new TelaLogin().setVisible(true));
         }
@@ -1,19 +1,31 @@
 package ui;
 
 import domain.*;
-import persistence.GerenciadorArquivos;
+import persistence.Agregados;
+import persistence.AnaliseReceita;
+import util.RelatorioCompilado;
+import util.Relatorios;
 import util.Tema;
-import util.PDFExporter;
+import util.Graficos;
+import util.Icones;
+import util.ServicoExportacao;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.File;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Tela de relatórios e gráficos do sistema
@@ -31,9 +43,25 @@ public class TelaRelatorios extends JPanel {
     private JPanel painelGraficoAtual;
     private JComboBox<String> comboTipoGrafico;
     private JButton botaoAtualizarGrafico;
+    private JButton botaoRecalcularTotais;
+    
+    // Filtros do gráfico de receita por período
+    private JPanel painelFiltrosReceita;
+    private JTextField campoInicioReceita;
+    private JTextField campoFimReceita;
+    private JComboBox<AnaliseReceita.Granularidade> comboGranularidade;
+    private JComboBox<AnaliseReceita.Agrupamento> comboAgrupamento;
     
     private String ultimoRelatorioGerado;
     
+    private static final int MESES_GRAFICO = 12;
+    private static final int GRAFICO_RECEITA = 4;
+    private static final int MAXIMO_PERIODOS_GRAFICO = 400;
+    private static final int MAXIMO_SERIES_GRAFICO = 6;
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("MM/yyyy");
+    private static final DateTimeFormatter FORMATO_ANO = DateTimeFormatter.ofPattern("yyyy");
+    
     public TelaRelatorios() {
         setLayout(new BorderLayout());
         Tema.configurarPainel(this);
@@ -102,6 +130,7 @@ public class TelaRelatorios extends JPanel {
         
         painelRelatorios.add(painelControlesRelatorios, BorderLayout.NORTH);
         painelRelatorios.add(painelPreview, BorderLayout.CENTER);
+        painelRelatorios.add(new PainelExportacoes(), BorderLayout.SOUTH);
         
         // Componentes painel gráficos
         JPanel painelControlesGraficos = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -112,6 +141,7 @@ public class TelaRelatorios extends JPanel {
             "Status dos Veículos", 
             "Veículos por Categoria", 
             "Aluguéis por Mês",
+            "Multas por Mês",
             "Receita por Período"
         });
         Tema.configurarComboBox(comboTipoGrafico);
@@ -124,6 +154,40 @@ public class TelaRelatorios extends JPanel {
         painelControlesGraficos.add(comboTipoGrafico);
         painelControlesGraficos.add(botaoAtualizarGrafico);
         
+        botaoRecalcularTotais = new JButton("Recalcular Totais");
+        botaoRecalcularTotais.setPreferredSize(new Dimension(150, 30));
+        botaoRecalcularTotais.setToolTipText("Recalcula os totais a partir dos dados cadastrados");
+        util.CorrecaoTema.aplicarCorrecaoExtremaNimbus(botaoRecalcularTotais, Tema.AZUL_ESCURO, Color.WHITE);
+        painelControlesGraficos.add(botaoRecalcularTotais);
+        
+        // Filtros da receita por período (visíveis só para esse gráfico)
+        painelFiltrosReceita = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        Tema.configurarPainel(painelFiltrosReceita);
+        
+        campoInicioReceita = new JTextField(
+            YearMonth.now().minusMonths(MESES_GRAFICO - 1).atDay(1).format(FORMATO_DATA), 10);
+        campoFimReceita = new JTextField(LocalDate.now().format(FORMATO_DATA), 10);
+        comboGranularidade = new JComboBox<>(AnaliseReceita.Granularidade.values());
+        comboGranularidade.setSelectedItem(AnaliseReceita.Granularidade.MES);
+        comboAgrupamento = new JComboBox<>(AnaliseReceita.Agrupamento.values());
+        Tema.configurarComboBox(comboGranularidade);
+        Tema.configurarComboBox(comboAgrupamento);
+        
+        painelFiltrosReceita.add(new JLabel("De:"));
+        painelFiltrosReceita.add(campoInicioReceita);
+        painelFiltrosReceita.add(new JLabel("Até:"));
+        painelFiltrosReceita.add(campoFimReceita);
+        painelFiltrosReceita.add(new JLabel("Por:"));
+        painelFiltrosReceita.add(comboGranularidade);
+        painelFiltrosReceita.add(new JLabel("Agrupar por:"));
+        painelFiltrosReceita.add(comboAgrupamento);
+        painelFiltrosReceita.setVisible(false);
+        
+        JPanel painelTopoGraficos = new JPanel(new BorderLayout());
+        Tema.configurarPainel(painelTopoGraficos);
+        painelTopoGraficos.add(painelControlesGraficos, BorderLayout.NORTH);
+        painelTopoGraficos.add(painelFiltrosReceita, BorderLayout.SOUTH);
+        
         // Área de exibição do gráfico
         JPanel painelGraficoContainer = new JPanel(new BorderLayout());
         Tema.configurarPainel(painelGraficoContainer);
@@ -135,14 +199,14 @@ public class TelaRelatorios extends JPanel {
         
         painelGraficoContainer.add(painelGraficoAtual, BorderLayout.CENTER);
         
-        painelGraficos.add(painelControlesGraficos, BorderLayout.NORTH);
+        painelGraficos.add(painelTopoGraficos, BorderLayout.NORTH);
         painelGraficos.add(painelGraficoContainer, BorderLayout.CENTER);
     }
     
     private void configurarLayout() {
         // Adicionar abas
-        abas.addTab("Relatórios", new ImageIcon("icons/relatorio.png"), painelRelatorios);
-        abas.addTab("Gráficos", new ImageIcon("icons/relatorio.png"), painelGraficos);
+        abas.addTab("Relatórios", Icones.obter("relatorio.png"), painelRelatorios);
+        abas.addTab("Gráficos", Icones.obter("relatorio.png"), painelGraficos);
         
         add(abas, BorderLayout.CENTER);
     }
@@ -156,506 +220,357 @@ public class TelaRelatorios extends JPanel {
         
         // Botão atualizar gráfico
         botaoAtualizarGrafico.addActionListener(e -> atualizarGrafico());
+        
+        // Filtros de período só para a receita
+        comboTipoGrafico.addActionListener(e ->
+            painelFiltrosReceita.setVisible(comboTipoGrafico.getSelectedIndex() == GRAFICO_RECEITA));
+        
+        // Botão recalcular totais (recuperação dos contadores)
+        botaoRecalcularTotais.addActionListener(e -> recalcularTotais());
     }
     
     private void gerarRelatorio() {
         String tipoRelatorio = (String) comboTipoRelatorio.getSelectedItem();
         JTextArea areaRelatorio = (JTextArea) ((JScrollPane) ((JPanel) painelRelatorios.getComponent(1)).getComponent(0)).getViewport().getView();
         
-        try {
-            // Limpar área de relatório
-            areaRelatorio.setText("Gerando relatório...");
-            
-            // Gerar conteúdo conforme tipo selecionado
-            switch (tipoRelatorio) {
-                case "Clientes":
-                    gerarRelatorioClientes(areaRelatorio);
-                    break;
-                case "Veículos":
-                    gerarRelatorioVeiculos(areaRelatorio);
-                    break;
-                case "Aluguéis":
-                    gerarRelatorioAlugueis(areaRelatorio);
-                    break;
-                case "Funcionários":
-                    gerarRelatorioFuncionarios(areaRelatorio);
-                    break;
-            }
-            
-            // Habilitar botão de exportação
-            botaoExportar.setEnabled(true);
-            
-        } catch (Exception ex) {
-            areaRelatorio.setText("Erro ao gerar relatório: " + ex.getMessage());
-            botaoExportar.setEnabled(false);
-            ex.printStackTrace();
+        // Definição compilada conforme tipo selecionado (a mesma usada no PDF)
+        final RelatorioCompilado<?> relatorio;
+        final String nome;
+        switch (tipoRelatorio) {
+            case "Clientes":
+                relatorio = Relatorios.CLIENTES;
+                nome = "clientes";
+                break;
+            case "Veículos":
+                relatorio = Relatorios.VEICULOS;
+                nome = "veiculos";
+                break;
+            case "Aluguéis":
+                relatorio = Relatorios.ALUGUEIS;
+                nome = "alugueis";
+                break;
+            case "Funcionários":
+                relatorio = Relatorios.FUNCIONARIOS;
+                nome = "funcionarios";
+                break;
+            default:
+                return;
         }
-    }
-    
-    private void gerarRelatorioClientes(JTextArea area) {
-        try {
-            GerenciadorArquivos<Cliente> gerenciador = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-            List<Cliente> clientes = gerenciador.carregar();
-            
-            StringBuilder relatorio = new StringBuilder();
-            relatorio.append("===========================================================\n");
-            relatorio.append("                RELATÓRIO DE CLIENTES                      \n");
-            relatorio.append("===========================================================\n\n");
-            relatorio.append(String.format("%-10s %-30s %-15s %-12s\n", "ID", "Nome", "CPF", "Data Cad."));
-            relatorio.append("-----------------------------------------------------------\n");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            
-            for (Cliente cliente : clientes) {
-                relatorio.append(String.format("%-10s %-30s %-15s %-12s\n",
-                    cliente.getId(),
-                    limitarTexto(cliente.getNome(), 30),
-                    cliente.getCpf(),
-                    cliente.getDataCadastro().format(formatter)
-                ));
+        
+        // Limpar área de relatório
+        areaRelatorio.setText("Gerando relatório...");
+        botaoGerar.setEnabled(false);
+        botaoExportar.setEnabled(false);
+        
+        // A passada pelos dados roda fora da EDT
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return relatorio.gerarTexto();
             }
             
-            relatorio.append("-----------------------------------------------------------\n");
-            relatorio.append("Total de clientes: ").append(clientes.size()).append("\n\n");
-            
-            long clientesAtivos = clientes.stream().filter(Cliente::isAtivo).count();
-            relatorio.append("Clientes ativos: ").append(clientesAtivos).append("\n");
-            relatorio.append("Clientes inativos: ").append(clientes.size() - clientesAtivos).append("\n");
-            
-            // Exibir na área de texto
-            area.setText(relatorio.toString());
-            ultimoRelatorioGerado = "clientes";
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar relatório de clientes: " + e.getMessage(), e);
-        }
+            @Override
+            protected void done() {
+                botaoGerar.setEnabled(true);
+                try {
+                    areaRelatorio.setText(get());
+                    areaRelatorio.setCaretPosition(0);
+                    ultimoRelatorioGerado = nome;
+                    
+                    // Habilitar botão de exportação
+                    botaoExportar.setEnabled(true);
+                } catch (Exception ex) {
+                    Throwable causa = ex.getCause() != null ? ex.getCause() : ex;
+                    areaRelatorio.setText("Erro ao gerar relatório de " + relatorio.getAssunto() + ": " + causa.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
     }
     
-    private void gerarRelatorioVeiculos(JTextArea area) {
-        try {
-            GerenciadorArquivos<Veiculo> gerenciador = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-            List<Veiculo> veiculos = gerenciador.carregar();
-            
-            StringBuilder relatorio = new StringBuilder();
-            relatorio.append("===========================================================\n");
-            relatorio.append("                RELATÓRIO DE VEÍCULOS                      \n");
-            relatorio.append("===========================================================\n\n");
-            relatorio.append(String.format("%-10s %-15s %-15s %-10s %-10s %-10s\n", 
-                "ID", "Modelo", "Marca", "Placa", "Ano", "Status"));
-            relatorio.append("-----------------------------------------------------------\n");
-            
-            for (Veiculo veiculo : veiculos) {
-                relatorio.append(String.format("%-10s %-15s %-15s %-10s %-10d %-10s\n",
-                    veiculo.getId(),
-                    limitarTexto(veiculo.getModelo(), 15),
-                    limitarTexto(veiculo.getMarca(), 15),
-                    veiculo.getPlaca(),
-                    veiculo.getAno(),
-                    veiculo.getStatus()
-                ));
-            }
-            
-            relatorio.append("-----------------------------------------------------------\n");
-            relatorio.append("Total de veículos: ").append(veiculos.size()).append("\n\n");
-            
-            // Contagem por status
-            relatorio.append("Por status:\n");
-            veiculos.stream()
-                .map(Veiculo::getStatus)
-                .distinct()
-                .forEach(status -> {
-                    long count = veiculos.stream()
-                        .filter(v -> v.getStatus() == status)
-                        .count();
-                    relatorio.append(status).append(": ").append(count).append("\n");
-                });
-            
-            // Exibir na área de texto
-            area.setText(relatorio.toString());
-            ultimoRelatorioGerado = "veiculos";
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar relatório de veículos: " + e.getMessage(), e);
+    private void exportarPDF() {
+        ServicoExportacao.TipoRelatorio tipo;
+        switch (ultimoRelatorioGerado) {
+            case "clientes":
+                tipo = ServicoExportacao.TipoRelatorio.CLIENTES;
+                break;
+            case "veiculos":
+                tipo = ServicoExportacao.TipoRelatorio.VEICULOS;
+                break;
+            case "alugueis":
+                tipo = ServicoExportacao.TipoRelatorio.ALUGUEIS;
+                break;
+            case "funcionarios":
+                tipo = ServicoExportacao.TipoRelatorio.FUNCIONARIOS;
+                break;
+            default:
+                return;
         }
+        
+        // A exportação roda em segundo plano; o andamento aparece no painel de exportações
+        ServicoExportacao.exportar(tipo, this::exportacaoEncerrada);
     }
     
-    private void gerarRelatorioAlugueis(JTextArea area) {
-        try {
-            GerenciadorArquivos<Aluguel> gerenciadorAluguel = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-            List<Aluguel> alugueis = gerenciadorAluguel.carregar();
-            
-            GerenciadorArquivos<Cliente> gerenciadorCliente = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-            List<Cliente> clientes = gerenciadorCliente.carregar();
-            
-            GerenciadorArquivos<Veiculo> gerenciadorVeiculo = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-            List<Veiculo> veiculos = gerenciadorVeiculo.carregar();
-            
-            StringBuilder relatorio = new StringBuilder();
-            relatorio.append("===========================================================\n");
-            relatorio.append("                RELATÓRIO DE ALUGUÉIS                      \n");
-            relatorio.append("===========================================================\n\n");
-            relatorio.append(String.format("%-10s %-20s %-15s %-12s %-12s %-10s %-10s\n", 
-                "ID", "Cliente", "Veículo", "Data Início", "Data Fim", "Valor", "Status"));
-            relatorio.append("-----------------------------------------------------------\n");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            
-            for (Aluguel aluguel : alugueis) {
-                // Buscar nome do cliente
-                String nomeCliente = clientes.stream()
-                    .filter(c -> c.getId().equals(aluguel.getClienteId()))
-                    .findFirst()
-                    .map(Cliente::getNome)
-                    .orElse("Não encontrado");
-                
-                // Buscar info do veículo
-                String infoVeiculo = veiculos.stream()
-                    .filter(v -> v.getId().equals(aluguel.getVeiculoId()))
-                    .findFirst()
-                    .map(v -> v.getMarca() + " " + v.getModelo())
-                    .orElse("Não encontrado");
-                
-                relatorio.append(String.format("%-10s %-20s %-15s %-12s %-12s %-10s %-10s\n",
-                    aluguel.getId(),
-                    limitarTexto(nomeCliente, 20),
-                    limitarTexto(infoVeiculo, 15),
-                    aluguel.getDataInicio().format(formatter),
-                    aluguel.getDataFimPrevista().format(formatter),
-                    "R$ " + aluguel.getValorTotal(),
-                    aluguel.getStatus()
-                ));
-            }
-            
-            relatorio.append("-----------------------------------------------------------\n");
-            relatorio.append("Total de aluguéis: ").append(alugueis.size()).append("\n\n");
-            
-            // Contagem por status
-            relatorio.append("Por status:\n");
-            alugueis.stream()
-                .map(Aluguel::getStatus)
-                .distinct()
-                .forEach(status -> {
-                    long count = alugueis.stream()
-                        .filter(a -> a.getStatus() == status)
-                        .count();
-                    relatorio.append(status).append(": ").append(count).append("\n");
-                });
-            
-            // Exibir na área de texto
-            area.setText(relatorio.toString());
-            ultimoRelatorioGerado = "alugueis";
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar relatório de aluguéis: " + e.getMessage(), e);
+    private void exportacaoEncerrada(ServicoExportacao.Tarefa tarefa) {
+        switch (tarefa.getEstado()) {
+            case CONCLUIDA:
+                // Tentar abrir o arquivo
+                PainelExportacoes.abrirArquivo(tarefa);
+                break;
+            case FALHOU:
+                JOptionPane.showMessageDialog(this, 
+                    "Erro ao exportar relatório de " + tarefa.getTipo().getDescricao().toLowerCase() + " para PDF.",
+                    "Exportação", JOptionPane.ERROR_MESSAGE);
+                break;
+            default:
+                break;
         }
     }
     
-    private void gerarRelatorioFuncionarios(JTextArea area) {
-        try {
-            GerenciadorArquivos<Funcionario> gerenciador = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
-            List<Funcionario> funcionarios = gerenciador.carregar();
-            
-            StringBuilder relatorio = new StringBuilder();
-            relatorio.append("===========================================================\n");
-            relatorio.append("               RELATÓRIO DE FUNCIONÁRIOS                   \n");
-            relatorio.append("===========================================================\n\n");
-            relatorio.append(String.format("%-10s %-25s %-15s %-15s %-12s\n", 
-                "ID", "Nome", "CPF", "Tipo", "Data Contr."));
-            relatorio.append("-----------------------------------------------------------\n");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            
-            for (Funcionario funcionario : funcionarios) {
-                relatorio.append(String.format("%-10s %-25s %-15s %-15s %-12s\n",
-                    funcionario.getId(),
-                    limitarTexto(funcionario.getNome(), 25),
-                    funcionario.getCpf(),
-                    funcionario.getTipo(),
-                    funcionario.getDataAdmissao().format(formatter)
-                ));
+    private void atualizarGrafico() {
+        final int tipoGrafico = comboTipoGrafico.getSelectedIndex();
+        if (tipoGrafico == GRAFICO_RECEITA) {
+            atualizarGraficoReceita();
+            return;
+        }
+        
+        // Os totais vêm em cache de Agregados; só são recalculados (fora da EDT) após alterações
+        new SwingWorker<Map<String, Number>, Void>() {
+            @Override
+            protected Map<String, Number> doInBackground() {
+                return dadosGrafico(tipoGrafico);
             }
             
-            relatorio.append("-----------------------------------------------------------\n");
-            relatorio.append("Total de funcionários: ").append(funcionarios.size()).append("\n\n");
-            
-            // Contagem por tipo
-            relatorio.append("Por tipo:\n");
-            funcionarios.stream()
-                .map(Funcionario::getTipo)
-                .distinct()
-                .forEach(tipo -> {
-                    long count = funcionarios.stream()
-                        .filter(f -> f.getTipo() == tipo)
-                        .count();
-                    relatorio.append(tipo).append(": ").append(count).append("\n");
-                });
-            
-            // Exibir na área de texto
-            area.setText(relatorio.toString());
-            ultimoRelatorioGerado = "funcionarios";
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar relatório de funcionários: " + e.getMessage(), e);
-        }
+            @Override
+            protected void done() {
+                JPanel novoGrafico;
+                try {
+                    novoGrafico = criarGrafico(tipoGrafico, get());
+                } catch (Exception e) {
+                    novoGrafico = new JPanel();
+                    novoGrafico.add(new JLabel("Erro ao gerar gráfico: " + e.getMessage()));
+                    e.printStackTrace();
+                }
+                exibirGrafico(novoGrafico);
+            }
+        }.execute();
     }
     
-    private void exportarPDF() {
+    /**
+     * Gráfico de receita no período, granularidade e agrupamento escolhidos
+     */
+    private void atualizarGraficoReceita() {
+        LocalDate inicio;
+        LocalDate fim;
         try {
-            String caminhoArquivo = null;
-            
-            switch (ultimoRelatorioGerado) {
-                case "clientes":
-                    caminhoArquivo = PDFExporter.exportarRelatorioClientes();
-                    break;
-                case "veiculos":
-                    caminhoArquivo = PDFExporter.exportarRelatorioVeiculos();
-                    break;
-                case "alugueis":
-                    caminhoArquivo = PDFExporter.exportarRelatorioAlugueis();
-                    break;
-                case "funcionarios":
-                    caminhoArquivo = PDFExporter.exportarRelatorioFuncionarios();
-                    break;
+            inicio = LocalDate.parse(campoInicioReceita.getText().trim(), FORMATO_DATA);
+            fim = LocalDate.parse(campoFimReceita.getText().trim(), FORMATO_DATA);
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Formato de data inválido (use dd/MM/yyyy)",
+                "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (fim.isBefore(inicio)) {
+            JOptionPane.showMessageDialog(this, "A data final deve ser igual ou posterior à inicial",
+                "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        final AnaliseReceita.Granularidade granularidade =
+            (AnaliseReceita.Granularidade) comboGranularidade.getSelectedItem();
+        final AnaliseReceita.Agrupamento agrupamento =
+            (AnaliseReceita.Agrupamento) comboAgrupamento.getSelectedItem();
+        if (contarPeriodos(inicio, fim, granularidade) > MAXIMO_PERIODOS_GRAFICO) {
+            JOptionPane.showMessageDialog(this,
+                "Período longo demais para exibir por " + granularidade.getDescricao().toLowerCase() +
+                ". Escolha um período menor ou uma granularidade maior.",
+                "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        new SwingWorker<Map<String, Map<String, BigDecimal>>, Void>() {
+            @Override
+            protected Map<String, Map<String, BigDecimal>> doInBackground() {
+                return seriesReceita(AnaliseReceita.consultar(inicio, fim, granularidade, agrupamento),
+                                     granularidade);
             }
             
-            if (caminhoArquivo != null) {
-                File arquivo = new File(caminhoArquivo);
-                
-                if (arquivo.exists()) {
-                    JOptionPane.showMessageDialog(this, 
-                        "Relatório exportado com sucesso para:\n" + caminhoArquivo,
-                        "Exportação", JOptionPane.INFORMATION_MESSAGE);
-                    
-                    // Tentar abrir o arquivo
-                    try {
-                        Desktop.getDesktop().open(arquivo);
-                    } catch (Exception ex) {
-                        // Ignorar se não conseguir abrir
+            @Override
+            protected void done() {
+                JPanel novoGrafico;
+                try {
+                    String titulo = "Receita de " + inicio.format(FORMATO_DATA) + " a " + fim.format(FORMATO_DATA);
+                    if (agrupamento == AnaliseReceita.Agrupamento.NENHUM) {
+                        novoGrafico = Graficos.criarLinha(titulo, granularidade.getDescricao(), "Receita (R$)",
+                                                          "Receita", get().get(AnaliseReceita.TOTAL));
+                    } else {
+                        novoGrafico = Graficos.criarLinhas(titulo + " por " + agrupamento.getDescricao().toLowerCase(),
+                                                           granularidade.getDescricao(), "Receita (R$)", get());
                     }
-                } else {
-                    JOptionPane.showMessageDialog(this, 
-                        "Erro: Arquivo não foi gerado corretamente.",
-                        "Exportação", JOptionPane.ERROR_MESSAGE);
+                } catch (Exception e) {
+                    novoGrafico = new JPanel();
+                    novoGrafico.add(new JLabel("Erro ao gerar gráfico: " + e.getMessage()));
+                    e.printStackTrace();
                 }
-            } else {
-                JOptionPane.showMessageDialog(this, 
-                    "Erro ao exportar relatório para PDF.",
-                    "Exportação", JOptionPane.ERROR_MESSAGE);
+                exibirGrafico(novoGrafico);
             }
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Erro ao exportar: " + e.getMessage(),
-                "Exportação", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        }.execute();
+    }
+    
+    private static long contarPeriodos(LocalDate inicio, LocalDate fim, AnaliseReceita.Granularidade granularidade) {
+        LocalDate primeiro = granularidade.inicioDoPeriodo(inicio);
+        switch (granularidade) {
+            case SEMANA: return ChronoUnit.WEEKS.between(primeiro, fim) + 1;
+            case MES: return ChronoUnit.MONTHS.between(primeiro, fim) + 1;
+            case ANO: return ChronoUnit.YEARS.between(primeiro, fim) + 1;
+            default: return ChronoUnit.DAYS.between(primeiro, fim) + 1;
         }
     }
     
-    private void atualizarGrafico() {
-        int tipoGrafico = comboTipoGrafico.getSelectedIndex();
-        
-        // Remover gráfico atual
-        painelGraficoAtual.removeAll();
+    /**
+     * Séries do gráfico de receita (grupo -> período -> valor), com todos os
+     * períodos preenchidos; além dos maiores grupos, o restante vira "Outros"
+     */
+    private static Map<String, Map<String, BigDecimal>> seriesReceita(
+            Map<LocalDate, Map<String, BigDecimal>> receita, AnaliseReceita.Granularidade granularidade) {
+        Map<String, BigDecimal> totalPorGrupo = new HashMap<>();
+        for (Map<String, BigDecimal> periodo : receita.values()) {
+            periodo.forEach((grupo, valor) -> totalPorGrupo.merge(grupo, valor, BigDecimal::add));
+        }
+        List<String> grupos = new ArrayList<>(totalPorGrupo.keySet());
+        grupos.sort((a, b) -> totalPorGrupo.get(b).compareTo(totalPorGrupo.get(a)));
+        if (grupos.isEmpty()) {
+            grupos.add(AnaliseReceita.TOTAL);
+        }
         
-        // Criar novo gráfico conforme seleção
-        JPanel novoGrafico;
+        Map<String, Map<String, BigDecimal>> series = new LinkedHashMap<>();
+        String outros = grupos.size() > MAXIMO_SERIES_GRAFICO ? "Outros" : null;
+        for (String grupo : grupos.subList(0, Math.min(grupos.size(), MAXIMO_SERIES_GRAFICO))) {
+            series.put(grupo, new LinkedHashMap<>());
+        }
+        if (outros != null) {
+            series.put(outros, new LinkedHashMap<>());
+        }
         
-        try {
-            // Implementação direta dos gráficos
-            switch (tipoGrafico) {
-                case 0: // Status dos Veículos (Pizza)
-                    // Obter dados de veículos
-                    GerenciadorArquivos<Veiculo> gerenciadorVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-                    List<Veiculo> veiculos = gerenciadorVeiculos.carregar();
-                    
-                    // Gerar gráfico de pizza (implementação básica)
-                    novoGrafico = new JPanel(new BorderLayout());
-                    
-                    // Contar status
-                    int disponiveis = 0, alugados = 0, manutencao = 0, inativos = 0;
-                    for (Veiculo v : veiculos) {
-                        switch (v.getStatus()) {
-                            case DISPONIVEL: disponiveis++; break;
-                            case ALUGADO: alugados++; break;
-                            case MANUTENCAO: manutencao++; break;
-                            case INATIVO: inativos++; break;
-                            default: break;
-                        }
-                    }
-                    
-                    // Exibir informações simples
-                    JTextArea info = new JTextArea();
-                    info.setEditable(false);
-                    info.append("Status de Veículos:\n\n");
-                    info.append("- Disponíveis: " + disponiveis + "\n");
-                    info.append("- Alugados: " + alugados + "\n");
-                    info.append("- Em Manutenção: " + manutencao + "\n");
-                    info.append("- Inativos: " + inativos + "\n");
-                    info.append("\nTotal: " + veiculos.size() + " veículos");
-                    
-                    novoGrafico.add(new JScrollPane(info), BorderLayout.CENTER);
-                    break;
-                    
-                case 1: // Veículos por Categoria (Barras)
-                    // Obter dados de veículos
-                    gerenciadorVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-                    veiculos = gerenciadorVeiculos.carregar();
-                    
-                    // Gerar gráfico de barras (implementação básica)
-                    novoGrafico = new JPanel(new BorderLayout());
-                    
-                    // Contar categorias
-                    int economico = 0, intermediario = 0, executivo = 0, luxo = 0, suv = 0, compacto = 0, pickup = 0;
-                    for (Veiculo v : veiculos) {
-                        switch (v.getCategoria()) {
-                            case ECONOMICO: economico++; break;
-                            case INTERMEDIARIO: intermediario++; break;
-                            case EXECUTIVO: executivo++; break;
-                            case LUXO: luxo++; break;
-                            case SUV: suv++; break;
-                            case COMPACTO: compacto++; break;
-                            case PICKUP: pickup++; break;
-                            default: break;
-                        }
-                    }
-                    
-                    // Exibir informações simples
-                    info = new JTextArea();
-                    info.setEditable(false);
-                    info.append("Categorias de Veículos:\n\n");
-                    info.append("- Econômico: " + economico + "\n");
-                    info.append("- Intermediário: " + intermediario + "\n");
-                    info.append("- Executivo: " + executivo + "\n");
-                    info.append("- Luxo: " + luxo + "\n");
-                    info.append("- SUV: " + suv + "\n");
-                    info.append("- Compacto: " + compacto + "\n");
-                    info.append("- Pickup: " + pickup + "\n");
-                    info.append("\nTotal: " + veiculos.size() + " veículos");
-                    
-                    novoGrafico.add(new JScrollPane(info), BorderLayout.CENTER);
-                    break;
-                    
-                case 2: // Aluguéis por Mês (Barras)
-                    // Obter dados de aluguéis
-                    GerenciadorArquivos<Aluguel> gerenciadorAlugueis = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-                    List<Aluguel> alugueis = gerenciadorAlugueis.carregar();
-                    
-                    // Gerar gráfico de barras (implementação básica)
-                    novoGrafico = new JPanel(new BorderLayout());
-                    
-                    // Exibir informações simples (últimos 6 meses)
-                    info = new JTextArea();
-                    info.setEditable(false);
-                    info.append("Aluguéis por Mês (Últimos 6 meses):\n\n");
-                    
-                    // Agrupar por mês (simplificado)
-                    int[] aluguelPorMes = new int[6];
-                    String[] nomesMeses = new String[6];
-                    
-                    // Preencher nomes dos meses
-                    LocalDate hoje = LocalDate.now();
-                    for (int i = 0; i < 6; i++) {
-                        LocalDate mesAnterior = hoje.minusMonths(i);
-                        nomesMeses[i] = mesAnterior.getMonth().name() + "/" + mesAnterior.getYear();
-                    }
-                    
-                    // Contar aluguéis por mês
-                    for (Aluguel a : alugueis) {
-                        for (int i = 0; i < 6; i++) {
-                            LocalDate mesAnterior = hoje.minusMonths(i);
-                            if (a.getDataInicio().getMonth() == mesAnterior.getMonth() && 
-                                a.getDataInicio().getYear() == mesAnterior.getYear()) {
-                                aluguelPorMes[i]++;
-                                break;
-                            }
-                        }
-                    }
-                    
-                    // Exibir dados
-                    for (int i = 0; i < 6; i++) {
-                        info.append("- " + nomesMeses[i] + ": " + aluguelPorMes[i] + " aluguéis\n");
-                    }
-                    
-                    info.append("\nTotal: " + alugueis.size() + " aluguéis");
-                    
-                    novoGrafico.add(new JScrollPane(info), BorderLayout.CENTER);
-                    break;
-                    
-                case 3: // Receita por Período (Linha)
-                    // Obter dados de aluguéis
-                    gerenciadorAlugueis = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-                    alugueis = gerenciadorAlugueis.carregar();
-                    
-                    // Gerar gráfico de linha (implementação básica)
-                    novoGrafico = new JPanel(new BorderLayout());
-                    
-                    // Exibir informações simples (últimos 6 meses)
-                    info = new JTextArea();
-                    info.setEditable(false);
-                    info.append("Receita por Mês (Últimos 6 meses):\n\n");
-                    
-                    // Agrupar por mês (simplificado)
-                    double[] receitaPorMes = new double[6];
-                    nomesMeses = new String[6];
-                    
-                    // Preencher nomes dos meses
-                    hoje = LocalDate.now();
-                    for (int i = 0; i < 6; i++) {
-                        LocalDate mesAnterior = hoje.minusMonths(i);
-                        nomesMeses[i] = mesAnterior.getMonth().name() + "/" + mesAnterior.getYear();
-                    }
-                    
-                    // Calcular receita por mês
-                    for (Aluguel a : alugueis) {
-                        if (a.getStatus() != Aluguel.StatusAluguel.CANCELADO) {
-                            for (int i = 0; i < 6; i++) {
-                                LocalDate mesAnterior = hoje.minusMonths(i);
-                                if (a.getDataInicio().getMonth() == mesAnterior.getMonth() && 
-                                    a.getDataInicio().getYear() == mesAnterior.getYear()) {
-                                    receitaPorMes[i] += a.getValorTotal().doubleValue();
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    
-                    // Exibir dados
-                    for (int i = 0; i < 6; i++) {
-                        info.append("- " + nomesMeses[i] + ": R$ " + String.format("%.2f", receitaPorMes[i]) + "\n");
-                    }
-                    
-                    // Calcular total
-                    double totalReceita = 0;
-                    for (double r : receitaPorMes) {
-                        totalReceita += r;
-                    }
-                    
-                    info.append("\nTotal: R$ " + String.format("%.2f", totalReceita));
-                    
-                    novoGrafico.add(new JScrollPane(info), BorderLayout.CENTER);
-                    break;
-                    
-                default:
-                    novoGrafico = new JPanel();
-                    novoGrafico.add(new JLabel("Gráfico não disponível"));
+        for (Map.Entry<LocalDate, Map<String, BigDecimal>> periodo : receita.entrySet()) {
+            String rotulo = rotuloPeriodo(periodo.getKey(), granularidade);
+            for (Map<String, BigDecimal> serie : series.values()) {
+                serie.put(rotulo, BigDecimal.ZERO);
             }
-        } catch (Exception e) {
-            novoGrafico = new JPanel();
-            novoGrafico.add(new JLabel("Erro ao gerar gráfico: " + e.getMessage()));
-            e.printStackTrace();
+            periodo.getValue().forEach((grupo, valor) ->
+                series.getOrDefault(grupo, series.get(outros)).merge(rotulo, valor, BigDecimal::add));
         }
-        
-        // Adicionar novo gráfico
+        return series;
+    }
+    
+    private static String rotuloPeriodo(LocalDate inicioPeriodo, AnaliseReceita.Granularidade granularidade) {
+        switch (granularidade) {
+            case MES: return inicioPeriodo.format(FORMATO_MES);
+            case ANO: return inicioPeriodo.format(FORMATO_ANO);
+            default: return inicioPeriodo.format(FORMATO_DATA);
+        }
+    }
+    
+    private void exibirGrafico(JPanel novoGrafico) {
+        // Substituir o gráfico atual
+        painelGraficoAtual.removeAll();
         painelGraficoAtual.add(novoGrafico, BorderLayout.CENTER);
-        
-        // Atualizar interface
         painelGraficoAtual.revalidate();
         painelGraficoAtual.repaint();
     }
     
-    private String limitarTexto(String texto, int tamanhoMaximo) {
-        if (texto == null) return "";
-        return texto.length() > tamanhoMaximo ? texto.substring(0, tamanhoMaximo - 3) + "..." : texto;
+    private void recalcularTotais() {
+        botaoRecalcularTotais.setEnabled(false);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                Agregados.reconstruir();
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                botaoRecalcularTotais.setEnabled(true);
+                try {
+                    get();
+                    atualizarGrafico();
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(TelaRelatorios.this,
+                        "Erro ao recalcular totais: " + e.getMessage(),
+                        "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Valores do gráfico selecionado, na ordem de exibição
+     */
+    private Map<String, Number> dadosGrafico(int tipoGrafico) {
+        Map<String, Number> dados = new LinkedHashMap<>();
+        switch (tipoGrafico) {
+            case 0: // Status dos Veículos
+                Map<Veiculo.Status, Integer> porStatus = Agregados.veiculosPorStatus();
+                for (Veiculo.Status status : Veiculo.Status.values()) {
+                    dados.put(status.getDescricao(), porStatus.getOrDefault(status, 0));
+                }
+                break;
+                
+            case 1: // Veículos por Categoria
+                Map<Veiculo.Categoria, Integer> porCategoria = Agregados.veiculosPorCategoria();
+                for (Veiculo.Categoria categoria : Veiculo.Categoria.values()) {
+                    dados.put(categoria.getDescricao(), porCategoria.getOrDefault(categoria, 0));
+                }
+                break;
+                
+            case 2: // Aluguéis por Mês (últimos 12 meses)
+                Map<YearMonth, Integer> porMes = Agregados.alugueisPorMes();
+                for (YearMonth mes : ultimosMeses()) {
+                    dados.put(mes.format(FORMATO_MES), porMes.getOrDefault(mes, 0));
+                }
+                break;
+                
+            case 3: // Multas por Mês de devolução (últimos 12 meses)
+                Map<YearMonth, BigDecimal> multasPorMes = Agregados.multasPorMes();
+                for (YearMonth mes : ultimosMeses()) {
+                    dados.put(mes.format(FORMATO_MES), multasPorMes.getOrDefault(mes, BigDecimal.ZERO));
+                }
+                break;
+                
+            default:
+                break;
+        }
+        return dados;
+    }
+    
+    private JPanel criarGrafico(int tipoGrafico, Map<String, Number> dados) {
+        switch (tipoGrafico) {
+            case 0:
+                return Graficos.criarPizza("Status dos Veículos", dados);
+            case 1:
+                return Graficos.criarBarras("Veículos por Categoria", "Categoria", "Quantidade",
+                                            "Veículos", dados);
+            case 2:
+                return Graficos.criarBarras("Aluguéis por Mês (últimos " + MESES_GRAFICO + " meses)",
+                                            "Mês", "Aluguéis", "Aluguéis", dados);
+            case 3:
+                return Graficos.criarBarras("Multas por Mês de Devolução (últimos " + MESES_GRAFICO + " meses)",
+                                            "Mês", "Multas (R$)", "Multas", dados);
+            default:
+                JPanel painel = new JPanel();
+                painel.add(new JLabel("Gráfico não disponível"));
+                return painel;
+        }
+    }
+    
+    // Meses do gráfico, do mais antigo ao atual
+    private static List<YearMonth> ultimosMeses() {
+        List<YearMonth> meses = new ArrayList<>();
+        YearMonth atual = YearMonth.now();
+        for (int i = MESES_GRAFICO - 1; i >= 0; i--) {
+            meses.add(atual.minusMonths(i));
+        }
+        return meses;
     }
     
     /**
@@ -1,32 +1,36 @@
 package ui;
 
 import domain.Veiculo;
-import persistence.GerenciadorArquivos;
+import persistence.BuscaTexto;
+import persistence.Repositorio;
 import util.Tema;
 import util.Validador;
 import util.Mascaras;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Tela para gerenciamento de veículos
  */
-public class TelaVeiculos extends JPanel {
+public class TelaVeiculos extends JPanel implements PaineisSobDemanda.Liberavel {
 
     private JTable tabelaVeiculos;
-    private DefaultTableModel modeloTabela;
-    private GerenciadorArquivos<Veiculo> gerenciador;
+    private ModeloTabelaEntidades<Veiculo> modeloTabela;
+    private CarregadorTabela<Veiculo> carregador;
+    private BuscaAdiada buscaAdiada;
+    private BuscaTexto<Veiculo> busca;
+    private JLabel rotuloStatus;
+    private Repositorio<Veiculo> gerenciador;
     private JTextField campoBusca;
 
     public TelaVeiculos() {
-        this.gerenciador = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        this.gerenciador = Repositorio.veiculos();
+        this.busca = gerenciador.novaBusca();
         inicializarComponentes();
         carregarVeiculos();
         aplicarTema();
@@ -64,11 +68,8 @@ public class TelaVeiculos extends JPanel {
         painelBusca.add(new JLabel("Buscar:"));
         
         campoBusca = new JTextField(20);
-        campoBusca.addKeyListener(new java.awt.event.KeyAdapter() {
-            public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarVeiculos();
-            }
-        });
+        // Busca após uma pausa na digitação, fora da EDT
+        buscaAdiada = BuscaAdiada.instalar(campoBusca, this::filtrarVeiculos);
         painelBusca.add(campoBusca);
 
         painel.add(painelBusca, BorderLayout.EAST);
@@ -77,17 +78,18 @@ public class TelaVeiculos extends JPanel {
     }
 
     private void criarTabela() {
-        String[] colunas = {
-            "ID", "Marca", "Modelo", "Placa", "Ano", "Cor", 
-            "Categoria", "Valor Diária", "Status", "Quilometragem"
-        };
-
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Valores formatados sob demanda, só para as linhas exibidas
+        modeloTabela = new ModeloTabelaEntidades<Veiculo>()
+            .coluna("ID", Veiculo::getId)
+            .coluna("Marca", Veiculo::getMarca)
+            .coluna("Modelo", Veiculo::getModelo)
+            .coluna("Placa", Veiculo::getPlaca)
+            .coluna("Ano", Veiculo::getAno)
+            .coluna("Cor", Veiculo::getCor)
+            .coluna("Categoria", veiculo -> veiculo.getCategoria().getDescricao())
+            .coluna("Valor Diária", veiculo -> "R$ " + veiculo.getValorDiaria())
+            .coluna("Status", veiculo -> veiculo.getStatus().getDescricao())
+            .coluna("Quilometragem", veiculo -> veiculo.getQuilometragem() + " km");
 
         tabelaVeiculos = new JTable(modeloTabela);
         tabelaVeiculos.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -134,6 +136,10 @@ public class TelaVeiculos extends JPanel {
         btnAtualizar.addActionListener(e -> carregarVeiculos());
         util.CorrecaoTema.aplicarCorrecaoExtremaNimbus(btnAtualizar, Tema.VERDE, Color.WHITE);
 
+        // Estado do carregamento da tabela
+        rotuloStatus = new JLabel(" ");
+        painel.add(rotuloStatus);
+
         painel.add(btnNovo);
         painel.add(btnEditar);
         painel.add(btnExcluir);
@@ -142,59 +148,32 @@ public class TelaVeiculos extends JPanel {
         return painel;
     }
 
+    /**
+     * Cancela o carregamento em andamento e a busca pendente (tela descartada)
+     */
+    @Override
+    public void liberar() {
+        CarregadorTabela.cancelar(carregador);
+        carregador = null;
+        buscaAdiada.desinstalar();
+    }
+
     private void carregarVeiculos() {
-        modeloTabela.setRowCount(0);
-        List<Veiculo> veiculos = gerenciador.carregar();
-
-        for (Veiculo veiculo : veiculos) {
-            Object[] linha = {
-                veiculo.getId(),
-                veiculo.getMarca(),
-                veiculo.getModelo(),
-                veiculo.getPlaca(),
-                veiculo.getAno(),
-                veiculo.getCor(),
-                veiculo.getCategoria().getDescricao(),
-                "R$ " + veiculo.getValorDiaria(),
-                veiculo.getStatus().getDescricao(),
-                veiculo.getQuilometragem() + " km"
-            };
-            modeloTabela.addRow(linha);
-        }
+        carregador = CarregadorTabela.iniciar(carregador, tabelaVeiculos, modeloTabela, rotuloStatus,
+            destino -> gerenciador.carregar().forEach(destino));
     }
 
     private void filtrarVeiculos() {
-        String termo = campoBusca.getText().toLowerCase().trim();
+        String termo = campoBusca.getText().trim();
         
         if (termo.isEmpty()) {
             carregarVeiculos();
             return;
         }
 
-        modeloTabela.setRowCount(0);
-        List<Veiculo> veiculos = gerenciador.carregar();
-
-        for (Veiculo veiculo : veiculos) {
-            if (veiculo.getMarca().toLowerCase().contains(termo) ||
-                veiculo.getModelo().toLowerCase().contains(termo) ||
-                veiculo.getPlaca().toLowerCase().contains(termo) ||
-                veiculo.getCor().toLowerCase().contains(termo)) {
-                
-                Object[] linha = {
-                    veiculo.getId(),
-                    veiculo.getMarca(),
-                    veiculo.getModelo(),
-                    veiculo.getPlaca(),
-                    veiculo.getAno(),
-                    veiculo.getCor(),
-                    veiculo.getCategoria().getDescricao(),
-                    "R$ " + veiculo.getValorDiaria(),
-                    veiculo.getStatus().getDescricao(),
-                    veiculo.getQuilometragem() + " km"
-                };
-                modeloTabela.addRow(linha);
-            }
-        }
+        // Busca pelo índice de texto (sem diferenciar acentos)
+        carregador = CarregadorTabela.buscar(carregador, tabelaVeiculos, modeloTabela, rotuloStatus,
+            destino -> busca.buscar(termo).forEach(destino));
     }
 
     private void abrirDialogoVeiculo(Veiculo veiculo) {
@@ -217,13 +196,8 @@ public class TelaVeiculos extends JPanel {
             return;
         }
 
-        String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-        List<Veiculo> veiculos = gerenciador.carregar();
-        
-        Veiculo veiculo = veiculos.stream()
-            .filter(v -> v.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+        Veiculo veiculo = gerenciador.buscarPorId(id);
 
         if (veiculo != null) {
             abrirDialogoVeiculo(veiculo);
@@ -248,11 +222,8 @@ public class TelaVeiculos extends JPanel {
             JOptionPane.QUESTION_MESSAGE);
 
         if (confirmacao == JOptionPane.YES_OPTION) {
-            String id = (String) modeloTabela.getValueAt(linhaSelecionada, 0);
-            List<Veiculo> veiculos = gerenciador.carregar();
-            
-            veiculos.removeIf(v -> v.getId().equals(id));
-            gerenciador.salvar(veiculos);
+            String id = modeloTabela.getEntidade(linhaSelecionada).getId();
+            gerenciador.remover(id);
             carregarVeiculos();
 
             JOptionPane.showMessageDialog(this,
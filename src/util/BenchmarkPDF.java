@@ -0,0 +1,173 @@
+package util;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+
+/**
+ * Benchmark da montagem das tabelas PDF: célula nova a cada addCell
+ * (caminho anterior) contra os modelos da FabricaCelulasPDF
+ * Gera uma tabela de 8 colunas como a do relatório de aluguéis, gravada
+ * em blocos como no PDFExporter, e mede tempo, linhas por segundo e
+ * bytes alocados pela thread (alocação por linha).
+ *
+ * Uso: java -cp "bin;lib/*" util.BenchmarkPDF [linhas] [repeticoes]
+ */
+public class BenchmarkPDF {
+
+    private enum Modo {
+        CELULA_NOVA("PdfPCell por célula"),
+        MODELOS("Modelos de célula");
+
+        private final String descricao;
+
+        Modo(String descricao) {
+            this.descricao = descricao;
+        }
+    }
+
+    private static final String[] CABECALHOS = {
+        "ID", "Cliente", "Veículo", "Data Início", "Data Fim", "Valor Total", "Status", "Data Devolução"
+    };
+
+    public static void main(String[] args) throws IOException, DocumentException {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        File diretorio = Files.createTempDirectory("autofacil-bench-pdf").toFile();
+        String[][] dados = gerarLinhas(linhas);
+
+        System.out.println("Benchmark de tabelas PDF - " + linhas + " linhas, " + repeticoes + " repetições");
+        System.out.println(String.format("%-22s %10s %12s %12s %12s %9s %10s",
+            "Modo", "Tempo(ms)", "Linhas/s", "Alocado(MB)", "Bytes/linha", "x Tempo", "x Alocação"));
+
+        double tempoBase = 0;
+        double alocadoBase = 0;
+        for (Modo modo : Modo.values()) {
+            File arquivo = new File(diretorio, "bench_" + modo.name().toLowerCase() + ".pdf");
+
+            // Aquecimento do JIT
+            gerar(modo, dados, arquivo);
+
+            long tempoNs = 0;
+            long alocados = 0;
+            for (int i = 0; i < repeticoes; i++) {
+                long alocadosAntes = bytesAlocados();
+                long inicio = System.nanoTime();
+                gerar(modo, dados, arquivo);
+                tempoNs += System.nanoTime() - inicio;
+                alocados += bytesAlocados() - alocadosAntes;
+            }
+
+            double tempoMs = tempoNs / 1e6 / repeticoes;
+            double alocadoMedio = (double) alocados / repeticoes;
+            if (modo == Modo.CELULA_NOVA) {
+                tempoBase = tempoMs;
+                alocadoBase = alocadoMedio;
+            }
+            boolean medeAlocacao = bytesAlocados() >= 0;
+            System.out.println(String.format("%-22s %10.1f %12.0f %12s %12s %8.2fx %10s",
+                modo.descricao, tempoMs, linhas / (tempoMs / 1000),
+                medeAlocacao ? String.format("%.1f", alocadoMedio / (1024 * 1024)) : "-",
+                medeAlocacao ? String.format("%.0f", alocadoMedio / linhas) : "-",
+                tempoBase / tempoMs,
+                medeAlocacao ? String.format("%.2fx", alocadoBase / alocadoMedio) : "-"));
+            arquivo.delete();
+        }
+        diretorio.delete();
+    }
+
+    private static void gerar(Modo modo, String[][] dados, File arquivo) throws IOException, DocumentException {
+        Document documento = new Document(PageSize.A4.rotate(), 36, 36, 54, 36);
+        PdfWriter.getInstance(documento, new BufferedOutputStream(new FileOutputStream(arquivo)));
+        documento.open();
+
+        PdfPTable tabela = new PdfPTable(CABECALHOS.length);
+        tabela.setWidthPercentage(100);
+        tabela.setComplete(false);
+        tabela.setHeaderRows(1);
+        FabricaCelulasPDF celulas = new FabricaCelulasPDF();
+        for (String cabecalho : CABECALHOS) {
+            if (modo == Modo.MODELOS) {
+                celulas.cabecalho(tabela, cabecalho);
+            } else {
+                addCelulaCabecalho(tabela, cabecalho);
+            }
+        }
+
+        boolean linhaPar = false;
+        for (int i = 0; i < dados.length; i++) {
+            for (String texto : dados[i]) {
+                if (modo == Modo.MODELOS) {
+                    celulas.celula(tabela, texto, linhaPar);
+                } else {
+                    addCelula(tabela, texto, linhaPar);
+                }
+            }
+            linhaPar = !linhaPar;
+            if ((i + 1) % PDFExporter.LINHAS_POR_BLOCO == 0) {
+                documento.add(tabela);
+            }
+        }
+        tabela.setComplete(true);
+        documento.add(tabela);
+        documento.close();
+    }
+
+    // Caminho anterior à FabricaCelulasPDF, mantido para comparação
+    private static void addCelulaCabecalho(PdfPTable tabela, String texto) {
+        PdfPCell celula = new PdfPCell(new Phrase(texto, PDFExporter.FONTE_CABECALHO));
+        celula.setBackgroundColor(PDFExporter.COR_CABECALHO);
+        celula.setHorizontalAlignment(Element.ALIGN_CENTER);
+        celula.setPadding(5);
+        tabela.addCell(celula);
+    }
+
+    private static void addCelula(PdfPTable tabela, String texto, boolean destacar) {
+        PdfPCell celula = new PdfPCell(new Phrase(texto, PDFExporter.FONTE_NORMAL));
+        if (destacar) {
+            celula.setBackgroundColor(PDFExporter.COR_LINHA_ALTERNADA);
+        }
+        celula.setPadding(4);
+        tabela.addCell(celula);
+    }
+
+    // Bytes alocados pela thread atual (-1 se a JVM não informa)
+    private static long bytesAlocados() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static String[][] gerarLinhas(int quantidade) {
+        String[][] linhas = new String[quantidade][];
+        for (int i = 0; i < quantidade; i++) {
+            linhas[i] = new String[] {
+                String.format("ALU-20250101000000-%06d", i),
+                "Cliente " + (i % 5000),
+                "Marca Modelo " + (i % 800),
+                String.format("%02d/%02d/2025", 1 + i % 28, 1 + i % 12),
+                String.format("%02d/%02d/2025", 1 + (i + 3) % 28, 1 + i % 12),
+                "R$ " + (80 + (i % 17) * 10) + ".00",
+                i % 3 == 0 ? "Finalizado" : "Ativo",
+                i % 3 == 0 ? String.format("%02d/%02d/2025", 1 + (i + 3) % 28, 1 + i % 12) : "-"
+            };
+        }
+        return linhas;
+    }
+}
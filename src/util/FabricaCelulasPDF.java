@@ -0,0 +1,52 @@
+package util;
+
+import com.itextpdf.text.AccessibleElementId;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+
+/**
+ * Células das tabelas PDF criadas a partir de modelos pré-configurados
+ * PdfPTable.addCell(PdfPCell) guarda uma cópia da célula recebida; assim
+ * cada estilo (cabeçalho, linha normal, linha alternada) é configurado uma
+ * única vez e reaproveitado, e por célula só são criados o texto (Phrase)
+ * e a cópia feita pela tabela. As fontes e cores são as constantes
+ * compartilhadas do PDFExporter.
+ *
+ * Os modelos são alterados a cada célula: use uma fábrica por tabela
+ * (uma exportação por thread).
+ */
+final class FabricaCelulasPDF {
+
+    private final PdfPCell modeloCabecalho = new PdfPCell();
+    private final PdfPCell modeloNormal = new PdfPCell();
+    private final PdfPCell modeloDestacado = new PdfPCell();
+
+    FabricaCelulasPDF() {
+        modeloCabecalho.setBackgroundColor(PDFExporter.COR_CABECALHO);
+        modeloCabecalho.setHorizontalAlignment(Element.ALIGN_CENTER);
+        modeloCabecalho.setPadding(5);
+
+        modeloNormal.setPadding(4);
+
+        modeloDestacado.setPadding(4);
+        modeloDestacado.setBackgroundColor(PDFExporter.COR_LINHA_ALTERNADA);
+    }
+
+    void cabecalho(PdfPTable tabela, String texto) {
+        adicionar(tabela, modeloCabecalho, new Phrase(texto, PDFExporter.FONTE_CABECALHO));
+    }
+
+    void celula(PdfPTable tabela, String texto, boolean destacar) {
+        adicionar(tabela, destacar ? modeloDestacado : modeloNormal, new Phrase(texto, PDFExporter.FONTE_NORMAL));
+    }
+
+    // Mesmo procedimento de PdfPTable.addCell(Phrase) com a defaultCell
+    private static void adicionar(PdfPTable tabela, PdfPCell modelo, Phrase texto) {
+        modelo.setPhrase(texto);
+        PdfPCell copia = tabela.addCell(modelo);
+        copia.setId(new AccessibleElementId());
+        modelo.setPhrase(null);
+    }
+}
@@ -1,7 +1,7 @@
 package util;
 
 import domain.*;
-import persistence.GerenciadorArquivos;
+import persistence.Repositorio;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -20,7 +20,7 @@ public class GeradorDadosExemplo {
     }
     
     private static void gerarFuncionariosExemplo() {
-        GerenciadorArquivos<Funcionario> gerenciador = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
+        Repositorio<Funcionario> gerenciador = Repositorio.funcionarios();
         List<Funcionario> funcionarios = gerenciador.carregar();
         
         if (funcionarios.size() <= 1) { // Só tem o admin padrão
@@ -54,7 +54,7 @@ public class GeradorDadosExemplo {
     }
     
     private static void gerarClientesExemplo() {
-        GerenciadorArquivos<Cliente> gerenciador = new GerenciadorArquivos<>("clientes.json", Cliente.class);
+        Repositorio<Cliente> gerenciador = Repositorio.clientes();
         List<Cliente> clientes = gerenciador.carregar();
         
         if (clientes.isEmpty()) {
@@ -100,7 +100,7 @@ public class GeradorDadosExemplo {
     }
     
     private static void gerarVeiculosExemplo() {
-        GerenciadorArquivos<Veiculo> gerenciador = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
+        Repositorio<Veiculo> gerenciador = Repositorio.veiculos();
         List<Veiculo> veiculos = gerenciador.carregar();
         
         if (veiculos.isEmpty()) {
@@ -216,14 +216,14 @@ public class GeradorDadosExemplo {
     }
     
     private static void gerarAlugueisExemplo() {
-        GerenciadorArquivos<Aluguel> gerenciador = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
+        Repositorio<Aluguel> gerenciador = Repositorio.alugueis();
         List<Aluguel> alugueis = gerenciador.carregar();
         
         if (alugueis.isEmpty()) {
             // Carregar clientes e veículos para referência
-            GerenciadorArquivos<Cliente> gerClientes = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-            GerenciadorArquivos<Veiculo> gerVeiculos = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-            GerenciadorArquivos<Funcionario> gerFuncionarios = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
+            Repositorio<Cliente> gerClientes = Repositorio.clientes();
+            Repositorio<Veiculo> gerVeiculos = Repositorio.veiculos();
+            Repositorio<Funcionario> gerFuncionarios = Repositorio.funcionarios();
             
             List<Cliente> clientes = gerClientes.carregar();
             List<Veiculo> veiculos = gerVeiculos.carregar();
@@ -0,0 +1,137 @@
+package util;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PiePlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.renderer.category.StandardBarPainter;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DefaultPieDataset;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Map;
+
+/**
+ * Gráficos JFreeChart usados pela tela de relatórios
+ * Os métodos só desenham: recebem os valores já agregados (veja
+ * persistence.Agregados) e não leem nenhum arquivo.
+ */
+public class Graficos {
+
+    private static final Color[] CORES_SERIE = {
+        Tema.AZUL_ESCURO, Tema.VERDE, Tema.LARANJA, Tema.VERMELHO,
+        new Color(103, 58, 183), new Color(0, 150, 136), new Color(121, 85, 72)
+    };
+
+    private Graficos() {
+    }
+
+    /**
+     * Gráfico de pizza; fatias com valor zero são omitidas
+     */
+    public static ChartPanel criarPizza(String titulo, Map<String, ? extends Number> valores) {
+        DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
+        for (Map.Entry<String, ? extends Number> valor : valores.entrySet()) {
+            if (valor.getValue().doubleValue() != 0) {
+                dataset.setValue(valor.getKey(), valor.getValue());
+            }
+        }
+
+        JFreeChart grafico = ChartFactory.createPieChart(titulo, dataset, true, true, false);
+        @SuppressWarnings("unchecked")
+        PiePlot<String> plot = (PiePlot<String>) grafico.getPlot();
+        int i = 0;
+        for (String chave : dataset.getKeys()) {
+            plot.setSectionPaint(chave, CORES_SERIE[i++ % CORES_SERIE.length]);
+        }
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setOutlineVisible(false);
+        plot.setNoDataMessage("Sem dados");
+        return criarPainel(grafico);
+    }
+
+    /**
+     * Gráfico de barras verticais com uma série
+     */
+    public static ChartPanel criarBarras(String titulo, String eixoCategorias, String eixoValores,
+                                         String serie, Map<String, ? extends Number> valores) {
+        JFreeChart grafico = ChartFactory.createBarChart(titulo, eixoCategorias, eixoValores,
+            criarDataset(serie, valores), PlotOrientation.VERTICAL, false, true, false);
+        CategoryPlot plot = grafico.getCategoryPlot();
+        BarRenderer renderer = (BarRenderer) plot.getRenderer();
+        renderer.setBarPainter(new StandardBarPainter());
+        renderer.setShadowVisible(false);
+        renderer.setSeriesPaint(0, Tema.AZUL_ESCURO);
+        configurarPlot(plot);
+        return criarPainel(grafico);
+    }
+
+    /**
+     * Gráfico de linha com uma série (ex.: evolução mensal)
+     */
+    public static ChartPanel criarLinha(String titulo, String eixoCategorias, String eixoValores,
+                                        String serie, Map<String, ? extends Number> valores) {
+        JFreeChart grafico = ChartFactory.createLineChart(titulo, eixoCategorias, eixoValores,
+            criarDataset(serie, valores), PlotOrientation.VERTICAL, false, true, false);
+        CategoryPlot plot = grafico.getCategoryPlot();
+        plot.getRenderer().setSeriesPaint(0, Tema.VERDE);
+        plot.getRenderer().setSeriesStroke(0, new BasicStroke(2.5f));
+        configurarPlot(plot);
+        return criarPainel(grafico);
+    }
+
+    /**
+     * Gráfico de linhas com várias séries (ex.: receita por grupo)
+     * @param series valores de cada série, por categoria do eixo
+     */
+    public static ChartPanel criarLinhas(String titulo, String eixoCategorias, String eixoValores,
+                                         Map<String, ? extends Map<String, ? extends Number>> series) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (Map.Entry<String, ? extends Map<String, ? extends Number>> serie : series.entrySet()) {
+            for (Map.Entry<String, ? extends Number> valor : serie.getValue().entrySet()) {
+                dataset.addValue(valor.getValue(), serie.getKey(), valor.getKey());
+            }
+        }
+        JFreeChart grafico = ChartFactory.createLineChart(titulo, eixoCategorias, eixoValores,
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        CategoryPlot plot = grafico.getCategoryPlot();
+        for (int i = 0; i < dataset.getRowCount(); i++) {
+            plot.getRenderer().setSeriesPaint(i, CORES_SERIE[i % CORES_SERIE.length]);
+            plot.getRenderer().setSeriesStroke(i, new BasicStroke(2.5f));
+        }
+        configurarPlot(plot);
+        return criarPainel(grafico);
+    }
+
+    private static DefaultCategoryDataset criarDataset(String serie, Map<String, ? extends Number> valores) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (Map.Entry<String, ? extends Number> valor : valores.entrySet()) {
+            dataset.addValue(valor.getValue(), serie, valor.getKey());
+        }
+        return dataset;
+    }
+
+    private static void configurarPlot(CategoryPlot plot) {
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setRangeGridlinePaint(Tema.CINZA_ESCURO);
+        plot.setOutlineVisible(false);
+        plot.setNoDataMessage("Sem dados");
+    }
+
+    private static ChartPanel criarPainel(JFreeChart grafico) {
+        grafico.setBackgroundPaint(Color.WHITE);
+        grafico.getTitle().setFont(new Font("Arial", Font.BOLD, 16));
+        grafico.getTitle().setPaint(Tema.AZUL_ESCURO);
+        if (grafico.getLegend() != null) {
+            grafico.getLegend().setBackgroundPaint(Color.WHITE);
+            grafico.getLegend().setItemFont(new Font("Arial", Font.PLAIN, 12));
+        }
+        ChartPanel painel = new ChartPanel(grafico);
+        painel.setBackground(Color.WHITE);
+        return painel;
+    }
+}
@@ -0,0 +1,108 @@
+package util;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache compartilhado dos ícones da pasta icons/
+ * Cada PNG é decodificado uma única vez (do classpath, quando empacotado
+ * no jar, ou do sistema de arquivos) e cada tamanho pedido é redimensionado
+ * uma única vez. As janelas recriadas após logout/login reutilizam tudo.
+ */
+public class Icones {
+
+    private static final String PASTA = "icons/";
+
+    // Ícones ausentes também ficam em cache (Optional vazio), sem novas buscas no disco
+    private static final Map<String, Optional<BufferedImage>> originais = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<ImageIcon>> redimensionados = new ConcurrentHashMap<>();
+
+    private Icones() {
+    }
+
+    /**
+     * Imagem original do ícone, ou null se não existir
+     */
+    public static Image imagem(String nome) {
+        return original(nome).orElse(null);
+    }
+
+    /**
+     * Ícone no tamanho original, ou null se não existir
+     */
+    public static ImageIcon obter(String nome) {
+        return obter(nome, 0);
+    }
+
+    /**
+     * Ícone quadrado de tamanho x tamanho pixels (0 = tamanho original),
+     * ou null se não existir
+     */
+    public static ImageIcon obter(String nome, int tamanho) {
+        return redimensionados.computeIfAbsent(nome + "@" + tamanho,
+            chave -> original(nome).map(imagem ->
+                new ImageIcon(tamanho > 0 ? redimensionar(imagem, tamanho) : imagem))).orElse(null);
+    }
+
+    /**
+     * Decodifica e redimensiona antecipadamente os ícones informados
+     */
+    public static void preCarregar(int tamanho, String... nomes) {
+        for (String nome : nomes) {
+            obter(nome, tamanho);
+        }
+    }
+
+    private static Optional<BufferedImage> original(String nome) {
+        return originais.computeIfAbsent(nome, Icones::ler);
+    }
+
+    private static Optional<BufferedImage> ler(String nome) {
+        try {
+            URL recurso = Icones.class.getResource("/" + PASTA + nome);
+            if (recurso != null) {
+                return Optional.ofNullable(ImageIO.read(recurso));
+            }
+            File arquivo = new File(PASTA + nome);
+            if (arquivo.isFile()) {
+                return Optional.ofNullable(ImageIO.read(arquivo));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar ícone " + nome + ": " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    // Reduções grandes são feitas pela metade a cada passo (qualidade próxima de SCALE_SMOOTH)
+    private static BufferedImage redimensionar(BufferedImage imagem, int tamanho) {
+        BufferedImage atual = imagem;
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        do {
+            largura = Math.max(tamanho, largura / 2);
+            altura = Math.max(tamanho, altura / 2);
+            if (atual.getWidth() < tamanho * 2 && atual.getHeight() < tamanho * 2) {
+                largura = tamanho;
+                altura = tamanho;
+            }
+            BufferedImage passo = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = passo.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(atual, 0, 0, largura, altura, null);
+            g2d.dispose();
+            atual = passo;
+        } while (largura != tamanho || altura != tamanho);
+        return atual;
+    }
+}
@@ -0,0 +1,82 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Modo de medição de CPU (ativado com -Dautofacil.medirCpu=true)
+ * A cada INTERVALO_MS imprime o tempo de CPU do processo e da Event
+ * Dispatch Thread no intervalo. Com a aplicação em repouso (janela
+ * parada ou minimizada) os dois devem ficar próximos de zero.
+ */
+public class MedidorCpu {
+
+    public static final String PROPRIEDADE = "autofacil.medirCpu";
+    public static final long INTERVALO_MS = 10_000;
+
+    private MedidorCpu() {
+    }
+
+    public static boolean ativado() {
+        return Boolean.getBoolean(PROPRIEDADE);
+    }
+
+    public static void iniciar() {
+        Thread thread = new Thread(MedidorCpu::medir, "medidor-cpu");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("Medição de CPU ativada (intervalo de " + INTERVALO_MS / 1000 + " s)");
+    }
+
+    private static void medir() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long processoAnterior = cpuProcesso();
+        long edtAnterior = cpuEdt(threads);
+        while (true) {
+            try {
+                Thread.sleep(INTERVALO_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long processo = cpuProcesso();
+            long edt = cpuEdt(threads);
+            long processoMs = processo >= 0 ? (processo - processoAnterior) / 1_000_000 : -1;
+            long edtMs = edt >= 0 && edtAnterior >= 0 ? (edt - edtAnterior) / 1_000_000 : -1;
+            System.out.println(String.format("CPU nos últimos %d s: processo %s, EDT %s",
+                INTERVALO_MS / 1000, formatar(processoMs), formatar(edtMs)));
+            processoAnterior = processo;
+            edtAnterior = edt;
+        }
+    }
+
+    private static String formatar(long milissegundos) {
+        if (milissegundos < 0) {
+            return "indisponível";
+        }
+        return String.format("%d ms (%.1f%%)", milissegundos, 100.0 * milissegundos / INTERVALO_MS);
+    }
+
+    // Tempo de CPU do processo em ns (-1 se a JVM não informa)
+    private static long cpuProcesso() {
+        OperatingSystemMXBean so = ManagementFactory.getOperatingSystemMXBean();
+        if (so instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) so).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    // Tempo de CPU da EDT em ns (-1 se ainda não existe ou não é suportado)
+    private static long cpuEdt(ThreadMXBean threads) {
+        if (!threads.isThreadCpuTimeSupported()) {
+            return -1;
+        }
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("AWT-EventQueue")) {
+                return threads.getThreadCpuTime(info.getThreadId());
+            }
+        }
+        return -1;
+    }
+}
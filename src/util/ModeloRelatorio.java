@@ -0,0 +1,187 @@
+package util;
+
+import persistence.Repositorio;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Definição declarativa de um relatório: colunas, formatação e resumos
+ * Cada coluna tem uma largura proporcional no PDF e uma largura em
+ * caracteres na prévia em texto (0 = coluna só no PDF). Os resumos
+ * (contagens, agrupamentos e somas) são acumulados na mesma passada
+ * que gera as linhas. compilar() resolve a definição uma única vez em
+ * um RelatorioCompilado, reutilizado a cada geração.
+ *
+ * @param <T> Tipo da entidade listada no relatório
+ */
+public class ModeloRelatorio<T> {
+
+    static final class Coluna<T> {
+        final String cabecalho;
+        final float larguraPdf;
+        final int larguraTexto;
+        final int limite;
+        final Function<? super T, String> valor;
+
+        Coluna(String cabecalho, float larguraPdf, int larguraTexto, int limite, Function<? super T, String> valor) {
+            this.cabecalho = cabecalho;
+            this.larguraPdf = larguraPdf;
+            this.larguraTexto = larguraTexto;
+            this.limite = limite;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Estado de um resumo durante uma geração
+     */
+    interface Acumulador<T> {
+        void adicionar(T entidade);
+
+        void escrever(List<String> resumo);
+    }
+
+    final String nomeArquivo;
+    final String titulo;
+    final String assunto;
+    final Supplier<Repositorio<T>> fonte;
+    // Outros repositórios lidos na formatação (ex.: nomes de clientes)
+    final List<Supplier<? extends Repositorio<?>>> dependencias = new ArrayList<>();
+    final List<Coluna<T>> colunas = new ArrayList<>();
+    // Um novo acumulador por geração
+    final List<Supplier<Acumulador<T>>> resumos = new ArrayList<>();
+    String rotuloTotal = "Total";
+    boolean paisagem = false;
+
+    /**
+     * @param nomeArquivo prefixo do arquivo exportado (ex.: relatorio_clientes)
+     * @param assunto usado nas mensagens de erro (ex.: clientes)
+     */
+    public ModeloRelatorio(String nomeArquivo, String titulo, String assunto, Supplier<Repositorio<T>> fonte) {
+        this.nomeArquivo = nomeArquivo;
+        this.titulo = titulo;
+        this.assunto = assunto;
+        this.fonte = fonte;
+    }
+
+    /**
+     * Página do PDF em paisagem (tabelas com muitas colunas)
+     */
+    public ModeloRelatorio<T> paisagem() {
+        this.paisagem = true;
+        return this;
+    }
+
+    /**
+     * Repositórios consultados pelas colunas além da fonte: alterações
+     * neles também invalidam o resultado guardado do relatório
+     */
+    public ModeloRelatorio<T> dependeDe(List<Supplier<? extends Repositorio<?>>> repositorios) {
+        dependencias.addAll(repositorios);
+        return this;
+    }
+
+    public ModeloRelatorio<T> coluna(String cabecalho, float larguraPdf, int larguraTexto,
+                                     Function<? super T, String> valor) {
+        return coluna(cabecalho, larguraPdf, larguraTexto, 0, valor);
+    }
+
+    /**
+     * @param limite tamanho máximo do texto (cortado com "..."), 0 = sem limite
+     */
+    public ModeloRelatorio<T> coluna(String cabecalho, float larguraPdf, int larguraTexto, int limite,
+                                     Function<? super T, String> valor) {
+        colunas.add(new Coluna<>(cabecalho, larguraPdf, larguraTexto, limite, valor));
+        return this;
+    }
+
+    /**
+     * Rótulo da linha com a quantidade de registros (primeira do resumo)
+     */
+    public ModeloRelatorio<T> total(String rotulo) {
+        this.rotuloTotal = rotulo;
+        return this;
+    }
+
+    public ModeloRelatorio<T> contagem(String rotulo, Predicate<? super T> condicao) {
+        resumos.add(() -> new Acumulador<T>() {
+            private int quantidade = 0;
+
+            @Override
+            public void adicionar(T entidade) {
+                if (condicao.test(entidade)) {
+                    quantidade++;
+                }
+            }
+
+            @Override
+            public void escrever(List<String> resumo) {
+                resumo.add(rotulo + ": " + quantidade);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Contagem por valor de um enum, na ordem das constantes
+     */
+    public <K extends Enum<K>> ModeloRelatorio<T> agrupamento(String rotulo, Class<K> tipo,
+                                                              Function<? super T, K> chave) {
+        resumos.add(() -> new Acumulador<T>() {
+            private final Map<K, Integer> contagem = new EnumMap<>(tipo);
+
+            @Override
+            public void adicionar(T entidade) {
+                K valor = chave.apply(entidade);
+                if (valor != null) {
+                    contagem.merge(valor, 1, Integer::sum);
+                }
+            }
+
+            @Override
+            public void escrever(List<String> resumo) {
+                resumo.add(rotulo + ":");
+                contagem.forEach((valor, quantidade) -> resumo.add(valor + ": " + quantidade));
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Soma de um valor monetário (exibida em R$) dos registros que atendem à condição
+     */
+    public ModeloRelatorio<T> soma(String rotulo, Predicate<? super T> condicao,
+                                   Function<? super T, BigDecimal> valor) {
+        resumos.add(() -> new Acumulador<T>() {
+            private BigDecimal soma = BigDecimal.ZERO;
+
+            @Override
+            public void adicionar(T entidade) {
+                BigDecimal parcela = valor.apply(entidade);
+                if (parcela != null && condicao.test(entidade)) {
+                    soma = soma.add(parcela);
+                }
+            }
+
+            @Override
+            public void escrever(List<String> resumo) {
+                resumo.add(rotulo + ": R$ " + soma);
+            }
+        });
+        return this;
+    }
+
+    public RelatorioCompilado<T> compilar() {
+        if (colunas.isEmpty()) {
+            throw new IllegalStateException("Relatório sem colunas: " + nomeArquivo);
+        }
+        return new RelatorioCompilado<>(this);
+    }
+}
@@ -1,29 +1,24 @@
 package util;
 
-import domain.*;
-import persistence.GerenciadorArquivos;
-
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
 
 // iText imports
 import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Element;
+import com.itextpdf.text.ExceptionConverter;
 import com.itextpdf.text.Font;
 import com.itextpdf.text.FontFactory;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.Phrase;
 import com.itextpdf.text.Rectangle;
-import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.itextpdf.text.BaseColor;
@@ -37,20 +32,20 @@ import com.itextpdf.text.Image;
 public class PDFExporter {
     
     private static final String DIRETORIO_EXPORT = "export";
-    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    static final int LINHAS_POR_BLOCO = 100;
     
     // Fontes para o PDF
     private static final Font FONTE_TITULO = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
     private static final Font FONTE_SUBTITULO = FontFactory.getFont(FontFactory.HELVETICA, 12, BaseColor.DARK_GRAY);
-    private static final Font FONTE_CABECALHO = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE);
-    private static final Font FONTE_NORMAL = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+    static final Font FONTE_CABECALHO = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE);
+    static final Font FONTE_NORMAL = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
     private static final Font FONTE_FOOTER = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 8, BaseColor.DARK_GRAY);
     
     // Cores para o PDF
-    private static final BaseColor COR_CABECALHO = new BaseColor(31, 78, 121); // Azul escuro
-    private static final BaseColor COR_LINHA_ALTERNADA = new BaseColor(240, 240, 240); // Cinza claro
+    static final BaseColor COR_CABECALHO = new BaseColor(31, 78, 121); // Azul escuro
+    static final BaseColor COR_LINHA_ALTERNADA = new BaseColor(240, 240, 240); // Cinza claro
     
     /**
      * Inicializa o diretório de export se não existir
@@ -108,387 +103,215 @@ public class PDFExporter {
     }
     
     /**
-     * Exporta relatório de clientes para PDF
+     * Acompanhamento de uma exportação em andamento
+     * Recebe o progresso a cada bloco de linhas gravado e pode pedir o
+     * cancelamento, verificado entre os blocos.
      */
-    public static String exportarRelatorioClientes() {
-        inicializarDiretorio();
-        String nomeArquivo = "relatorio_clientes_" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".pdf";
-        String caminhoCompleto = DIRETORIO_EXPORT + File.separator + nomeArquivo;
-        
-        Document documento = new Document(PageSize.A4, 36, 36, 54, 36);
-        
-        try {
-            PdfWriter.getInstance(documento, new FileOutputStream(caminhoCompleto));
-            documento.open();
-            
-            // Cabeçalho
-            adicionarCabecalhoPDF(documento, "RELATÓRIO DE CLIENTES");
-            
-            // Carregar dados
-            GerenciadorArquivos<Cliente> gerenciador = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-            List<Cliente> clientes = gerenciador.carregar();
-            
-            // Criar tabela
-            PdfPTable tabela = new PdfPTable(6);
-            tabela.setWidthPercentage(100);
-            tabela.setWidths(new float[]{1, 3, 2, 3, 2, 2});
-            
-            // Cabeçalho da tabela
-            addCelulaCabecalho(tabela, "ID");
-            addCelulaCabecalho(tabela, "Nome");
-            addCelulaCabecalho(tabela, "CPF");
-            addCelulaCabecalho(tabela, "E-mail");
-            addCelulaCabecalho(tabela, "Telefone");
-            addCelulaCabecalho(tabela, "Data Cad.");
-            
-            // Dados dos clientes
-            boolean linhaPar = false;
-            for (Cliente cliente : clientes) {
-                addCelula(tabela, cliente.getId(), linhaPar);
-                addCelula(tabela, limitarTexto(cliente.getNome(), 30), linhaPar);
-                addCelula(tabela, cliente.getCpf(), linhaPar);
-                addCelula(tabela, limitarTexto(cliente.getEmail(), 30), linhaPar);
-                addCelula(tabela, cliente.getTelefone(), linhaPar);
-                addCelula(tabela, cliente.getDataCadastro().format(FORMATO_DATA), linhaPar);
-                linhaPar = !linhaPar;
-            }
-            
-            documento.add(tabela);
-            
-            // Estatísticas adicionais
-            documento.add(new Paragraph(" "));
-            
-            Paragraph estatisticas = new Paragraph();
-            estatisticas.add(new Phrase("Total de clientes: " + clientes.size() + "\n", FONTE_NORMAL));
-            
-            long clientesAtivos = clientes.stream().filter(Cliente::isAtivo).count();
-            estatisticas.add(new Phrase("Clientes ativos: " + clientesAtivos + "\n", FONTE_NORMAL));
-            estatisticas.add(new Phrase("Clientes inativos: " + (clientes.size() - clientesAtivos), FONTE_NORMAL));
-            
-            documento.add(estatisticas);
-            
-            // Rodapé
-            adicionarRodapePDF(documento);
-            
-            return caminhoCompleto;
-            
-        } catch (DocumentException | IOException e) {
-            System.err.println("Erro ao gerar PDF de clientes: " + e.getMessage());
-            return null;
-        } finally {
-            documento.close();
+    public interface Acompanhamento {
+        Acompanhamento NENHUM = new Acompanhamento() { };
+
+        /**
+         * @param total quantidade de linhas da tabela, ou -1 se desconhecida
+         */
+        default void progresso(int linhasEscritas, int total) {
+        }
+
+        default boolean cancelado() {
+            return false;
         }
     }
-    
+
+    // Corpo de um relatório: tabela e estatísticas, entre cabeçalho e rodapé
+    private interface Conteudo {
+        void escrever(Document documento, Acompanhamento acompanhamento) throws DocumentException;
+    }
+
     /**
-     * Exporta relatório de veículos para PDF
+     * Tabela grande escrita em blocos (modo incompleto do iText)
+     * A cada LINHAS_POR_BLOCO linhas a tabela é adicionada ao documento: as
+     * linhas já completas vão para a página e são descartadas, e as páginas
+     * prontas são gravadas no arquivo. A memória usada não depende do
+     * tamanho do relatório. O cabeçalho se repete em cada página. Ao
+     * concluir, o resumo do relatório é escrito abaixo da tabela.
      */
-    public static String exportarRelatorioVeiculos() {
-        inicializarDiretorio();
-        String nomeArquivo = "relatorio_veiculos_" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".pdf";
-        String caminhoCompleto = DIRETORIO_EXPORT + File.separator + nomeArquivo;
-        
-        Document documento = new Document(PageSize.A4, 36, 36, 54, 36);
-        
-        try {
-            PdfWriter.getInstance(documento, new FileOutputStream(caminhoCompleto));
-            documento.open();
-            
-            // Cabeçalho
-            adicionarCabecalhoPDF(documento, "RELATÓRIO DE VEÍCULOS");
-            
-            // Carregar dados
-            GerenciadorArquivos<Veiculo> gerenciador = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-            List<Veiculo> veiculos = gerenciador.carregar();
-            
-            // Criar tabela
-            PdfPTable tabela = new PdfPTable(7);
+    private static final class TabelaEmBlocos implements SaidaRelatorio {
+        private final Document documento;
+        private final PdfPTable tabela;
+        private final FabricaCelulasPDF celulas = new FabricaCelulasPDF();
+        private final Acompanhamento acompanhamento;
+        private final int total;
+        private int linhas = 0;
+        private boolean linhaPar = false;
+
+        TabelaEmBlocos(Document documento, Acompanhamento acompanhamento, int total,
+                       float[] larguras, String... cabecalhos) throws DocumentException {
+            this.documento = documento;
+            this.acompanhamento = acompanhamento;
+            this.total = total;
+            this.tabela = new PdfPTable(cabecalhos.length);
             tabela.setWidthPercentage(100);
-            tabela.setWidths(new float[]{1, 2, 2, 2, 1, 1.5f, 1.5f});
-            
-            // Cabeçalho da tabela
-            addCelulaCabecalho(tabela, "ID");
-            addCelulaCabecalho(tabela, "Modelo");
-            addCelulaCabecalho(tabela, "Marca");
-            addCelulaCabecalho(tabela, "Placa");
-            addCelulaCabecalho(tabela, "Ano");
-            addCelulaCabecalho(tabela, "Categoria");
-            addCelulaCabecalho(tabela, "Status");
-            
-            // Dados dos veículos
-            boolean linhaPar = false;
-            for (Veiculo veiculo : veiculos) {
-                addCelula(tabela, veiculo.getId(), linhaPar);
-                addCelula(tabela, veiculo.getModelo(), linhaPar);
-                addCelula(tabela, veiculo.getMarca(), linhaPar);
-                addCelula(tabela, veiculo.getPlaca(), linhaPar);
-                addCelula(tabela, String.valueOf(veiculo.getAno()), linhaPar);
-                addCelula(tabela, veiculo.getCategoria().toString(), linhaPar);
-                addCelula(tabela, veiculo.getStatus().toString(), linhaPar);
-                linhaPar = !linhaPar;
+            tabela.setWidths(larguras);
+            tabela.setComplete(false);
+            tabela.setHeaderRows(1);
+            for (String cabecalho : cabecalhos) {
+                celulas.cabecalho(tabela, cabecalho);
             }
-            
-            documento.add(tabela);
-            
-            // Estatísticas adicionais
-            documento.add(new Paragraph(" "));
-            
-            Paragraph estatisticas = new Paragraph();
-            estatisticas.add(new Phrase("Total de veículos: " + veiculos.size() + "\n", FONTE_NORMAL));
-            
-            // Contagem por status
-            Map<Veiculo.Status, Long> contagemStatus = veiculos.stream()
-                .collect(Collectors.groupingBy(Veiculo::getStatus, Collectors.counting()));
+            acompanhamento.progresso(0, total);
+        }
+
+        /**
+         * Adiciona uma linha; erros do iText saem como ExceptionConverter
+         * (não verificada), para uso dentro de Repositorio.paraCada
+         * @throws CancellationException se o cancelamento foi pedido
+         */
+        @Override
+        public void linha(String[] textos) {
+            for (String texto : textos) {
+                celulas.celula(tabela, texto, linhaPar);
+            }
+            linhaPar = !linhaPar;
+            if (++linhas % LINHAS_POR_BLOCO == 0) {
+                try {
+                    documento.add(tabela);
+                } catch (DocumentException e) {
+                    throw new ExceptionConverter(e);
+                }
+                acompanhamento.progresso(linhas, total);
+                if (acompanhamento.cancelado()) {
+                    throw new CancellationException();
+                }
+            }
+        }
+
+        @Override
+        public void concluir(List<String> resumo) {
+            try {
+                tabela.setComplete(true);
+                documento.add(tabela);
+                acompanhamento.progresso(linhas, total);
+                
+                // Estatísticas adicionais
+                documento.add(new Paragraph(" "));
                 
-            for (Map.Entry<Veiculo.Status, Long> entry : contagemStatus.entrySet()) {
-                estatisticas.add(new Phrase(
-                    "Veículos " + entry.getKey() + ": " + entry.getValue() + "\n", 
-                    FONTE_NORMAL
-                ));
+                Paragraph estatisticas = new Paragraph();
+                for (String linha : resumo) {
+                    estatisticas.add(new Phrase(linha + "\n", FONTE_NORMAL));
+                }
+                documento.add(estatisticas);
+            } catch (DocumentException e) {
+                throw new ExceptionConverter(e);
             }
-            
-            documento.add(estatisticas);
-            
-            // Rodapé
-            adicionarRodapePDF(documento);
-            
-            return caminhoCompleto;
-            
-        } catch (DocumentException | IOException e) {
-            System.err.println("Erro ao gerar PDF de veículos: " + e.getMessage());
-            return null;
-        } finally {
+        }
+    }
+
+    private static Document abrirDocumento(Rectangle pagina, String caminho) throws DocumentException, IOException {
+        Document documento = new Document(pagina, 36, 36, 54, 36);
+        PdfWriter.getInstance(documento, new BufferedOutputStream(new FileOutputStream(caminho)));
+        documento.open();
+        return documento;
+    }
+
+    private static void fecharDocumento(Document documento) {
+        if (documento != null && documento.isOpen()) {
             documento.close();
         }
     }
-    
+
     /**
-     * Exporta relatório de aluguéis para PDF
+     * Gera o arquivo: cabeçalho, conteúdo e rodapé
+     * Se a exportação falhar ou for cancelada o arquivo incompleto é apagado.
+     * @return caminho do arquivo, ou null em caso de erro
+     * @throws CancellationException se o acompanhamento pediu o cancelamento
      */
-    public static String exportarRelatorioAlugueis() {
+    private static String exportar(String nomeBase, String titulo, String assunto, Rectangle pagina,
+                                   Acompanhamento acompanhamento, Conteudo conteudo) {
         inicializarDiretorio();
-        String nomeArquivo = "relatorio_alugueis_" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".pdf";
+        String nomeArquivo = nomeBase + "_" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".pdf";
         String caminhoCompleto = DIRETORIO_EXPORT + File.separator + nomeArquivo;
         
-        Document documento = new Document(PageSize.A4.rotate(), 36, 36, 54, 36); // Paisagem
+        Document documento = null;
+        boolean concluido = false;
         
         try {
-            PdfWriter.getInstance(documento, new FileOutputStream(caminhoCompleto));
-            documento.open();
+            documento = abrirDocumento(pagina, caminhoCompleto);
             
             // Cabeçalho
-            adicionarCabecalhoPDF(documento, "RELATÓRIO DE ALUGUÉIS");
-            
-            // Carregar dados
-            GerenciadorArquivos<Aluguel> gerenciadorAluguel = new GerenciadorArquivos<>("alugueis.json", Aluguel.class);
-            List<Aluguel> alugueis = gerenciadorAluguel.carregar();
-            
-            GerenciadorArquivos<Cliente> gerenciadorCliente = new GerenciadorArquivos<>("clientes.json", Cliente.class);
-            List<Cliente> clientes = gerenciadorCliente.carregar();
-            
-            GerenciadorArquivos<Veiculo> gerenciadorVeiculo = new GerenciadorArquivos<>("veiculos.json", Veiculo.class);
-            List<Veiculo> veiculos = gerenciadorVeiculo.carregar();
-            
-            // Mapear IDs para facilitar a busca
-            Map<String, Cliente> mapaClientes = clientes.stream()
-                .collect(Collectors.toMap(Cliente::getId, cliente -> cliente));
-                
-            Map<String, Veiculo> mapaVeiculos = veiculos.stream()
-                .collect(Collectors.toMap(Veiculo::getId, veiculo -> veiculo));
-            
-            // Criar tabela
-            PdfPTable tabela = new PdfPTable(8);
-            tabela.setWidthPercentage(100);
-            tabela.setWidths(new float[]{1, 2, 2, 1.5f, 1.5f, 1.5f, 1.5f, 1.5f});
-            
-            // Cabeçalho da tabela
-            addCelulaCabecalho(tabela, "ID");
-            addCelulaCabecalho(tabela, "Cliente");
-            addCelulaCabecalho(tabela, "Veículo");
-            addCelulaCabecalho(tabela, "Data Início");
-            addCelulaCabecalho(tabela, "Data Fim");
-            addCelulaCabecalho(tabela, "Valor Total");
-            addCelulaCabecalho(tabela, "Status");
-            addCelulaCabecalho(tabela, "Data Devolução");
-            
-            // Dados dos aluguéis
-            boolean linhaPar = false;
-            for (Aluguel aluguel : alugueis) {
-                Cliente cliente = mapaClientes.get(aluguel.getClienteId());
-                Veiculo veiculo = mapaVeiculos.get(aluguel.getVeiculoId());
-                
-                String nomeCliente = cliente != null ? cliente.getNome() : "Cliente não encontrado";
-                String infoVeiculo = veiculo != null ? veiculo.getMarca() + " " + veiculo.getModelo() : "Veículo não encontrado";
-                
-                addCelula(tabela, aluguel.getId(), linhaPar);
-                addCelula(tabela, nomeCliente, linhaPar);
-                addCelula(tabela, infoVeiculo, linhaPar);
-                addCelula(tabela, aluguel.getDataInicio().format(FORMATO_DATA), linhaPar);
-                addCelula(tabela, aluguel.getDataFimPrevista().format(FORMATO_DATA), linhaPar);
-                addCelula(tabela, "R$ " + aluguel.getValorTotal().toString(), linhaPar);
-                addCelula(tabela, aluguel.getStatus().toString(), linhaPar);
-                addCelula(tabela, aluguel.getDataFimReal() != null ? 
-                    aluguel.getDataFimReal().format(FORMATO_DATA) : "-", linhaPar);
-                linhaPar = !linhaPar;
-            }
-            
-            documento.add(tabela);
-            
-            // Estatísticas adicionais
-            documento.add(new Paragraph(" "));
-            
-            Paragraph estatisticas = new Paragraph();
-            estatisticas.add(new Phrase("Total de aluguéis: " + alugueis.size() + "\n", FONTE_NORMAL));
-            
-            // Contagem por status
-            Map<Aluguel.StatusAluguel, Long> contagemStatus = alugueis.stream()
-                .collect(Collectors.groupingBy(Aluguel::getStatus, Collectors.counting()));
-                
-            for (Map.Entry<Aluguel.StatusAluguel, Long> entry : contagemStatus.entrySet()) {
-                estatisticas.add(new Phrase(
-                    "Aluguéis " + entry.getKey() + ": " + entry.getValue() + "\n", 
-                    FONTE_NORMAL
-                ));
-            }
-            
-            // Cálculo de receita total
-            BigDecimal receitaTotal = alugueis.stream()
-                .filter(a -> a.getStatus() != Aluguel.StatusAluguel.CANCELADO)
-                .map(Aluguel::getValorTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-            estatisticas.add(new Phrase("Receita total: R$ " + receitaTotal, FONTE_NORMAL));
+            adicionarCabecalhoPDF(documento, titulo);
             
-            documento.add(estatisticas);
+            conteudo.escrever(documento, acompanhamento);
             
             // Rodapé
             adicionarRodapePDF(documento);
             
+            concluido = true;
             return caminhoCompleto;
             
-        } catch (DocumentException | IOException e) {
-            System.err.println("Erro ao gerar PDF de aluguéis: " + e.getMessage());
+        } catch (DocumentException | IOException | ExceptionConverter e) {
+            System.err.println("Erro ao gerar PDF de " + assunto + ": " + e.getMessage());
             return null;
         } finally {
-            documento.close();
+            fecharDocumento(documento);
+            if (!concluido) {
+                new File(caminhoCompleto).delete();
+            }
         }
     }
     
     /**
-     * Exporta relatório de funcionários para PDF
+     * Exporta um relatório compilado para PDF
+     * A tabela é montada na mesma passada que calcula o resumo, ou a partir
+     * da prévia já gerada na tela, se os dados não mudaram desde então.
      */
-    public static String exportarRelatorioFuncionarios() {
-        inicializarDiretorio();
-        String nomeArquivo = "relatorio_funcionarios_" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".pdf";
-        String caminhoCompleto = DIRETORIO_EXPORT + File.separator + nomeArquivo;
-        
-        Document documento = new Document(PageSize.A4, 36, 36, 54, 36);
-        
-        try {
-            PdfWriter.getInstance(documento, new FileOutputStream(caminhoCompleto));
-            documento.open();
-            
-            // Cabeçalho
-            adicionarCabecalhoPDF(documento, "RELATÓRIO DE FUNCIONÁRIOS");
-            
-            // Carregar dados
-            GerenciadorArquivos<Funcionario> gerenciador = new GerenciadorArquivos<>("funcionarios.json", Funcionario.class);
-            List<Funcionario> funcionarios = gerenciador.carregar();
-            
-            // Criar tabela
-            PdfPTable tabela = new PdfPTable(7);
-            tabela.setWidthPercentage(100);
-            tabela.setWidths(new float[]{1, 3, 2, 2, 2, 1.5f, 1.5f});
-            
-            // Cabeçalho da tabela
-            addCelulaCabecalho(tabela, "ID");
-            addCelulaCabecalho(tabela, "Nome");
-            addCelulaCabecalho(tabela, "CPF");
-            addCelulaCabecalho(tabela, "E-mail");
-            addCelulaCabecalho(tabela, "Telefone");
-            addCelulaCabecalho(tabela, "Tipo");
-            addCelulaCabecalho(tabela, "Data Adm.");
-            
-            // Dados dos funcionários
-            boolean linhaPar = false;
-            for (Funcionario funcionario : funcionarios) {
-                addCelula(tabela, funcionario.getId(), linhaPar);
-                addCelula(tabela, limitarTexto(funcionario.getNome(), 30), linhaPar);
-                addCelula(tabela, funcionario.getCpf(), linhaPar);
-                addCelula(tabela, limitarTexto(funcionario.getEmail(), 30), linhaPar);
-                addCelula(tabela, funcionario.getTelefone(), linhaPar);
-                addCelula(tabela, funcionario.getTipo().toString(), linhaPar);
-                addCelula(tabela, funcionario.getDataAdmissao().format(FORMATO_DATA), linhaPar);
-                linhaPar = !linhaPar;
-            }
-            
-            documento.add(tabela);
-            
-            // Estatísticas adicionais
-            documento.add(new Paragraph(" "));
-            
-            Paragraph estatisticas = new Paragraph();
-            estatisticas.add(new Phrase("Total de funcionários: " + funcionarios.size() + "\n", FONTE_NORMAL));
-            
-            // Contagem por tipo
-            Map<Funcionario.TipoFuncionario, Long> contagemTipos = funcionarios.stream()
-                .collect(Collectors.groupingBy(Funcionario::getTipo, Collectors.counting()));
-                
-            for (Map.Entry<Funcionario.TipoFuncionario, Long> entry : contagemTipos.entrySet()) {
-                estatisticas.add(new Phrase(
-                    "Funcionários " + entry.getKey() + ": " + entry.getValue() + "\n", 
-                    FONTE_NORMAL
-                ));
-            }
-            
-            // Contagem por status (ativo/inativo)
-            long funcionariosAtivos = funcionarios.stream().filter(Funcionario::isAtivo).count();
-            estatisticas.add(new Phrase("Funcionários ativos: " + funcionariosAtivos + "\n", FONTE_NORMAL));
-            estatisticas.add(new Phrase("Funcionários inativos: " + (funcionarios.size() - funcionariosAtivos), FONTE_NORMAL));
-            
-            documento.add(estatisticas);
-            
-            // Rodapé
-            adicionarRodapePDF(documento);
-            
-            return caminhoCompleto;
-            
-        } catch (DocumentException | IOException e) {
-            System.err.println("Erro ao gerar PDF de funcionários: " + e.getMessage());
-            return null;
-        } finally {
-            documento.close();
-        }
+    public static String exportarRelatorio(RelatorioCompilado<?> relatorio, Acompanhamento acompanhamento) {
+        Rectangle pagina = relatorio.isPaisagem() ? PageSize.A4.rotate() : PageSize.A4;
+        return exportar(relatorio.getNomeArquivo(), relatorio.getTitulo(), relatorio.getAssunto(), pagina,
+            acompanhamento, (documento, a) -> relatorio.gerarOuReaproveitar(new TabelaEmBlocos(documento, a,
+                relatorio.tamanhoConhecido(), relatorio.getLargurasPdf(), relatorio.getCabecalhos())));
     }
-
+    
     /**
-     * Método auxiliar para adicionar célula de cabeçalho à tabela
+     * Exporta relatório de clientes para PDF
      */
-    private static void addCelulaCabecalho(PdfPTable tabela, String texto) {
-        PdfPCell celula = new PdfPCell(new Phrase(texto, FONTE_CABECALHO));
-        celula.setBackgroundColor(COR_CABECALHO);
-        celula.setHorizontalAlignment(Element.ALIGN_CENTER);
-        celula.setPadding(5);
-        tabela.addCell(celula);
+    public static String exportarRelatorioClientes() {
+        return exportarRelatorioClientes(Acompanhamento.NENHUM);
+    }
+    
+    public static String exportarRelatorioClientes(Acompanhamento acompanhamento) {
+        return exportarRelatorio(Relatorios.CLIENTES, acompanhamento);
     }
     
     /**
-     * Método auxiliar para adicionar célula à tabela
+     * Exporta relatório de veículos para PDF
      */
-    private static void addCelula(PdfPTable tabela, String texto, boolean destacar) {
-        PdfPCell celula = new PdfPCell(new Phrase(texto, FONTE_NORMAL));
-        if (destacar) {
-            celula.setBackgroundColor(COR_LINHA_ALTERNADA);
-        }
-        celula.setPadding(4);
-        tabela.addCell(celula);
+    public static String exportarRelatorioVeiculos() {
+        return exportarRelatorioVeiculos(Acompanhamento.NENHUM);
+    }
+    
+    public static String exportarRelatorioVeiculos(Acompanhamento acompanhamento) {
+        return exportarRelatorio(Relatorios.VEICULOS, acompanhamento);
     }
     
     /**
-     * Limita o tamanho de um texto para exibição
+     * Exporta relatório de aluguéis para PDF
+     * O histórico de aluguéis é o maior relatório: as linhas são lidas do
+     * repositório em streaming e gravadas em blocos, sem montar a lista.
      */
-    private static String limitarTexto(String texto, int tamanhoMaximo) {
-        if (texto == null) return "";
-        return texto.length() > tamanhoMaximo ? texto.substring(0, tamanhoMaximo - 3) + "..." : texto;
+    public static String exportarRelatorioAlugueis() {
+        return exportarRelatorioAlugueis(Acompanhamento.NENHUM);
+    }
+    
+    public static String exportarRelatorioAlugueis(Acompanhamento acompanhamento) {
+        return exportarRelatorio(Relatorios.ALUGUEIS, acompanhamento);
+    }
+    
+    /**
+     * Exporta relatório de funcionários para PDF
+     */
+    public static String exportarRelatorioFuncionarios() {
+        return exportarRelatorioFuncionarios(Acompanhamento.NENHUM);
+    }
+    
+    public static String exportarRelatorioFuncionarios(Acompanhamento acompanhamento) {
+        return exportarRelatorio(Relatorios.FUNCIONARIOS, acompanhamento);
     }
 }
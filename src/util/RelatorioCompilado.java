@@ -0,0 +1,341 @@
+package util;
+
+import persistence.Repositorio;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Relatório pronto para gerar, compilado a partir de um ModeloRelatorio
+ * Cabeçalhos, larguras e o início da prévia em texto são montados uma
+ * única vez. Cada geração percorre o repositório uma vez só: cada
+ * entidade é formatada em uma linha, entregue a todas as saídas, e
+ * acumulada nos resumos.
+ *
+ * O resultado da prévia fica guardado com as versões dos dados usados
+ * (Repositorio.getVersaoDados) e é reaproveitado pela exportação em PDF
+ * enquanto nenhum desses repositórios mudar. Só são guardados relatórios
+ * de até LIMITE_LINHAS_GUARDADAS linhas, por SoftReference: o coletor
+ * pode liberá-los, e os grandes são sempre exportados em streaming.
+ *
+ * @param <T> Tipo da entidade listada no relatório
+ */
+public final class RelatorioCompilado<T> {
+    private static final int LARGURA_PREVIA = 59;
+    // Separa os valores de uma linha guardada (nenhum campo contém o caractere)
+    private static final char SEPARADOR_VALORES = '\u001F';
+    private static final int LIMITE_LINHAS_GUARDADAS = 50_000;
+
+    /**
+     * Linhas e resumo de uma geração, com as versões dos dados lidos
+     * Cada linha é guardada como um único texto, com os valores unidos
+     * por SEPARADOR_VALORES: bem mais compacto que um String[] por linha.
+     */
+    private static final class Resultado {
+        final List<Long> versoes;
+        final List<String> linhas;
+        final List<String> resumo;
+
+        Resultado(List<Long> versoes, List<String> linhas, List<String> resumo) {
+            this.versoes = versoes;
+            this.linhas = linhas;
+            this.resumo = resumo;
+        }
+    }
+
+    private final String nomeArquivo;
+    private final String titulo;
+    private final String assunto;
+    private final boolean paisagem;
+    private final Supplier<Repositorio<T>> fonte;
+    // Fonte e dependências, cujas versões validam o resultado guardado
+    private final List<Supplier<? extends Repositorio<?>>> fontesDados = new ArrayList<>();
+
+    private final String[] cabecalhos;
+    private final float[] largurasPdf;
+    private final List<Function<? super T, String>> valores = new ArrayList<>();
+    private final int[] limites;
+    // Colunas exibidas na prévia e suas larguras em caracteres
+    private final int[] colunasTexto;
+    private final int[] largurasTexto;
+    private final String cabecalhoTexto;
+    private final String rotuloTotal;
+    private final List<Supplier<ModeloRelatorio.Acumulador<T>>> resumos;
+
+    private SoftReference<Resultado> ultimoResultado;
+
+    RelatorioCompilado(ModeloRelatorio<T> modelo) {
+        this.nomeArquivo = modelo.nomeArquivo;
+        this.titulo = modelo.titulo;
+        this.assunto = modelo.assunto;
+        this.paisagem = modelo.paisagem;
+        this.fonte = modelo.fonte;
+        this.rotuloTotal = modelo.rotuloTotal;
+        this.resumos = new ArrayList<>(modelo.resumos);
+        fontesDados.add(modelo.fonte);
+        fontesDados.addAll(modelo.dependencias);
+
+        int quantidade = modelo.colunas.size();
+        cabecalhos = new String[quantidade];
+        largurasPdf = new float[quantidade];
+        limites = new int[quantidade];
+        int[] visiveis = new int[quantidade];
+        int totalVisiveis = 0;
+        for (int i = 0; i < quantidade; i++) {
+            ModeloRelatorio.Coluna<T> coluna = modelo.colunas.get(i);
+            cabecalhos[i] = coluna.cabecalho;
+            largurasPdf[i] = coluna.larguraPdf;
+            limites[i] = coluna.limite;
+            valores.add(coluna.valor);
+            if (coluna.larguraTexto > 0) {
+                visiveis[totalVisiveis++] = i;
+            }
+        }
+        colunasTexto = Arrays.copyOf(visiveis, totalVisiveis);
+        largurasTexto = new int[totalVisiveis];
+        for (int i = 0; i < totalVisiveis; i++) {
+            largurasTexto[i] = modelo.colunas.get(colunasTexto[i]).larguraTexto;
+        }
+
+        StringBuilder texto = new StringBuilder();
+        String moldura = repetir('=', LARGURA_PREVIA);
+        texto.append(moldura).append('\n');
+        texto.append(repetir(' ', Math.max(0, (LARGURA_PREVIA - titulo.length()) / 2))).append(titulo).append('\n');
+        texto.append(moldura).append("\n\n");
+        acrescentarLinhaTexto(texto, cabecalhos);
+        texto.append(repetir('-', LARGURA_PREVIA)).append('\n');
+        cabecalhoTexto = texto.toString();
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public boolean isPaisagem() {
+        return paisagem;
+    }
+
+    String[] getCabecalhos() {
+        return cabecalhos.clone();
+    }
+
+    float[] getLargurasPdf() {
+        return largurasPdf.clone();
+    }
+
+    /**
+     * Quantidade de linhas, se já conhecida sem percorrer os dados (senão -1)
+     */
+    int tamanhoConhecido() {
+        Resultado resultado = resultadoValido();
+        return resultado != null ? resultado.linhas.size() : fonte.get().tamanhoConhecido();
+    }
+
+    private List<Long> versoesDados() {
+        List<Long> versoes = new ArrayList<>(fontesDados.size());
+        for (Supplier<? extends Repositorio<?>> fonteDados : fontesDados) {
+            versoes.add(fonteDados.get().getVersaoDados());
+        }
+        return versoes;
+    }
+
+    // Último resultado, se os dados não mudaram desde a geração (senão é descartado)
+    private synchronized Resultado resultadoValido() {
+        Resultado resultado = ultimoResultado != null ? ultimoResultado.get() : null;
+        if (resultado != null && !resultado.versoes.equals(versoesDados())) {
+            resultado = null;
+        }
+        if (resultado == null) {
+            ultimoResultado = null;
+        }
+        return resultado;
+    }
+
+    /**
+     * Gera o relatório numa única passada pelo repositório
+     * Exceções não verificadas lançadas pelas saídas (cancelamento, erro
+     * do iText) interrompem a passada e são propagadas.
+     */
+    void gerar(SaidaRelatorio... saidas) {
+        List<ModeloRelatorio.Acumulador<T>> acumuladores = new ArrayList<>(resumos.size());
+        for (Supplier<ModeloRelatorio.Acumulador<T>> resumo : resumos) {
+            acumuladores.add(resumo.get());
+        }
+
+        int[] linhas = {0};
+        fonte.get().paraCada(entidade -> {
+            String[] linha = formatar(entidade);
+            for (SaidaRelatorio saida : saidas) {
+                saida.linha(linha);
+            }
+            for (ModeloRelatorio.Acumulador<T> acumulador : acumuladores) {
+                acumulador.adicionar(entidade);
+            }
+            linhas[0]++;
+        });
+
+        List<String> resumo = new ArrayList<>();
+        resumo.add(rotuloTotal + ": " + linhas[0]);
+        resumo.add("");
+        for (ModeloRelatorio.Acumulador<T> acumulador : acumuladores) {
+            acumulador.escrever(resumo);
+        }
+        for (SaidaRelatorio saida : saidas) {
+            saida.concluir(resumo);
+        }
+    }
+
+    /**
+     * Gera para a saída, reaproveitando o resultado da última prévia se os
+     * dados não mudaram desde então. Sem prévia válida, percorre o
+     * repositório sem guardar as linhas, para que a memória usada pela
+     * exportação não dependa do tamanho do relatório.
+     */
+    void gerarOuReaproveitar(SaidaRelatorio saida) {
+        Resultado resultado = resultadoValido();
+        if (resultado == null) {
+            gerar(saida);
+            return;
+        }
+        for (String linha : resultado.linhas) {
+            saida.linha(separar(linha));
+        }
+        saida.concluir(resultado.resumo);
+    }
+
+    /**
+     * Prévia em texto de largura fixa, para exibição na tela
+     * O resultado fica guardado para a exportação em PDF, se for pequeno.
+     */
+    public String gerarTexto() {
+        StringBuilder texto = new StringBuilder(cabecalhoTexto);
+        List<String> resumo;
+        Resultado resultado = resultadoValido();
+        if (resultado != null) {
+            for (String linha : resultado.linhas) {
+                acrescentarLinhaTexto(texto, separar(linha));
+            }
+            resumo = resultado.resumo;
+        } else {
+            // Versões lidas antes da passada: uma alteração durante ela invalida o resultado
+            List<Long> versoes = versoesDados();
+            List<String> resumoGerado = new ArrayList<>();
+            Coletor coletor = new Coletor(texto, resumoGerado);
+            gerar(coletor);
+            if (coletor.linhas != null) {
+                synchronized (this) {
+                    ultimoResultado = new SoftReference<>(new Resultado(versoes, coletor.linhas, resumoGerado));
+                }
+            }
+            resumo = resumoGerado;
+        }
+
+        texto.append(repetir('-', LARGURA_PREVIA)).append('\n');
+        for (String linha : resumo) {
+            texto.append(linha).append('\n');
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Monta a prévia e guarda as linhas enquanto não passam do limite
+     */
+    private final class Coletor implements SaidaRelatorio {
+        private final StringBuilder texto;
+        private final List<String> resumo;
+        // null depois de passar de LIMITE_LINHAS_GUARDADAS
+        List<String> linhas = new ArrayList<>();
+
+        Coletor(StringBuilder texto, List<String> resumo) {
+            this.texto = texto;
+            this.resumo = resumo;
+        }
+
+        @Override
+        public void linha(String[] valores) {
+            acrescentarLinhaTexto(texto, valores);
+            if (linhas != null) {
+                if (linhas.size() < LIMITE_LINHAS_GUARDADAS) {
+                    linhas.add(unir(valores));
+                } else {
+                    linhas = null;
+                }
+            }
+        }
+
+        @Override
+        public void concluir(List<String> resumoGerado) {
+            resumo.addAll(resumoGerado);
+        }
+    }
+
+    private static String unir(String[] valores) {
+        StringBuilder linha = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                linha.append(SEPARADOR_VALORES);
+            }
+            linha.append(valores[i]);
+        }
+        return linha.toString();
+    }
+
+    private String[] separar(String linha) {
+        String[] valores = new String[cabecalhos.length];
+        int inicio = 0;
+        for (int i = 0; i < valores.length - 1; i++) {
+            int fim = linha.indexOf(SEPARADOR_VALORES, inicio);
+            valores[i] = linha.substring(inicio, fim);
+            inicio = fim + 1;
+        }
+        valores[valores.length - 1] = linha.substring(inicio);
+        return valores;
+    }
+
+    private String[] formatar(T entidade) {
+        String[] linha = new String[valores.size()];
+        for (int i = 0; i < linha.length; i++) {
+            linha[i] = limitarTexto(valores.get(i).apply(entidade), limites[i]);
+        }
+        return linha;
+    }
+
+    // Colunas alinhadas à esquerda, como "%-10s %-30s ..."
+    private void acrescentarLinhaTexto(StringBuilder texto, String[] valores) {
+        for (int i = 0; i < colunasTexto.length; i++) {
+            if (i > 0) {
+                texto.append(' ');
+            }
+            String valor = valores[colunasTexto[i]];
+            texto.append(valor);
+            for (int espacos = largurasTexto[i] - valor.length(); espacos > 0; espacos--) {
+                texto.append(' ');
+            }
+        }
+        texto.append('\n');
+    }
+
+    private static String limitarTexto(String texto, int tamanhoMaximo) {
+        if (texto == null) return "";
+        if (tamanhoMaximo <= 0) return texto;
+        return texto.length() > tamanhoMaximo ? texto.substring(0, tamanhoMaximo - 3) + "..." : texto;
+    }
+
+    private static String repetir(char caractere, int vezes) {
+        char[] caracteres = new char[vezes];
+        Arrays.fill(caracteres, caractere);
+        return new String(caracteres);
+    }
+}
@@ -0,0 +1,63 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tempo de cada etapa da inicialização, até a exibição da tela de login
+ * Main marca o fim de cada etapa; o relatório é impresso no console
+ * quando a tela de login aparece, para acompanhar o tempo até o login.
+ */
+public class RelatorioInicializacao {
+
+    private static final List<String> linhas = new ArrayList<>();
+    private static long inicio = System.nanoTime();
+    private static long ultimaMarca = inicio;
+    private static boolean concluido = false;
+
+    private RelatorioInicializacao() {
+    }
+
+    public static synchronized void iniciar() {
+        linhas.clear();
+        inicio = System.nanoTime();
+        ultimaMarca = inicio;
+        concluido = false;
+    }
+
+    /**
+     * Registra uma etapa com o tempo decorrido desde a etapa anterior
+     */
+    public static synchronized void etapa(String nome) {
+        long agora = System.nanoTime();
+        linhas.add(String.format("  %-36s %7d ms", nome, (agora - ultimaMarca) / 1_000_000));
+        ultimaMarca = agora;
+    }
+
+    /**
+     * Registra um detalhe da etapa anterior (ex.: a carga de um arquivo)
+     */
+    public static synchronized void detalhe(String descricao, long milissegundos) {
+        linhas.add(String.format("    %-34s %7d ms", descricao, milissegundos));
+    }
+
+    /**
+     * Registra a última etapa e imprime o relatório (apenas uma vez)
+     */
+    public static synchronized void concluir(String nome) {
+        if (concluido) {
+            return;
+        }
+        concluido = true;
+        etapa(nome);
+        String separador = "------------------------------------------------------";
+        System.out.println(separador);
+        System.out.println("Tempo de inicialização");
+        for (String linha : linhas) {
+            System.out.println(linha);
+        }
+        System.out.println(String.format("  %-36s %7d ms", "Total até a tela de login",
+                                         (ultimaMarca - inicio) / 1_000_000));
+        System.out.println(separador);
+    }
+}
@@ -0,0 +1,99 @@
+package util;
+
+import domain.*;
+import persistence.Repositorio;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Relatórios do sistema, compilados uma única vez
+ * As mesmas definições geram a prévia da tela de relatórios e a
+ * exportação em PDF.
+ */
+public final class Relatorios {
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    public static final RelatorioCompilado<Cliente> CLIENTES =
+        new ModeloRelatorio<Cliente>("relatorio_clientes", "RELATÓRIO DE CLIENTES", "clientes", Repositorio::clientes)
+            .coluna("ID", 1, 10, Cliente::getId)
+            .coluna("Nome", 3, 30, 30, Cliente::getNome)
+            .coluna("CPF", 2, 15, Cliente::getCpf)
+            .coluna("E-mail", 3, 0, 30, Cliente::getEmail)
+            .coluna("Telefone", 2, 0, Cliente::getTelefone)
+            .coluna("Data Cad.", 2, 12, cliente -> data(cliente.getDataCadastro()))
+            .total("Total de clientes")
+            .contagem("Clientes ativos", Cliente::isAtivo)
+            .contagem("Clientes inativos", cliente -> !cliente.isAtivo())
+            .compilar();
+
+    public static final RelatorioCompilado<Veiculo> VEICULOS =
+        new ModeloRelatorio<Veiculo>("relatorio_veiculos", "RELATÓRIO DE VEÍCULOS", "veículos", Repositorio::veiculos)
+            .coluna("ID", 1, 10, Veiculo::getId)
+            .coluna("Modelo", 2, 15, 15, Veiculo::getModelo)
+            .coluna("Marca", 2, 15, 15, Veiculo::getMarca)
+            .coluna("Placa", 2, 10, Veiculo::getPlaca)
+            .coluna("Ano", 1, 10, veiculo -> String.valueOf(veiculo.getAno()))
+            .coluna("Categoria", 1.5f, 0, veiculo -> texto(veiculo.getCategoria()))
+            .coluna("Status", 1.5f, 10, veiculo -> texto(veiculo.getStatus()))
+            .total("Total de veículos")
+            .agrupamento("Por status", Veiculo.Status.class, Veiculo::getStatus)
+            .compilar();
+
+    public static final RelatorioCompilado<Aluguel> ALUGUEIS =
+        new ModeloRelatorio<Aluguel>("relatorio_alugueis", "RELATÓRIO DE ALUGUÉIS", "aluguéis", Repositorio::alugueis)
+            .paisagem()
+            .dependeDe(Arrays.asList(Repositorio::clientes, Repositorio::veiculos))
+            .coluna("ID", 1, 10, Aluguel::getId)
+            .coluna("Cliente", 2, 20, 20, Relatorios::nomeCliente)
+            .coluna("Veículo", 2, 15, 15, Relatorios::descricaoVeiculo)
+            .coluna("Data Início", 1.5f, 12, aluguel -> data(aluguel.getDataInicio()))
+            .coluna("Data Fim", 1.5f, 12, aluguel -> data(aluguel.getDataFimPrevista()))
+            .coluna("Valor Total", 1.5f, 12, aluguel -> "R$ " + aluguel.getValorTotal())
+            .coluna("Status", 1.5f, 10, aluguel -> texto(aluguel.getStatus()))
+            .coluna("Data Devolução", 1.5f, 0, aluguel -> data(aluguel.getDataFimReal()))
+            .total("Total de aluguéis")
+            .agrupamento("Por status", Aluguel.StatusAluguel.class, Aluguel::getStatus)
+            .soma("Receita total", aluguel -> aluguel.getStatus() != Aluguel.StatusAluguel.CANCELADO,
+                  Aluguel::getValorTotal)
+            .compilar();
+
+    public static final RelatorioCompilado<Funcionario> FUNCIONARIOS =
+        new ModeloRelatorio<Funcionario>("relatorio_funcionarios", "RELATÓRIO DE FUNCIONÁRIOS", "funcionários",
+                                         Repositorio::funcionarios)
+            .coluna("ID", 1, 10, Funcionario::getId)
+            .coluna("Nome", 3, 25, 25, Funcionario::getNome)
+            .coluna("CPF", 2, 15, Funcionario::getCpf)
+            .coluna("E-mail", 2, 0, 30, Funcionario::getEmail)
+            .coluna("Telefone", 2, 0, Funcionario::getTelefone)
+            .coluna("Tipo", 1.5f, 15, funcionario -> texto(funcionario.getTipo()))
+            .coluna("Data Adm.", 1.5f, 12, funcionario -> data(funcionario.getDataAdmissao()))
+            .total("Total de funcionários")
+            .agrupamento("Por tipo", Funcionario.TipoFuncionario.class, Funcionario::getTipo)
+            .contagem("Funcionários ativos", Funcionario::isAtivo)
+            .contagem("Funcionários inativos", funcionario -> !funcionario.isAtivo())
+            .compilar();
+
+    private Relatorios() {
+    }
+
+    private static String data(LocalDate data) {
+        return data != null ? data.format(FORMATO_DATA) : "-";
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    // Clientes e veículos buscados pelos índices de ID dos repositórios
+    private static String nomeCliente(Aluguel aluguel) {
+        Cliente cliente = Repositorio.clientes().buscarPorId(aluguel.getClienteId());
+        return cliente != null ? cliente.getNome() : "Não encontrado";
+    }
+
+    private static String descricaoVeiculo(Aluguel aluguel) {
+        Veiculo veiculo = Repositorio.veiculos().buscarPorId(aluguel.getVeiculoId());
+        return veiculo != null ? veiculo.getMarca() + " " + veiculo.getModelo() : "Não encontrado";
+    }
+}
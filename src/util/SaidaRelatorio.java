@@ -0,0 +1,15 @@
+package util;
+
+import java.util.List;
+
+/**
+ * Destino das linhas de um relatório (prévia em texto, tabela PDF...)
+ * Recebe as linhas já formatadas na ordem do repositório e, no fim, o
+ * resumo (total, contagens e somas), uma linha de texto por item.
+ */
+interface SaidaRelatorio {
+
+    void linha(String[] valores);
+
+    void concluir(List<String> resumo);
+}
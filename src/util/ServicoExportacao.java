@@ -0,0 +1,278 @@
+package util;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fila de exportações de relatórios em PDF, executadas fora da EDT
+ * Até EXPORTACOES_SIMULTANEAS exportações rodam ao mesmo tempo; as demais
+ * aguardam na fila. Cada tarefa informa o progresso (linhas gravadas /
+ * total) e pode ser cancelada. Os ouvintes são avisados na EDT.
+ */
+public class ServicoExportacao {
+
+    public static final int EXPORTACOES_SIMULTANEAS = 2;
+    // Tarefas encerradas mantidas na lista (as mais recentes)
+    private static final int HISTORICO_MAXIMO = 10;
+
+    public enum TipoRelatorio {
+        CLIENTES("Clientes", PDFExporter::exportarRelatorioClientes),
+        VEICULOS("Veículos", PDFExporter::exportarRelatorioVeiculos),
+        ALUGUEIS("Aluguéis", PDFExporter::exportarRelatorioAlugueis),
+        FUNCIONARIOS("Funcionários", PDFExporter::exportarRelatorioFuncionarios);
+
+        private final String descricao;
+        private final Function<PDFExporter.Acompanhamento, String> exportador;
+
+        TipoRelatorio(String descricao, Function<PDFExporter.Acompanhamento, String> exportador) {
+            this.descricao = descricao;
+            this.exportador = exportador;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        @Override
+        public String toString() {
+            return descricao;
+        }
+    }
+
+    public enum Estado {
+        AGUARDANDO("Na fila"),
+        EXPORTANDO("Exportando"),
+        CONCLUIDA("Concluída"),
+        CANCELADA("Cancelada"),
+        FALHOU("Falhou");
+
+        private final String descricao;
+
+        Estado(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        public boolean isEncerrado() {
+            return this == CONCLUIDA || this == CANCELADA || this == FALHOU;
+        }
+
+        @Override
+        public String toString() {
+            return descricao;
+        }
+    }
+
+    /**
+     * Uma exportação na fila ou em andamento
+     */
+    public static final class Tarefa implements PDFExporter.Acompanhamento {
+        private final TipoRelatorio tipo;
+        // Um por chamador de exportar() que recebeu esta tarefa
+        private final List<Consumer<Tarefa>> aoEncerrar = new ArrayList<>();
+        private volatile Estado estado = Estado.AGUARDANDO;
+        private volatile int linhasEscritas = 0;
+        private volatile int total = -1;
+        private volatile boolean cancelamentoPedido = false;
+        private volatile String caminhoArquivo;
+        private volatile Future<?> futuro;
+
+        private Tarefa(TipoRelatorio tipo) {
+            this.tipo = tipo;
+        }
+
+        /**
+         * Registra um aviso de encerramento; se a tarefa já terminou, avisa em seguida
+         */
+        private void adicionarAoEncerrar(Consumer<Tarefa> acao) {
+            if (acao == null) {
+                return;
+            }
+            synchronized (this) {
+                if (!estado.isEncerrado()) {
+                    aoEncerrar.add(acao);
+                    return;
+                }
+            }
+            SwingUtilities.invokeLater(() -> acao.accept(this));
+        }
+
+        public TipoRelatorio getTipo() {
+            return tipo;
+        }
+
+        public Estado getEstado() {
+            return estado;
+        }
+
+        public int getLinhasEscritas() {
+            return linhasEscritas;
+        }
+
+        /**
+         * Total de linhas, ou -1 se desconhecido
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        public String getCaminhoArquivo() {
+            return caminhoArquivo;
+        }
+
+        /**
+         * Pede o cancelamento; uma tarefa na fila é descartada sem executar
+         */
+        public void cancelar() {
+            boolean naFila;
+            synchronized (this) {
+                if (estado.isEncerrado()) {
+                    return;
+                }
+                cancelamentoPedido = true;
+                naFila = estado == Estado.AGUARDANDO;
+                if (naFila) {
+                    estado = Estado.CANCELADA;
+                }
+            }
+            // Em andamento, o exportador para no próximo bloco de linhas
+            if (naFila) {
+                futuro.cancel(false);
+                encerrar(Estado.CANCELADA);
+            }
+        }
+
+        @Override
+        public void progresso(int linhasEscritas, int total) {
+            this.linhasEscritas = linhasEscritas;
+            this.total = total;
+            notificar(this);
+        }
+
+        @Override
+        public boolean cancelado() {
+            return cancelamentoPedido || Thread.currentThread().isInterrupted();
+        }
+
+        private void executar() {
+            synchronized (this) {
+                if (estado != Estado.AGUARDANDO) {
+                    return;
+                }
+                estado = Estado.EXPORTANDO;
+            }
+            notificar(this);
+            try {
+                caminhoArquivo = tipo.exportador.apply(this);
+                encerrar(caminhoArquivo != null ? Estado.CONCLUIDA : Estado.FALHOU);
+            } catch (CancellationException e) {
+                encerrar(Estado.CANCELADA);
+            } catch (RuntimeException e) {
+                System.err.println("Erro na exportação de " + tipo.getDescricao() + ": " + e);
+                encerrar(Estado.FALHOU);
+            }
+        }
+
+        private void encerrar(Estado estadoFinal) {
+            List<Consumer<Tarefa>> avisar;
+            synchronized (this) {
+                estado = estadoFinal;
+                avisar = new ArrayList<>(aoEncerrar);
+                aoEncerrar.clear();
+            }
+            limparHistorico();
+            notificar(this);
+            for (Consumer<Tarefa> acao : avisar) {
+                SwingUtilities.invokeLater(() -> acao.accept(this));
+            }
+        }
+    }
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(EXPORTACOES_SIMULTANEAS, r -> {
+        Thread thread = new Thread(r, "exportacao-pdf");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final List<Tarefa> tarefas = new ArrayList<>();
+    private static final List<Consumer<Tarefa>> ouvintes = new CopyOnWriteArrayList<>();
+
+    private ServicoExportacao() {
+    }
+
+    /**
+     * Coloca a exportação na fila
+     * Se já houver uma exportação do mesmo relatório na fila ou em
+     * andamento, ela é devolvida em vez de criar outra (e aoEncerrar
+     * passa a ser chamado também quando ela terminar).
+     * @param aoEncerrar chamado na EDT quando a tarefa termina (pode ser null)
+     */
+    public static Tarefa exportar(TipoRelatorio tipo, Consumer<Tarefa> aoEncerrar) {
+        Tarefa tarefa;
+        synchronized (tarefas) {
+            for (Tarefa existente : tarefas) {
+                if (existente.tipo == tipo && !existente.estado.isEncerrado()) {
+                    existente.adicionarAoEncerrar(aoEncerrar);
+                    return existente;
+                }
+            }
+            tarefa = new Tarefa(tipo);
+            tarefa.adicionarAoEncerrar(aoEncerrar);
+            tarefas.add(tarefa);
+            tarefa.futuro = executor.submit(tarefa::executar);
+        }
+        notificar(tarefa);
+        return tarefa;
+    }
+
+    /**
+     * Tarefas na fila, em andamento e as encerradas mais recentes
+     */
+    public static List<Tarefa> getTarefas() {
+        synchronized (tarefas) {
+            return new ArrayList<>(tarefas);
+        }
+    }
+
+    public static void adicionarOuvinte(Consumer<Tarefa> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public static void removerOuvinte(Consumer<Tarefa> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    private static void notificar(Tarefa tarefa) {
+        if (!ouvintes.isEmpty()) {
+            SwingUtilities.invokeLater(() -> ouvintes.forEach(ouvinte -> ouvinte.accept(tarefa)));
+        }
+    }
+
+    private static void limparHistorico() {
+        synchronized (tarefas) {
+            int encerradas = 0;
+            for (Tarefa tarefa : tarefas) {
+                if (tarefa.estado.isEncerrado()) {
+                    encerradas++;
+                }
+            }
+            for (int i = 0; i < tarefas.size() && encerradas > HISTORICO_MAXIMO; i++) {
+                if (tarefas.get(i).estado.isEncerrado()) {
+                    tarefas.remove(i--);
+                    encerradas--;
+                }
+            }
+        }
+    }
+}